@@ -8,7 +8,7 @@ BEGIN;
 -- En la entidad `OrderEntity.id` se usa String (UUID como texto), por eso se crea VARCHAR(36)
 CREATE TABLE IF NOT EXISTS orders (
 	id VARCHAR(36) PRIMARY KEY,
-	created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+	created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
 );
 
 -- Tabla de líneas de pedido (OrderItemEntity)
@@ -20,7 +20,7 @@ CREATE TABLE IF NOT EXISTS order_items (
 	quantity INTEGER NOT NULL CHECK (quantity > 0),
 	unit_amount NUMERIC(19,2) NOT NULL CHECK (unit_amount >= 0),
 	currency VARCHAR(3),
-	created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+	created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now(),
 	CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE
 );
 
@@ -0,0 +1,20 @@
+-- 002_event_dead_letters.sql
+-- Dead-letter queue del EventBus: entregas de eventos que agotaron sus reintentos
+-- (JdbcDeadLetterStore también la crea si no existe)
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS event_dead_letters (
+	id VARCHAR(36) PRIMARY KEY,
+	event_type VARCHAR(255),
+	handler VARCHAR(255),
+	batch BOOLEAN,
+	error VARCHAR(2000),
+	attempts INT,
+	failed_at TIMESTAMP,
+	payload BYTEA
+);
+
+CREATE INDEX IF NOT EXISTS idx_event_dead_letters_failed_at ON event_dead_letters(failed_at);
+
+COMMIT;
@@ -0,0 +1,9 @@
+-- 003_order_version.sql
+-- Versión del pedido: se incrementa en cada escritura y se usa como ETag en
+-- GET /api/orders/{id} (respuestas 304 sin cargar las líneas)
+
+BEGIN;
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+
+COMMIT;
@@ -0,0 +1,18 @@
+-- 004_idempotency_keys.sql
+-- Resultados de POST /api/orders con Idempotency-Key para reenviarlos en los reintentos
+-- (JdbcIdempotencyStore también la crea si no existe)
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+	idempotency_key VARCHAR(255) PRIMARY KEY,
+	fingerprint VARCHAR(64) NOT NULL,
+	result VARCHAR(2000) NOT NULL,
+	created_at TIMESTAMP NOT NULL
+);
+
+-- para la purga periódica de claves caducadas (JdbcIdempotencyStore.purgeExpired:
+-- DELETE ... WHERE created_at <= now() - ttl, cada app.idempotency.purge-interval)
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys(created_at);
+
+COMMIT;
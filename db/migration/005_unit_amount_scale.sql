@@ -0,0 +1,9 @@
+-- 005_unit_amount_scale.sql
+-- Importes con hasta 4 decimales: las divisas ISO 4217 tienen entre 0 (JPY)
+-- y 4 (CLF) decimales en su unidad menor; NUMERIC(19,2) redondeaba BHD/KWD
+
+BEGIN;
+
+ALTER TABLE order_items ALTER COLUMN unit_amount TYPE NUMERIC(19,4);
+
+COMMIT;
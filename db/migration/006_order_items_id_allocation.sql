@@ -0,0 +1,14 @@
+-- 006_order_items_id_allocation.sql
+-- OrderItemEntity toma sus ids de esta secuencia en bloques de 50
+-- (allocationSize) para que Hibernate pueda agrupar los INSERT de líneas;
+-- con IDENTITY cada INSERT iba por separado. El DEFAULT de BIGSERIAL sigue
+-- funcionando para inserciones manuales (con huecos).
+-- En Postgres la secuencia ya existe (BIGSERIAL); en H2 (perfil reactive) el
+-- BIGSERIAL usa una secuencia interna y esta se crea aquí.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS order_items_id_seq;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
+
+COMMIT;
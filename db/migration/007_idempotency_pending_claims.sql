@@ -0,0 +1,10 @@
+-- 007_idempotency_pending_claims.sql
+-- La instancia que atiende una Idempotency-Key reserva la fila antes de
+-- ejecutar la petición (result NULL = en curso) y la completa al terminar;
+-- así dos instancias no crean el mismo pedido.
+
+BEGIN;
+
+ALTER TABLE idempotency_keys ALTER COLUMN result DROP NOT NULL;
+
+COMMIT;
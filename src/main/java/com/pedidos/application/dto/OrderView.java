@@ -0,0 +1,77 @@
+package com.pedidos.application.dto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.pedidos.domain.entities.LineTotals;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+
+/**
+ * Modelo de lectura inmutable de un pedido para el camino GET.
+ *
+ * A diferencia de Order no registra eventos de dominio ni tiene operaciones
+ * de modificación: se puede cachear y compartir entre hilos. Los
+ * repositorios lo construyen directamente desde las filas, sin rehidratar el
+ * agregado.
+ *
+ * version es la misma que devuelve OrderRepository.findVersion para el
+ * pedido: el GET deriva el ETag de la vista sin una segunda consulta.
+ */
+public record OrderView(OrderId id, List<OrderItem> items, Map<Currency, Money> totals, long version) {
+
+    public OrderView {
+        Objects.requireNonNull(id, "order id must not be null");
+        items = List.copyOf(items);
+        totals = Collections.unmodifiableMap(new LinkedHashMap<>(totals));
+    }
+
+    /**
+     * Vista de las líneas dadas con la versión leída de la BD; los totales por
+     * moneda se calculan aquí, en el orden de aparición de cada moneda
+     * (LineTotals: columnas de primitivos en pedidos grandes).
+     */
+    public static OrderView of(OrderId id, List<OrderItem> items, long version) {
+        return new OrderView(id, items, LineTotals.of(items), version);
+    }
+
+    /**
+     * Vista de las líneas dadas con la versión derivada de su contenido
+     * (contentVersion), para repositorios sin columna de versión.
+     */
+    public static OrderView of(OrderId id, List<OrderItem> items) {
+        return of(id, items, contentVersion(items));
+    }
+
+    /**
+     * Vista del estado actual de un pedido (no toca sus eventos pendientes).
+     */
+    public static OrderView of(Order order) {
+        return of(order.getId(), order.getItems());
+    }
+
+    /**
+     * Versión derivada del contenido de las líneas (FNV-1a de 64 bits): cambia
+     * cuando cambia alguna línea. La usan los repositorios que no guardan una
+     * columna de versión.
+     */
+    public static long contentVersion(List<OrderItem> items) {
+        long h = 0xcbf29ce484222325L;
+        for (OrderItem it : items) {
+            String line = it.getProductId().getId() + '|' + it.getQuantity().getValue() + '|'
+                    + it.getUnitPrice().getAmount().stripTrailingZeros().toPlainString() + '|'
+                    + it.getUnitPrice().getCurrency().getCode() + ';';
+            for (int i = 0; i < line.length(); i++) {
+                h ^= line.charAt(i);
+                h *= 0x100000001b3L;
+            }
+        }
+        return h;
+    }
+}
@@ -0,0 +1,176 @@
+package com.pedidos.application.idempotency;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.ConflictError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.IdempotencyStore;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Ejecuta una operación como mucho una vez por Idempotency-Key.
+ *
+ * - Si la clave ya tiene un resultado guardado se devuelve ese resultado sin
+ * ejecutar nada (replay).
+ * - Las peticiones concurrentes con la misma clave esperan a la que está en
+ * curso y comparten su resultado, también si es un error.
+ * - Antes de ejecutar se reserva la clave en el almacén (claim): con un
+ * almacén compartido, la misma clave en curso en otra instancia es un
+ * ConflictError (reintentar más tarde) en lugar de una segunda ejecución.
+ * - Solo se guardan los éxitos: un error (validación, BD caída) se puede
+ * reintentar con la misma clave.
+ * - Reutilizar una clave con otra petición (otro fingerprint) es un
+ * ConflictError.
+ */
+public final class IdempotentExecutor {
+    private static final Logger log = LoggerFactory.getLogger(IdempotentExecutor.class);
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Resultado de execute: replayed indica que no se ha ejecutado la
+     * operación en esta llamada.
+     */
+    public record Outcome<R>(R value, boolean replayed) {
+    }
+
+    // Ejecución en curso para una clave
+    private record Flight(String fingerprint, CompletableFuture<Result<String, AppError>> result) {
+    }
+
+    private final IdempotencyStore store;
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentExecutor(IdempotencyStore store, Clock clock) {
+        this.store = Objects.requireNonNull(store);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * @param key         Idempotency-Key (ya con el ámbito del endpoint)
+     * @param fingerprint hash de la petición, para detectar claves reutilizadas
+     * @param action      la operación; se ejecuta como mucho una vez por clave
+     * @param encode      valor a texto para guardarlo
+     * @param decode      texto guardado a valor
+     */
+    public <R> Result<Outcome<R>, AppError> execute(String key, String fingerprint,
+            Supplier<Result<R, AppError>> action, Function<R, String> encode, Function<String, R> decode) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            return Result.fail(new ValidationError("Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters"));
+        Objects.requireNonNull(fingerprint);
+
+        Result<Optional<Outcome<R>>, AppError> stored = replay(key, fingerprint, decode);
+        if (stored.isFail() || stored.getValue().isPresent())
+            return stored.map(Optional::get);
+
+        Flight mine = new Flight(fingerprint, new CompletableFuture<>());
+        Flight current = inFlight.putIfAbsent(key, mine);
+        if (current != null)
+            return join(key, fingerprint, current, decode);
+
+        try {
+            // otra ejecución pudo terminar entre la consulta y el putIfAbsent;
+            // el claim cubre además las de otras instancias
+            stored = claim(key, fingerprint, decode);
+            if (stored.isFail() || stored.getValue().isPresent()) {
+                Result<Outcome<R>, AppError> res = stored.map(Optional::get);
+                mine.result().complete(res.map(o -> encode.apply(o.value())));
+                return res;
+            }
+
+            Result<R, AppError> res;
+            try {
+                res = action.get();
+            } catch (RuntimeException ex) {
+                release(key);
+                throw ex;
+            }
+            Result<String, AppError> encoded = res.map(encode);
+            if (encoded.isOk())
+                remember(key, fingerprint, encoded.getValue());
+            else
+                release(key);
+            mine.result().complete(encoded);
+            return res.map(v -> new Outcome<>(v, false));
+        } catch (RuntimeException ex) {
+            mine.result().complete(Result.fail(new InfraError("Idempotent execution failed: " + ex.getMessage(), ex)));
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private <R> Result<Optional<Outcome<R>>, AppError> replay(String key, String fingerprint,
+            Function<String, R> decode) {
+        return stored(key, fingerprint, store.find(key), decode);
+    }
+
+    // Vacío: la clave es nuestra y se puede ejecutar
+    private <R> Result<Optional<Outcome<R>>, AppError> claim(String key, String fingerprint,
+            Function<String, R> decode) {
+        return stored(key, fingerprint, store.claim(key, fingerprint), decode);
+    }
+
+    private <R> Result<Optional<Outcome<R>>, AppError> stored(String key, String fingerprint,
+            Result<Optional<IdempotencyStore.Entry>, AppError> found, Function<String, R> decode) {
+        if (found.isFail())
+            return Result.fail(found.getError());
+        if (found.getValue().isEmpty())
+            return Result.ok(Optional.empty());
+        IdempotencyStore.Entry entry = found.getValue().get();
+        if (!entry.fingerprint().equals(fingerprint))
+            return Result.fail(reused(key));
+        if (entry.value() == null)
+            return Result.fail(new ConflictError(
+                    "Idempotency-Key " + key + " is being processed by another request; retry later"));
+        log.debug("Idempotency-Key {} replayed", key);
+        return Result.ok(Optional.of(new Outcome<>(decode.apply(entry.value()), true)));
+    }
+
+    private <R> Result<Outcome<R>, AppError> join(String key, String fingerprint, Flight current,
+            Function<String, R> decode) {
+        if (!current.fingerprint().equals(fingerprint))
+            return Result.fail(reused(key));
+        log.debug("Idempotency-Key {} in flight, waiting for the running request", key);
+        return current.result().join().map(v -> new Outcome<>(decode.apply(v), true));
+    }
+
+    // Un fallo al guardar no invalida la operación ya hecha: solo se pierde el replay
+    private void remember(String key, String fingerprint, String value) {
+        Result<IdempotencyStore.Entry, AppError> res = store
+                .complete(new IdempotencyStore.Entry(key, fingerprint, value, clock.now()));
+        if (res.isFail()) {
+            log.warn("Failed to store result for Idempotency-Key {}: {}", key, res.getError());
+        } else if (!value.equals(res.getValue().value())) {
+            // la reserva caducó y otra instancia llegó a ejecutar la misma clave
+            log.warn("Idempotency-Key {} was executed concurrently by another instance", key);
+        }
+    }
+
+    // Sin liberar, la clave quedaría bloqueada hasta que caduque la reserva
+    private void release(String key) {
+        Result<Void, AppError> res = store.release(key);
+        if (res.isFail())
+            log.warn("Failed to release Idempotency-Key {}: {}", key, res.getError());
+    }
+
+    private static ConflictError reused(String key) {
+        return new ConflictError("Idempotency-Key " + key + " was already used with a different request");
+    }
+}
@@ -0,0 +1,111 @@
+package com.pedidos.application.pipeline;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Short-lived in-process cache of successful results.
+ *
+ * - Only use cases that return a non-null cacheKey() are cached; results are
+ * grouped by key and then by use case name.
+ * - A successful command with a non-null invalidates() key evicts every result
+ * cached under that key.
+ * - Entries expire after the TTL. Other instances do not see the eviction, and
+ * a read that overlaps a write may cache the pre-write result, so a result can
+ * be stale for up to one TTL.
+ * - Bounded: when maxEntries is reached, expired entries are purged and new
+ * results are not cached until there is room.
+ */
+public final class CachingInterceptor implements UseCaseInterceptor {
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<Object, Map<String, Entry>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public CachingInterceptor(Duration ttl, int maxEntries) {
+        if (Objects.requireNonNull(ttl).isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("ttl must be positive");
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+        Object key = useCase.cacheKey(command);
+        if (key != null) {
+            Map<String, Entry> byUseCase = cache.get(key);
+            Entry e = byUseCase == null ? null : byUseCase.get(useCase.name());
+            if (e != null && e.expiresAt() - System.nanoTime() > 0)
+                return Result.ok((R) e.value());
+        }
+
+        Result<R, AppError> res = next.proceed();
+        if (res.isFail())
+            return res;
+
+        Object stale = useCase.invalidates(command);
+        if (stale != null)
+            evict(stale);
+        if (key != null)
+            put(key, useCase.name(), res.getValue());
+        return res;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void evict(Object key) {
+        Map<String, Entry> removed = cache.remove(key);
+        if (removed != null)
+            size.addAndGet(-removed.size());
+    }
+
+    // Los mapas internos son inmutables y se sustituyen dentro de compute(), que
+    // es atómico por clave: un put concurrente con evict() nunca deja entradas
+    // huérfanas ni descuadra el contador.
+    private void put(Object key, String useCase, Object value) {
+        if (size.get() >= maxEntries) {
+            purgeExpired();
+            if (size.get() >= maxEntries)
+                return;
+        }
+        Entry entry = new Entry(value, System.nanoTime() + ttlNanos);
+        cache.compute(key, (k, byUseCase) -> {
+            Map<String, Entry> next = byUseCase == null ? new HashMap<>(2) : new HashMap<>(byUseCase);
+            if (next.put(useCase, entry) == null)
+                size.incrementAndGet();
+            return Map.copyOf(next);
+        });
+    }
+
+    private void purgeExpired() {
+        long now = System.nanoTime();
+        for (Object key : cache.keySet()) {
+            cache.computeIfPresent(key, (k, byUseCase) -> {
+                Map<String, Entry> live = new HashMap<>(byUseCase.size());
+                byUseCase.forEach((useCase, e) -> {
+                    if (e.expiresAt() - now > 0)
+                        live.put(useCase, e);
+                });
+                size.addAndGet(live.size() - byUseCase.size());
+                return live.isEmpty() ? null : Map.copyOf(live);
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.pedidos.application.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Turns runtime exceptions thrown by adapters (repositories, event bus) into
+ * InfraError, so use cases no longer wrap every call in try/catch.
+ */
+public final class ExceptionMappingInterceptor implements UseCaseInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(ExceptionMappingInterceptor.class);
+
+    @Override
+    public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+        try {
+            Result<R, AppError> res = next.proceed();
+            if (res == null)
+                return Result.fail(new InfraError(useCase.name() + " returned no result", null));
+            return res;
+        } catch (RuntimeException e) {
+            log.error("{} - unexpected exception: {}", useCase.name(), e.toString(), e);
+            return Result.fail(new InfraError(useCase.name() + " failed: " + e.getMessage(), e));
+        }
+    }
+}
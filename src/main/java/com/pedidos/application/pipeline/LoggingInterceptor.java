@@ -0,0 +1,35 @@
+package com.pedidos.application.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.ConflictError;
+import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Logs the outcome of every use case in one place: client errors (validation,
+ * not found, conflict) at WARN and everything else at ERROR.
+ */
+public final class LoggingInterceptor implements UseCaseInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
+
+    @Override
+    public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+        Result<R, AppError> res = next.proceed();
+        if (res.isOk()) {
+            log.debug("{} - ok", useCase.name());
+            return res;
+        }
+        AppError err = res.getError();
+        if (err instanceof ValidationError || err instanceof NotFoundError || err instanceof ConflictError) {
+            log.warn("{} - rejected: {}", useCase.name(), err);
+        } else {
+            log.error("{} - failed: {}", useCase.name(), err);
+        }
+        return res;
+    }
+}
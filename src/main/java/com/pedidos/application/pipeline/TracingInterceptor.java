@@ -0,0 +1,40 @@
+package com.pedidos.application.pipeline;
+
+import java.util.UUID;
+
+import org.slf4j.MDC;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Puts the use case name and a trace id in the MDC for the duration of the
+ * call, so every log line written by the use case, its repositories and
+ * synchronous event handlers can be correlated. An existing traceId (e.g. set
+ * by an HTTP filter) is kept.
+ */
+public final class TracingInterceptor implements UseCaseInterceptor {
+
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final String MDC_USE_CASE = "useCase";
+
+    @Override
+    public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+        boolean ownsTrace = MDC.get(MDC_TRACE_ID) == null;
+        String previousUseCase = MDC.get(MDC_USE_CASE);
+        if (ownsTrace)
+            MDC.put(MDC_TRACE_ID, UUID.randomUUID().toString());
+        MDC.put(MDC_USE_CASE, useCase.name());
+        try {
+            return next.proceed();
+        } finally {
+            if (previousUseCase == null)
+                MDC.remove(MDC_USE_CASE);
+            else
+                MDC.put(MDC_USE_CASE, previousUseCase);
+            if (ownsTrace)
+                MDC.remove(MDC_TRACE_ID);
+        }
+    }
+}
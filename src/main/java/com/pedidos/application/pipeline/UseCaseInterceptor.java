@@ -0,0 +1,23 @@
+package com.pedidos.application.pipeline;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Interceptor around use case execution. Either call next.proceed() to
+ * continue the chain or return a Result to short-circuit it.
+ */
+@FunctionalInterface
+public interface UseCaseInterceptor {
+
+    <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next);
+
+    /**
+     * Rest of the chain (following interceptors and the use case itself).
+     */
+    @FunctionalInterface
+    interface Invocation<R> {
+        Result<R, AppError> proceed();
+    }
+}
@@ -0,0 +1,35 @@
+package com.pedidos.application.pipeline;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Runs use cases through an ordered chain of interceptors. The first
+ * interceptor in the list is the outermost one.
+ *
+ * Thread-safe and meant to be shared: the interceptor list is copied at
+ * construction time.
+ */
+public final class UseCasePipeline {
+
+    private final UseCaseInterceptor[] interceptors;
+
+    public UseCasePipeline(List<? extends UseCaseInterceptor> interceptors) {
+        this.interceptors = interceptors.toArray(new UseCaseInterceptor[0]);
+    }
+
+    public <C, R> Result<R, AppError> execute(UseCase<C, R> useCase, C command) {
+        Objects.requireNonNull(useCase);
+        return invoke(0, useCase, command);
+    }
+
+    private <C, R> Result<R, AppError> invoke(int index, UseCase<C, R> useCase, C command) {
+        if (index == interceptors.length)
+            return useCase.execute(command);
+        return interceptors[index].intercept(useCase, command, () -> invoke(index + 1, useCase, command));
+    }
+}
@@ -0,0 +1,20 @@
+package com.pedidos.application.pipeline;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Runs UseCase.validate() and stops the chain on the first error, so invalid
+ * commands never reach caches or repository I/O.
+ */
+public final class ValidationInterceptor implements UseCaseInterceptor {
+
+    @Override
+    public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+        Result<Void, AppError> valid = useCase.validate(command);
+        if (valid.isFail())
+            return Result.fail(valid.getError());
+        return next.proceed();
+    }
+}
@@ -0,0 +1,49 @@
+package com.pedidos.application.port.in;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Incoming port: a use case that handles one command type.
+ *
+ * Use cases are stateless singletons. Adapters run them through
+ * UseCasePipeline, which adds validation short-circuit, exception mapping,
+ * timing, caching and tracing around execute().
+ *
+ * @param <C> command (request) type
+ * @param <R> result type
+ */
+public interface UseCase<C, R> {
+
+    Result<R, AppError> execute(C command);
+
+    /**
+     * Checks that need no I/O (required fields, id format, value objects).
+     * The pipeline calls it before anything else and stops at the first error;
+     * execute() calls it too so direct callers get the same checks.
+     */
+    default Result<Void, AppError> validate(C command) {
+        return Result.ok(null);
+    }
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Key under which a successful result may be cached, or null if the result
+     * must not be cached. Only use cases that return immutable values should
+     * return a key.
+     */
+    default Object cacheKey(C command) {
+        return null;
+    }
+
+    /**
+     * Key whose cached results become stale once this command succeeds, or
+     * null if it invalidates nothing.
+     */
+    default Object invalidates(C command) {
+        return null;
+    }
+}
@@ -1,10 +1,28 @@
 package com.pedidos.application.port.out;
 
 import java.time.Instant;
+import java.time.InstantSource;
 
 /**
  * Port for obtaining current time (allows testing/time control).
+ *
+ * Extends java.time.InstantSource so the same instance can be handed to the
+ * domain (Order timestamps its events with an InstantSource) without the
+ * domain depending on this package.
  */
-public interface Clock {
+@FunctionalInterface
+public interface Clock extends InstantSource {
     Instant now();
+
+    @Override
+    default Instant instant() {
+        return now();
+    }
+
+    /**
+     * Exact system time, for callers that are not wired with a Clock bean.
+     */
+    static Clock system() {
+        return Instant::now;
+    }
 }
@@ -1,5 +1,7 @@
 package com.pedidos.application.port.out;
 
+import java.util.List;
+
 import com.pedidos.application.errors.AppError;
 import com.pedidos.shared.result.Result;
 
@@ -8,4 +10,20 @@ import com.pedidos.shared.result.Result;
  */
 public interface EventBus {
     Result<Void, AppError> publish(Object event);
+
+    /**
+     * Publishes a batch of events in order. Implementations may deliver the whole
+     * batch to batch-aware handlers in a single call; the default implementation
+     * publishes one by one and stops at the first failure.
+     */
+    default Result<Void, AppError> publishAll(List<?> events) {
+        if (events == null)
+            return Result.ok(null);
+        for (Object event : events) {
+            Result<Void, AppError> res = publish(event);
+            if (res.isFail())
+                return res;
+        }
+        return Result.ok(null);
+    }
 }
@@ -0,0 +1,56 @@
+package com.pedidos.application.port.out;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Port to remember the outcome of requests sent with an Idempotency-Key.
+ * Implementations drop entries older than their TTL.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Stored outcome: fingerprint of the original request and the encoded
+     * result to replay. A null value marks a key claimed by a request that is
+     * still running.
+     */
+    record Entry(String key, String fingerprint, String value, Instant createdAt) {
+    }
+
+    Result<Optional<Entry>, AppError> find(String key);
+
+    /**
+     * Stores the entry unless the key already exists. Returns the entry that
+     * wins: the given one or the one stored before it.
+     */
+    Result<Entry, AppError> putIfAbsent(Entry entry);
+
+    /**
+     * Reserves the key before the request runs, so that instances sharing the
+     * store do not both run it. Returns empty if the caller now owns the key;
+     * otherwise the entry already stored, with a null value while its owner is
+     * still running. Stores local to one instance have nothing to coordinate
+     * and accept every claim.
+     */
+    default Result<Optional<Entry>, AppError> claim(String key, String fingerprint) {
+        return Result.ok(Optional.empty());
+    }
+
+    /**
+     * Stores the result of a claimed key. Returns the entry that wins, as
+     * putIfAbsent.
+     */
+    default Result<Entry, AppError> complete(Entry entry) {
+        return putIfAbsent(entry);
+    }
+
+    /**
+     * Drops the claim of a request that failed, so the key can be retried.
+     */
+    default Result<Void, AppError> release(String key) {
+        return Result.ok(null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.pedidos.application.port.out;
+
+import com.pedidos.domain.valueobjects.OrderId;
+
+/**
+ * Port for generating identifiers of new orders.
+ */
+@FunctionalInterface
+public interface OrderIdGenerator {
+    OrderId next();
+
+    /**
+     * Random (version 4) ids, as produced by OrderId.newId().
+     */
+    static OrderIdGenerator random() {
+        return OrderId::newId;
+    }
+}
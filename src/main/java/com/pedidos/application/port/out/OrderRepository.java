@@ -1,7 +1,9 @@
 package com.pedidos.application.port.out;
 
+import java.util.List;
 import java.util.Optional;
 
+import com.pedidos.application.dto.OrderView;
 import com.pedidos.application.errors.AppError;
 import com.pedidos.domain.entities.Order;
 import com.pedidos.domain.valueobjects.OrderId;
@@ -18,4 +20,38 @@ public interface OrderRepository {
     Result<Optional<Order>, AppError> findById(OrderId id);
 
     Result<Void, AppError> delete(OrderId id);
+
+    /**
+     * Modelo de lectura del pedido para el camino GET, con la misma versión
+     * que findVersion. Los adaptadores lo construyen directamente desde las
+     * filas; la implementación por defecto carga el agregado y lo descarta.
+     */
+    default Result<Optional<OrderView>, AppError> findViewById(OrderId id) {
+        return findById(id).map(order -> order.map(OrderView::of));
+    }
+
+    /**
+     * Persiste varios pedidos nuevos. Los adaptadores lo sobrescriben para
+     * hacerlo en una sola transacción con sentencias en batch; la
+     * implementación por defecto guarda uno a uno, se detiene en el primer
+     * fallo y no es atómica.
+     */
+    default Result<Void, AppError> saveAll(List<Order> orders) {
+        for (Order order : orders) {
+            Result<Void, AppError> res = save(order);
+            if (res.isFail())
+                return res;
+        }
+        return Result.ok(null);
+    }
+
+    /**
+     * Versión del pedido para ETag / GET condicional, sin cargar las líneas.
+     * Cambia cada vez que el contenido del pedido cambia. Los adaptadores
+     * leen una columna de versión; la implementación por defecto carga el
+     * pedido y calcula un hash de su contenido (OrderView.contentVersion).
+     */
+    default Result<Optional<Long>, AppError> findVersion(OrderId id) {
+        return findById(id).map(order -> order.map(o -> OrderView.contentVersion(o.getItems())));
+    }
 }
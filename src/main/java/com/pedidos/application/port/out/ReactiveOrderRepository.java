@@ -0,0 +1,36 @@
+package com.pedidos.application.port.out;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Non-blocking variant of OrderRepository: same operations and semantics, but
+ * every call returns immediately and completes when the database answers.
+ *
+ * Stages complete normally with a failed Result on infrastructure errors;
+ * they only complete exceptionally on programming errors.
+ */
+public interface ReactiveOrderRepository {
+    CompletionStage<Result<Void, AppError>> save(Order order);
+
+    CompletionStage<Result<Void, AppError>> update(Order order);
+
+    CompletionStage<Result<Optional<Order>, AppError>> findById(OrderId id);
+
+    /**
+     * Modelo de lectura para el camino GET; ver OrderRepository.findViewById.
+     */
+    default CompletionStage<Result<Optional<OrderView>, AppError>> findViewById(OrderId id) {
+        return findById(id).thenApply(found -> found.map(order -> order.map(OrderView::of)));
+    }
+
+    CompletionStage<Result<Optional<Long>, AppError>> findVersion(OrderId id);
+
+    CompletionStage<Result<Void, AppError>> delete(OrderId id);
+}
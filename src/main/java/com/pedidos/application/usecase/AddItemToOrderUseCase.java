@@ -1,31 +1,28 @@
 package com.pedidos.application.usecase;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.pedidos.application.dto.ItemToOrderDto;
 import com.pedidos.application.errors.AppError;
-import com.pedidos.application.errors.InfraError;
 import com.pedidos.application.errors.NotFoundError;
 import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
 import com.pedidos.application.port.out.EventBus;
 import com.pedidos.application.port.out.OrderRepository;
 import com.pedidos.domain.entities.Order;
 import com.pedidos.domain.errors.DomainException;
-import com.pedidos.domain.valueobjects.Currency;
-import com.pedidos.domain.valueobjects.Money;
 import com.pedidos.domain.valueobjects.OrderId;
 import com.pedidos.domain.valueobjects.OrderItem;
-import com.pedidos.domain.valueobjects.ProductId;
-import com.pedidos.domain.valueobjects.Quantity;
 import com.pedidos.shared.result.Result;
 
 /**
  * Caso de uso: añadir un item a un pedido existente.
  */
-public final class AddItemToOrderUseCase {
+public final class AddItemToOrderUseCase implements UseCase<ItemToOrderDto, OrderId> {
     private static final Logger log = LoggerFactory.getLogger(AddItemToOrderUseCase.class);
     private final OrderRepository repository;
     private final EventBus eventBus;
@@ -35,25 +32,31 @@ public final class AddItemToOrderUseCase {
         this.eventBus = eventBus;
     }
 
+    /**
+     * Valida id y línea antes de leer el pedido.
+     */
+    @Override
+    public Result<Void, AppError> validate(ItemToOrderDto request) {
+        return parse(request).map(parsed -> null);
+    }
+
+    @Override
+    public Object invalidates(ItemToOrderDto request) {
+        return request == null ? null : GetOrderUseCase.cacheKeyOf(request.orderId);
+    }
+
+    @Override
     public Result<OrderId, AppError> execute(ItemToOrderDto request) {
         log.debug("AddItemToOrderUseCase.execute - orderId={} item={} ", request == null ? null : request.orderId,
                 request == null ? null : request.item);
-        if (request == null) {
-            log.warn("AddItemToOrderUseCase - missing request");
-            return Result.fail(new ValidationError("Missing request"));
-        }
-
-        OrderId orderId;
-        try {
-            orderId = new OrderId(java.util.UUID.fromString(request.orderId));
-        } catch (Exception e) {
-            return Result.fail(new ValidationError("Invalid order id: " + request.orderId));
+        Result<Parsed, AppError> parsed = parse(request);
+        if (parsed.isFail()) {
+            return Result.fail(parsed.getError());
         }
+        OrderId orderId = parsed.getValue().orderId();
 
         Result<Optional<Order>, AppError> orderSearchResult = repository.findById(orderId);
         if (orderSearchResult.isFail()) {
-            log.error("AddItemToOrderUseCase - repository.findById failed for {}: {}", orderId,
-                    orderSearchResult.getError());
             return Result.fail(orderSearchResult.getError());
         }
         Optional<Order> optionalOrder = orderSearchResult.getValue();
@@ -61,47 +64,47 @@ public final class AddItemToOrderUseCase {
             return Result.fail(new NotFoundError("Order not found: " + orderId));
 
         Order order = optionalOrder.get();
-
-        if (request.item == null) {
-            return Result.fail(new ValidationError("Missing item"));
-        }
-
-        OrderItem orderItem;
         try {
-            ProductId pid = new ProductId(request.item.productId);
-            Quantity qty = new Quantity(request.item.quantity); // VO valida >0
-            Currency cur = Currency.of(request.item.currency);
-            Money price = new Money(request.item.unitPrice, cur);
-            orderItem = new OrderItem(pid, qty, price);
-            order.addItem(orderItem);
+            order.addItem(parsed.getValue().item());
         } catch (IllegalArgumentException | DomainException e) {
             log.warn("AddItemToOrderUseCase - validation error: {}", e.getMessage());
             return Result.fail(new ValidationError(e.getMessage()));
         }
 
-        Result<Void, AppError> updateRes;
-        try {
-            updateRes = repository.update(order);
-        } catch (RuntimeException e) {
-            log.error("AddItemToOrderUseCase - exception updating order {}: {}", orderId, e.getMessage());
-            return Result.fail(new InfraError("Failed to update order: " + e.getMessage(), e));
-        }
+        Result<Void, AppError> updateRes = repository.update(order);
         if (updateRes.isFail()) {
-            log.error("AddItemToOrderUseCase - failed to update order {}: {}", orderId, updateRes.getError());
             return Result.fail(updateRes.getError());
         }
-
-        for (Object ev : order.pullDomainEvents()) {
-            Result<Void, AppError> pub = eventBus.publish(ev);
-            if (pub.isFail()) {
-                log.error("AddItemToOrderUseCase - event publish failed for order {}: {}", orderId,
-                        pub.getError());
-                return Result.fail(pub.getError());
-            }
+        Result<Void, AppError> pub = eventBus.publishAll(order.pullDomainEvents());
+        if (pub.isFail()) {
+            return Result.fail(pub.getError());
         }
 
         log.info("AddItemToOrderUseCase - item added to order {}", orderId);
 
         return Result.ok(orderId);
     }
+
+    record Parsed(OrderId orderId, OrderItem item) {
+    }
+
+    // Compartido con ReactiveOrderUseCases
+    static Result<Parsed, AppError> parse(ItemToOrderDto request) {
+        if (request == null) {
+            return Result.fail(new ValidationError("Missing request"));
+        }
+
+        OrderId orderId;
+        try {
+            orderId = new OrderId(UUID.fromString(request.orderId));
+        } catch (Exception e) {
+            return Result.fail(new ValidationError("Invalid order id: " + request.orderId));
+        }
+
+        if (request.item == null) {
+            return Result.fail(new ValidationError("Missing item"));
+        }
+
+        return CreateOrderUseCase.parseItem(request.item).map(item -> new Parsed(orderId, item));
+    }
 }
@@ -8,9 +8,11 @@ import org.slf4j.LoggerFactory;
 import com.pedidos.application.dto.ItemDto;
 import com.pedidos.application.dto.OrderDto;
 import com.pedidos.application.errors.AppError;
-import com.pedidos.application.errors.InfraError;
 import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.application.port.out.Clock;
 import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.OrderIdGenerator;
 import com.pedidos.application.port.out.OrderRepository;
 import com.pedidos.domain.entities.Order;
 import com.pedidos.domain.errors.DomainException;
@@ -25,74 +27,143 @@ import com.pedidos.shared.result.Result;
 /**
  * Caso de uso: crear un pedido.
  */
-public final class CreateOrderUseCase {
+public final class CreateOrderUseCase implements UseCase<OrderDto, OrderId> {
     private static final Logger log = LoggerFactory.getLogger(CreateOrderUseCase.class);
     private final OrderRepository repository;
     private final EventBus eventBus;
+    private final OrderIdGenerator orderIds;
+    private final Clock clock;
 
     public CreateOrderUseCase(OrderRepository repository, EventBus eventBus) {
+        this(repository, eventBus, OrderIdGenerator.random(), Clock.system());
+    }
+
+    public CreateOrderUseCase(OrderRepository repository, EventBus eventBus, OrderIdGenerator orderIds,
+            Clock clock) {
         this.repository = repository;
         this.eventBus = eventBus;
+        this.orderIds = orderIds;
+        this.clock = clock;
+    }
+
+    /**
+     * Solo comprobaciones estructurales (petición, líneas y value objects): no
+     * genera id ni construye el agregado, eso lo hace execute una sola vez.
+     */
+    @Override
+    public Result<Void, AppError> validate(OrderDto request) {
+        Result<List<ItemDto>, AppError> items = requireItems(request);
+        if (items.isFail()) {
+            return Result.fail(items.getError());
+        }
+        for (ItemDto it : items.getValue()) {
+            Result<OrderItem, AppError> line = parseItem(it);
+            if (line.isFail()) {
+                return Result.fail(line.getError());
+            }
+        }
+        return Result.ok(null);
     }
 
+    @Override
     public Result<OrderId, AppError> execute(OrderDto request) {
         log.debug("CreateOrderUseCase.execute - incoming request itemsCount={}",
                 request == null ? 0 : request.getItems() == null ? 0 : request.getItems().size());
-        if (request == null) {
-            log.warn("CreateOrderUseCase - missing request");
-            return Result.fail(new ValidationError("Missing request"));
+        Result<Order, AppError> built = buildOrder(request, orderIds, clock);
+        if (built.isFail()) {
+            return Result.fail(built.getError());
         }
-        List<ItemDto> items = request.getItems();
-        if (items == null || items.isEmpty()) {
-            log.warn("CreateOrderUseCase - validation failed: empty items");
-            return Result.fail(new ValidationError("Order must contain at least one item"));
+        Order order = built.getValue();
+        OrderId orderId = order.getId();
+
+        // persist, then publish events (failures are logged by the pipeline)
+        Result<Void, AppError> saveRes = repository.save(order);
+        if (saveRes.isFail()) {
+            return Result.fail(saveRes.getError());
+        }
+        Result<Void, AppError> pub = eventBus.publishAll(order.pullDomainEvents());
+        if (pub.isFail()) {
+            return Result.fail(pub.getError());
         }
 
-        OrderId orderId = OrderId.newId();
-        Order order = Order.create(orderId);
+        log.info("CreateOrderUseCase - order created {}", orderId);
+
+        return Result.ok(orderId);
+    }
+
+    /**
+     * Valida la petición y construye el agregado con sus eventos pendientes.
+     * Compartido con CreateOrdersBatchUseCase para que ambos apliquen las mismas
+     * reglas. El id solo se genera si la petición tiene líneas.
+     */
+    static Result<Order, AppError> buildOrder(OrderDto request, OrderIdGenerator orderIds, Clock clock) {
+        Result<List<ItemDto>, AppError> items = requireItems(request);
+        if (items.isFail()) {
+            return Result.fail(items.getError());
+        }
 
-        for (ItemDto it : items) {
-            if (it.quantity == null) {
-                return Result.fail(new ValidationError("Quantity is required for product " + it.productId));
+        OrderId orderId = orderIds.next();
+        Order order = Order.create(orderId, clock);
+
+        for (ItemDto it : items.getValue()) {
+            Result<OrderItem, AppError> line = parseItem(it);
+            if (line.isFail()) {
+                return Result.fail(line.getError());
             }
-            ProductId pid;
             try {
-                pid = new ProductId(it.productId);
-                Currency currency = Currency.of(it.currency);
-                Money unitPrice = new Money(it.unitPrice, currency);
-                Quantity qty = new Quantity(it.quantity);
-
-                order.addItem(new OrderItem(pid, qty, unitPrice));
+                order.addItem(line.getValue());
             } catch (IllegalArgumentException | DomainException e) {
                 return Result.fail(new ValidationError(e.getMessage()));
             }
         }
+        return Result.ok(order);
+    }
 
-        // persist
-        Result<Void, AppError> saveRes;
-        try {
-            saveRes = repository.save(order);
-        } catch (RuntimeException e) {
-            log.error("CreateOrderUseCase - exception saving order {}: {}", orderId, e.getMessage());
-            return Result.fail(new InfraError("Failed to save order: " + e.getMessage(), e));
+    private static Result<List<ItemDto>, AppError> requireItems(OrderDto request) {
+        if (request == null) {
+            log.warn("CreateOrderUseCase - missing request");
+            return Result.fail(new ValidationError("Missing request"));
         }
-        if (saveRes.isFail()) {
-            log.error("CreateOrderUseCase - failed to save order {}: {}", orderId, saveRes.getError());
-            return Result.fail(saveRes.getError());
+        List<ItemDto> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            log.warn("CreateOrderUseCase - validation failed: empty items");
+            return Result.fail(new ValidationError("Order must contain at least one item"));
         }
+        return Result.ok(items);
+    }
 
-        // publish events
-        List<Object> events = order.pullDomainEvents();
-        for (Object ev : events) {
-            Result<Void, AppError> pub = eventBus.publish(ev);
-            if (pub.isFail()) {
-                log.error("CreateOrderUseCase - failed to publish event for order {}: {}", orderId, pub.getError());
-                return Result.fail(pub.getError());
-            }
+    /**
+     * Valida una línea con las fábricas tryOf de los value objects: una línea
+     * inválida no lanza ninguna excepción. Compartido con
+     * AddItemToOrderUseCase.
+     */
+    static Result<OrderItem, AppError> parseItem(ItemDto it) {
+        if (it == null) {
+            return Result.fail(new ValidationError("Item is required"));
         }
+        if (it.quantity == null) {
+            return Result.fail(new ValidationError("Quantity is required for product " + it.productId));
+        }
+        Result<ProductId, DomainException> pid = ProductId.tryOf(it.productId);
+        if (pid.isFail()) {
+            return invalid(pid);
+        }
+        Result<Currency, DomainException> currency = Currency.tryOf(it.currency);
+        if (currency.isFail()) {
+            return invalid(currency);
+        }
+        Result<Money, DomainException> unitPrice = Money.tryOf(it.unitPrice, currency.getValue());
+        if (unitPrice.isFail()) {
+            return invalid(unitPrice);
+        }
+        Result<Quantity, DomainException> qty = Quantity.tryOf(it.quantity);
+        if (qty.isFail()) {
+            return invalid(qty);
+        }
+        return Result.ok(new OrderItem(pid.getValue(), qty.getValue(), unitPrice.getValue()));
+    }
 
-        log.info("CreateOrderUseCase - order created {}", orderId);
-
-        return Result.ok(orderId);
+    private static <T> Result<T, AppError> invalid(Result<?, DomainException> failed) {
+        return Result.fail(new ValidationError(failed.getError().getMessage()));
     }
 }
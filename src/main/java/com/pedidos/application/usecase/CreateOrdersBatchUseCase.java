@@ -0,0 +1,129 @@
+package com.pedidos.application.usecase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Caso de uso: crear varios pedidos en una sola petición.
+ *
+ * - Cada entrada se valida con las mismas reglas que CreateOrderUseCase; una
+ * entrada inválida no impide crear las demás.
+ * - Los pedidos válidos se guardan con OrderRepository.saveAll en bloques de
+ * CHUNK_SIZE (una transacción por bloque). Si un bloque falla, todas sus
+ * entradas devuelven ese error.
+ * - Devuelve un resultado por entrada, en el mismo orden que la petición.
+ */
+public final class CreateOrdersBatchUseCase implements UseCase<List<OrderDto>, List<Result<OrderId, AppError>>> {
+    private static final Logger log = LoggerFactory.getLogger(CreateOrdersBatchUseCase.class);
+
+    public static final int MAX_BATCH_SIZE = 1000;
+    static final int CHUNK_SIZE = 100;
+
+    private final OrderRepository repository;
+    private final EventBus eventBus;
+    private final OrderIdGenerator orderIds;
+    private final Clock clock;
+
+    public CreateOrdersBatchUseCase(OrderRepository repository, EventBus eventBus) {
+        this(repository, eventBus, OrderIdGenerator.random(), Clock.system());
+    }
+
+    public CreateOrdersBatchUseCase(OrderRepository repository, EventBus eventBus, OrderIdGenerator orderIds,
+            Clock clock) {
+        this.repository = repository;
+        this.eventBus = eventBus;
+        this.orderIds = orderIds;
+        this.clock = clock;
+    }
+
+    /**
+     * Solo el tamaño del lote: las entradas inválidas no rechazan la petición,
+     * se devuelven como error en su posición.
+     */
+    @Override
+    public Result<Void, AppError> validate(List<OrderDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return Result.fail(new ValidationError("Batch must contain at least one order"));
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            return Result.fail(new ValidationError("Batch must contain at most " + MAX_BATCH_SIZE + " orders"));
+        }
+        return Result.ok(null);
+    }
+
+    @Override
+    public Result<List<Result<OrderId, AppError>>, AppError> execute(List<OrderDto> requests) {
+        Result<Void, AppError> checked = validate(requests);
+        if (checked.isFail()) {
+            return Result.fail(checked.getError());
+        }
+        log.debug("CreateOrdersBatchUseCase.execute - incoming batch size={}", requests.size());
+
+        List<Result<OrderId, AppError>> results = new ArrayList<>(requests.size());
+        List<Order> valid = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Result<Order, AppError> built = CreateOrderUseCase.buildOrder(requests.get(i), orderIds, clock);
+            if (built.isFail()) {
+                results.add(Result.fail(built.getError()));
+            } else {
+                results.add(Result.ok(built.getValue().getId()));
+                valid.add(built.getValue());
+                validIndexes.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, valid.size());
+            List<Order> chunk = valid.subList(from, to);
+            Result<Void, AppError> saveRes;
+            try {
+                saveRes = repository.saveAll(chunk);
+            } catch (RuntimeException e) {
+                // caught here (not in the pipeline) so later chunks still run
+                log.error("CreateOrdersBatchUseCase - exception saving {} orders: {}", chunk.size(), e.getMessage());
+                saveRes = Result.fail(new InfraError("Failed to save orders: " + e.getMessage(), e));
+            }
+            if (saveRes.isFail()) {
+                log.error("CreateOrdersBatchUseCase - failed to save {} orders: {}", chunk.size(), saveRes.getError());
+                for (int k = from; k < to; k++) {
+                    results.set(validIndexes.get(k), Result.fail(saveRes.getError()));
+                }
+                continue;
+            }
+
+            // publish events of the persisted chunk in one call
+            List<Object> events = new ArrayList<>();
+            for (Order order : chunk) {
+                events.addAll(order.pullDomainEvents());
+            }
+            Result<Void, AppError> pub = eventBus.publishAll(events);
+            if (pub.isFail()) {
+                log.error("CreateOrdersBatchUseCase - failed to publish events for {} orders: {}", chunk.size(),
+                        pub.getError());
+                for (int k = from; k < to; k++) {
+                    results.set(validIndexes.get(k), Result.fail(pub.getError()));
+                }
+            }
+        }
+
+        log.info("CreateOrdersBatchUseCase - batch processed: {} requested, {} valid", requests.size(), valid.size());
+        return Result.ok(results);
+    }
+}
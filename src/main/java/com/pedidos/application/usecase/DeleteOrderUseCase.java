@@ -1,14 +1,13 @@
 package com.pedidos.application.usecase;
 
-import java.time.Instant;
-import java.util.UUID;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.pedidos.application.errors.AppError;
-import com.pedidos.application.errors.InfraError;
-import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.application.port.out.Clock;
 import com.pedidos.application.port.out.EventBus;
 import com.pedidos.application.port.out.OrderRepository;
 import com.pedidos.domain.events.OrderDeletedEvent;
@@ -18,52 +17,54 @@ import com.pedidos.shared.result.Result;
 /**
  * Use case to delete an order by id and publish OrderDeletedEvent.
  */
-public class DeleteOrderUseCase {
+public class DeleteOrderUseCase implements UseCase<String, Void> {
     private static final Logger log = LoggerFactory.getLogger(DeleteOrderUseCase.class);
     private final OrderRepository repository;
     private final EventBus eventBus;
+    private final Clock clock;
 
     public DeleteOrderUseCase(OrderRepository repository, EventBus eventBus) {
+        this(repository, eventBus, Clock.system());
+    }
+
+    public DeleteOrderUseCase(OrderRepository repository, EventBus eventBus, Clock clock) {
         this.repository = repository;
         this.eventBus = eventBus;
+        this.clock = clock;
+    }
+
+    @Override
+    public Result<Void, AppError> validate(String orderId) {
+        return GetOrderUseCase.parseId(orderId).map(id -> null);
+    }
+
+    @Override
+    public Object invalidates(String orderId) {
+        return GetOrderUseCase.cacheKeyOf(orderId);
     }
 
     /**
      * Execute delete. Returns Result<Void, AppError>.
      */
+    @Override
     public Result<Void, AppError> execute(String orderId) {
         log.debug("DeleteOrderUseCase.execute - orderId={}", orderId);
-        if (orderId == null || orderId.isBlank()) {
-            log.warn("DeleteOrderUseCase - missing order id");
-            return Result.fail(new ValidationError("Order id is required"));
-        }
-
-        final UUID uuid;
-        try {
-            uuid = UUID.fromString(orderId);
-        } catch (IllegalArgumentException ex) {
-            return Result.fail(new ValidationError("Invalid order id"));
+        Result<OrderId, AppError> parsed = GetOrderUseCase.parseId(orderId);
+        if (parsed.isFail()) {
+            return Result.fail(parsed.getError());
         }
+        OrderId oid = parsed.getValue();
 
-        OrderId oid = new OrderId(uuid);
-
-        Result<Void, AppError> delRes;
-        try {
-            delRes = repository.delete(oid);
-        } catch (RuntimeException e) {
-            log.error("DeleteOrderUseCase - exception deleting order {}: {}", oid, e.getMessage());
-            return Result.fail(new InfraError("Failed to delete order: " + e.getMessage(), e));
-        }
+        Result<Void, AppError> delRes = repository.delete(oid);
         if (delRes.isFail()) {
-            log.error("DeleteOrderUseCase - failed to delete order {}: {}", oid, delRes.getError());
             return Result.fail(delRes.getError());
         }
 
         // Publish domain event about deletion. Include timestamp; reason currently
         // null.
-        Result<Void, AppError> pub = eventBus.publish(new OrderDeletedEvent(oid, Instant.now(), null));
+        Result<Void, AppError> pub = eventBus
+                .publishAll(List.of(new OrderDeletedEvent(oid, clock.now(), null)));
         if (pub.isFail()) {
-            log.error("DeleteOrderUseCase - failed to publish OrderDeletedEvent for {}: {}", oid, pub.getError());
             // Bubble infra error from event bus
             return Result.fail(pub.getError());
         }
@@ -3,28 +3,45 @@ package com.pedidos.application.usecase;
 import java.util.Optional;
 import java.util.UUID;
 
+import com.pedidos.application.dto.OrderView;
 import com.pedidos.application.errors.AppError;
 import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
 import com.pedidos.application.port.out.OrderRepository;
-import com.pedidos.domain.entities.Order;
 import com.pedidos.domain.valueobjects.OrderId;
 import com.pedidos.shared.result.Result;
 
 /**
- * Use case to retrieve an order by id.
+ * Use case to retrieve an order by id. Returns the immutable read model
+ * (OrderView), so the result can be cached and shared.
  */
-public class GetOrderUseCase {
+public class GetOrderUseCase implements UseCase<String, Optional<OrderView>> {
     private final OrderRepository repository;
 
     public GetOrderUseCase(OrderRepository repository) {
         this.repository = repository;
     }
 
+    @Override
+    public Result<Void, AppError> validate(String orderId) {
+        return parseId(orderId).map(id -> null);
+    }
+
     /**
-     * Execute retrieval. Returns Result<Optional<Order>, AppError> so caller can
-     * map 404.
+     * Execute retrieval. Returns Result<Optional<OrderView>, AppError> so caller
+     * can map 404.
      */
-    public Result<Optional<Order>, AppError> execute(String orderId) {
+    @Override
+    public Result<Optional<OrderView>, AppError> execute(String orderId) {
+        return parseId(orderId).flatMap(repository::findViewById);
+    }
+
+    @Override
+    public Object cacheKey(String orderId) {
+        return cacheKeyOf(orderId);
+    }
+
+    static Result<OrderId, AppError> parseId(String orderId) {
         if (orderId == null || orderId.isBlank()) {
             return Result.fail(new ValidationError("Order id is required"));
         }
@@ -36,7 +53,14 @@ public class GetOrderUseCase {
             return Result.fail(new ValidationError("Invalid order id"));
         }
 
-        OrderId oid = new OrderId(uuid);
-        return repository.findById(oid);
+        return Result.ok(new OrderId(uuid));
+    }
+
+    /**
+     * Cache key shared by the read use cases of one order; null for invalid ids.
+     */
+    static Object cacheKeyOf(String orderId) {
+        Result<OrderId, AppError> id = parseId(orderId);
+        return id.isOk() ? id.getValue() : null;
     }
 }
@@ -0,0 +1,39 @@
+package com.pedidos.application.usecase;
+
+import java.util.Optional;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Use case to read only the version of an order (ETag / If-None-Match),
+ * without loading its items. Returns an empty Optional if the order does not
+ * exist.
+ *
+ * The result is an immutable value, so it is cacheable; writes to the order
+ * invalidate it.
+ */
+public class GetOrderVersionUseCase implements UseCase<String, Optional<Long>> {
+    private final OrderRepository repository;
+
+    public GetOrderVersionUseCase(OrderRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Result<Void, AppError> validate(String orderId) {
+        return GetOrderUseCase.parseId(orderId).map(id -> null);
+    }
+
+    @Override
+    public Object cacheKey(String orderId) {
+        return GetOrderUseCase.cacheKeyOf(orderId);
+    }
+
+    @Override
+    public Result<Optional<Long>, AppError> execute(String orderId) {
+        return GetOrderUseCase.parseId(orderId).flatMap(repository::findVersion);
+    }
+}
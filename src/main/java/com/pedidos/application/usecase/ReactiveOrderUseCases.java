@@ -0,0 +1,152 @@
+package com.pedidos.application.usecase;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.dto.ItemToOrderDto;
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.application.port.out.ReactiveOrderRepository;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.errors.DomainException;
+import com.pedidos.domain.events.OrderDeletedEvent;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Casos de uso de pedidos sobre ReactiveOrderRepository (perfil reactive).
+ *
+ * - Mismas reglas que los casos de uso bloqueantes: reutilizan su validación
+ * (CreateOrderUseCase.buildOrder, GetOrderUseCase.parseId,
+ * AddItemToOrderUseCase.parse) y el agregado Order.
+ * - Ningún método bloquea: la validación falla en el acto y el resto se
+ * encadena sobre los CompletionStage del repositorio.
+ * - Los eventos se publican en el EventBus igual que en la variante
+ * bloqueante, pero en el Executor de eventos: el EventBus síncrono ejecuta los
+ * handlers en el hilo que publica, y ese hilo no puede ser el event loop. Con
+ * app.eventbus.mode=PARTITIONED publicar solo encola y basta el hilo actual.
+ */
+public final class ReactiveOrderUseCases {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderUseCases.class);
+    private final ReactiveOrderRepository repository;
+    private final EventBus eventBus;
+    private final OrderIdGenerator orderIds;
+    private final Clock clock;
+    private final Executor eventExecutor;
+
+    public ReactiveOrderUseCases(ReactiveOrderRepository repository, EventBus eventBus) {
+        this(repository, eventBus, OrderIdGenerator.random(), Clock.system());
+    }
+
+    public ReactiveOrderUseCases(ReactiveOrderRepository repository, EventBus eventBus, OrderIdGenerator orderIds,
+            Clock clock) {
+        this(repository, eventBus, orderIds, clock, Runnable::run);
+    }
+
+    /**
+     * eventExecutor es donde se llama al EventBus (p.ej. un pool elástico de
+     * Reactor); Runnable::run publica en el hilo que completa la escritura.
+     */
+    public ReactiveOrderUseCases(ReactiveOrderRepository repository, EventBus eventBus, OrderIdGenerator orderIds,
+            Clock clock, Executor eventExecutor) {
+        this.repository = Objects.requireNonNull(repository);
+        this.eventBus = Objects.requireNonNull(eventBus);
+        this.orderIds = Objects.requireNonNull(orderIds);
+        this.clock = Objects.requireNonNull(clock);
+        this.eventExecutor = Objects.requireNonNull(eventExecutor);
+    }
+
+    public CompletionStage<Result<OrderId, AppError>> createOrder(OrderDto request) {
+        Result<Order, AppError> built = CreateOrderUseCase.buildOrder(request, orderIds, clock);
+        if (built.isFail())
+            return done(Result.fail(built.getError()));
+        Order order = built.getValue();
+        return guard(repository.save(order)
+                .thenCompose(saved -> publishIfOk(saved, order.pullDomainEvents()))
+                .thenApply(published -> published.map(v -> {
+                    log.info("ReactiveOrderUseCases - order created {}", order.getId());
+                    return order.getId();
+                })));
+    }
+
+    public CompletionStage<Result<OrderId, AppError>> addItem(ItemToOrderDto request) {
+        Result<AddItemToOrderUseCase.Parsed, AppError> parsed = AddItemToOrderUseCase.parse(request);
+        if (parsed.isFail())
+            return done(Result.fail(parsed.getError()));
+        OrderId orderId = parsed.getValue().orderId();
+
+        return guard(repository.findById(orderId).thenCompose(found -> {
+            if (found.isFail())
+                return done(Result.<OrderId, AppError>fail(found.getError()));
+            if (found.getValue().isEmpty())
+                return done(Result.<OrderId, AppError>fail(new NotFoundError("Order not found: " + orderId)));
+
+            Order order = found.getValue().get();
+            try {
+                order.addItem(parsed.getValue().item());
+            } catch (IllegalArgumentException | DomainException e) {
+                return done(Result.<OrderId, AppError>fail(new ValidationError(e.getMessage())));
+            }
+            return repository.update(order)
+                    .thenCompose(updated -> publishIfOk(updated, order.pullDomainEvents()))
+                    .thenApply(published -> published.map(v -> orderId));
+        }));
+    }
+
+    public CompletionStage<Result<Optional<OrderView>, AppError>> getOrder(String orderId) {
+        return withId(orderId, repository::findViewById);
+    }
+
+    public CompletionStage<Result<Optional<Long>, AppError>> getOrderVersion(String orderId) {
+        return withId(orderId, repository::findVersion);
+    }
+
+    public CompletionStage<Result<Void, AppError>> deleteOrder(String orderId) {
+        return withId(orderId, oid -> repository.delete(oid)
+                .thenCompose(deleted -> publishIfOk(deleted, List.of(new OrderDeletedEvent(oid, clock.now(), null)))));
+    }
+
+    private <R> CompletionStage<Result<R, AppError>> withId(String orderId,
+            Function<OrderId, CompletionStage<Result<R, AppError>>> action) {
+        Result<OrderId, AppError> id = GetOrderUseCase.parseId(orderId);
+        if (id.isFail())
+            return done(Result.fail(id.getError()));
+        return guard(action.apply(id.getValue()));
+    }
+
+    // Publica tras una escritura correcta, en eventExecutor
+    private CompletionStage<Result<Void, AppError>> publishIfOk(Result<Void, AppError> written, List<?> events) {
+        if (written.isFail())
+            return done(written);
+        return CompletableFuture.supplyAsync(() -> eventBus.publishAll(events), eventExecutor);
+    }
+
+    private static <R> CompletionStage<Result<R, AppError>> done(Result<R, AppError> result) {
+        return CompletableFuture.completedFuture(result);
+    }
+
+    // Excepciones inesperadas (adaptador, handler de eventos) como InfraError,
+    // igual que ExceptionMappingInterceptor en el pipeline bloqueante
+    private static <R> CompletionStage<Result<R, AppError>> guard(CompletionStage<Result<R, AppError>> stage) {
+        return stage.exceptionally(ex -> {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            log.error("ReactiveOrderUseCases - unexpected error: {}", cause.toString());
+            return Result.fail(new InfraError("Unexpected error: " + cause.getMessage(), cause));
+        });
+    }
+}
@@ -0,0 +1,249 @@
+package com.pedidos.domain.entities;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+
+/**
+ * Líneas en columnas de primitivos, para pedidos grandes.
+ *
+ * - Cada línea ocupa un slot: producto (referencia al ProductId internado,
+ * compartido con el resto del servicio), cantidad (int), precio en unidades
+ * menores (long) y moneda como índice en el diccionario de monedas del pedido
+ * (byte). Unos 17 bytes más el índice, frente a los ~190 de una entrada de
+ * LinkedHashMap con su OrderItem, Quantity y Money.
+ * - Índice por producto con direccionamiento abierto (sondeo lineal, factor
+ * de carga <= 0.5) que guarda slot + 1.
+ * - Borrar marca el slot (cantidad 0) y deja su entrada en el índice para no
+ * romper las cadenas de sondeo; si el producto vuelve se añade al final,
+ * como en LinkedHashMap. Cuando hay más slots borrados que vivos se compacta.
+ * - Los OrderItem se materializan al leer; no se guardan.
+ */
+final class ColumnarOrderLines implements OrderLines {
+    private static final int MIN_CAPACITY = 16;
+
+    private int slots; // vivos + borrados
+    private int live;
+    private ProductId[] products;
+    private int[] quantities; // 0 = línea borrada
+    private long[] prices;
+    private byte[] currencyRefs;
+
+    // diccionario de monedas del pedido; las ISO 4217 con decimales son < 256
+    private Currency[] currencies;
+    private int currencyCount;
+
+    // precios que no caben en un long de unidades menores (en la práctica ninguno)
+    private Map<Integer, Money> oversized;
+
+    private int[] index; // slot + 1; 0 = libre
+    private int indexUsed;
+
+    ColumnarOrderLines(int expectedLines) {
+        int capacity = Math.max(MIN_CAPACITY, expectedLines);
+        products = new ProductId[capacity];
+        quantities = new int[capacity];
+        prices = new long[capacity];
+        currencyRefs = new byte[capacity];
+        currencies = new Currency[2];
+        index = new int[indexCapacity(capacity)];
+    }
+
+    private ColumnarOrderLines(ColumnarOrderLines source) {
+        slots = source.slots;
+        live = source.live;
+        products = source.products.clone();
+        quantities = source.quantities.clone();
+        prices = source.prices.clone();
+        currencyRefs = source.currencyRefs.clone();
+        currencies = source.currencies.clone();
+        currencyCount = source.currencyCount;
+        oversized = source.oversized == null ? null : new HashMap<>(source.oversized);
+        index = source.index.clone();
+        indexUsed = source.indexUsed;
+    }
+
+    static ColumnarOrderLines from(OrderLines lines) {
+        ColumnarOrderLines columnar = new ColumnarOrderLines(lines.size() * 2);
+        lines.forEach(columnar::put);
+        return columnar;
+    }
+
+    @Override
+    public OrderItem find(ProductId productId) {
+        int entry = index[probe(productId)];
+        if (entry == 0 || quantities[entry - 1] == 0)
+            return null;
+        return item(entry - 1);
+    }
+
+    @Override
+    public void put(OrderItem item) {
+        int pos = probe(item.getProductId());
+        int entry = index[pos];
+        if (entry != 0 && quantities[entry - 1] != 0) {
+            set(entry - 1, item);
+            return;
+        }
+        int slot = append(item);
+        live++;
+        index[pos] = slot + 1; // si apuntaba a una línea borrada del mismo producto, se reutiliza
+        if (entry == 0 && ++indexUsed * 2 > index.length)
+            rebuildIndex();
+    }
+
+    @Override
+    public OrderItem remove(ProductId productId) {
+        int entry = index[probe(productId)];
+        if (entry == 0 || quantities[entry - 1] == 0)
+            return null;
+        int slot = entry - 1;
+        OrderItem removed = item(slot);
+        quantities[slot] = 0;
+        if (oversized != null)
+            oversized.remove(slot);
+        live--;
+        if (slots - live > live && slots > MIN_CAPACITY)
+            compact();
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return live;
+    }
+
+    @Override
+    public void forEach(Consumer<? super OrderItem> action) {
+        for (int s = 0; s < slots; s++) {
+            if (quantities[s] != 0)
+                action.accept(item(s));
+        }
+    }
+
+    @Override
+    public OrderLines copy() {
+        return new ColumnarOrderLines(this);
+    }
+
+    private OrderItem item(int slot) {
+        return new OrderItem(products[slot], new Quantity(quantities[slot]), price(slot));
+    }
+
+    private Money price(int slot) {
+        if (oversized != null) {
+            Money big = oversized.get(slot);
+            if (big != null)
+                return big;
+        }
+        return Money.ofMinorUnits(prices[slot], currencies[currencyRefs[slot] & 0xFF]);
+    }
+
+    private void set(int slot, OrderItem item) {
+        Money price = item.getUnitPrice();
+        quantities[slot] = item.getQuantity().getValue();
+        currencyRefs[slot] = currencyRef(price.getCurrency());
+        if (price.hasMinorUnits()) {
+            prices[slot] = price.getMinorUnits();
+            if (oversized != null)
+                oversized.remove(slot);
+        } else {
+            prices[slot] = 0;
+            if (oversized == null)
+                oversized = new HashMap<>();
+            oversized.put(slot, price);
+        }
+    }
+
+    private int append(OrderItem item) {
+        if (slots == quantities.length)
+            resize(slots * 2);
+        products[slots] = item.getProductId();
+        set(slots, item);
+        return slots++;
+    }
+
+    private byte currencyRef(Currency currency) {
+        for (int i = 0; i < currencyCount; i++) {
+            if (currencies[i] == currency)
+                return (byte) i;
+        }
+        if (currencyCount == currencies.length)
+            currencies = Arrays.copyOf(currencies, currencyCount * 2);
+        currencies[currencyCount] = currency;
+        return (byte) currencyCount++;
+    }
+
+    // Posición del producto en el índice, o la primera libre de su cadena. Las
+    // líneas borradas conservan su producto hasta compactar.
+    private int probe(ProductId productId) {
+        int mask = index.length - 1;
+        for (int i = spread(productId.hashCode()) & mask;; i = (i + 1) & mask) {
+            int entry = index[i];
+            if (entry == 0 || productId.equals(products[entry - 1]))
+                return i;
+        }
+    }
+
+    private void resize(int capacity) {
+        products = Arrays.copyOf(products, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        currencyRefs = Arrays.copyOf(currencyRefs, capacity);
+    }
+
+    // Reconstruye el índice solo con las líneas vivas (descarta las entradas borradas)
+    private void rebuildIndex() {
+        index = new int[indexCapacity(live * 2)];
+        int mask = index.length - 1;
+        for (int s = 0; s < slots; s++) {
+            if (quantities[s] == 0)
+                continue;
+            int i = spread(products[s].hashCode()) & mask;
+            while (index[i] != 0)
+                i = (i + 1) & mask;
+            index[i] = s + 1;
+        }
+        indexUsed = live;
+    }
+
+    // Mueve las líneas vivas al principio, en orden, y reconstruye el índice
+    private void compact() {
+        int target = 0;
+        Map<Integer, Money> moved = oversized == null || oversized.isEmpty() ? null : new HashMap<>();
+        for (int s = 0; s < slots; s++) {
+            if (quantities[s] == 0)
+                continue;
+            products[target] = products[s];
+            quantities[target] = quantities[s];
+            prices[target] = prices[s];
+            currencyRefs[target] = currencyRefs[s];
+            if (moved != null && oversized.containsKey(s))
+                moved.put(target, oversized.get(s));
+            target++;
+        }
+        Arrays.fill(products, target, slots, null);
+        Arrays.fill(quantities, target, slots, 0);
+        slots = target;
+        oversized = moved;
+        rebuildIndex();
+    }
+
+    private static int indexCapacity(int lines) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < lines * 2)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pedidos.domain.entities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+
+/**
+ * Líneas en un LinkedHashMap: la representación de los pedidos pequeños.
+ */
+final class MapOrderLines implements OrderLines {
+    private final Map<ProductId, OrderItem> items = new LinkedHashMap<>();
+
+    @Override
+    public OrderItem find(ProductId productId) {
+        return items.get(productId);
+    }
+
+    @Override
+    public void put(OrderItem item) {
+        items.put(item.getProductId(), item);
+    }
+
+    @Override
+    public OrderItem remove(ProductId productId) {
+        return items.remove(productId);
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public void forEach(Consumer<? super OrderItem> action) {
+        items.values().forEach(action);
+    }
+
+    @Override
+    public OrderLines copy() {
+        MapOrderLines copy = new MapOrderLines();
+        copy.items.putAll(items);
+        return copy;
+    }
+}
@@ -1,12 +1,13 @@
 package com.pedidos.domain.entities;
 
-import java.time.Instant;
+import java.time.InstantSource;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import com.pedidos.domain.events.ItemAddedEvent;
 import com.pedidos.domain.events.ItemRemovedEvent;
@@ -20,20 +21,48 @@ import com.pedidos.domain.valueobjects.ProductId;
 
 /**
  * Aggregate root for Order. No frameworks used — plain Java entity with domain
- * events list.
+ * events list. Event timestamps come from the InstantSource given to create
+ * (the system clock by default).
  */
 public class Order {
     private final OrderId id;
-    private final Map<ProductId, OrderItem> items = new LinkedHashMap<>();
+    private final InstantSource clock;
+    // LinkedHashMap hasta COLUMNAR_THRESHOLD líneas, columnas a partir de ahí
+    private OrderLines items = new MapOrderLines();
+    // Totales por moneda mantenidos en addItem/removeItem; una moneda sin
+    // líneas no tiene entrada (Money no admite cero)
+    private final Map<Currency, Money> totals = new LinkedHashMap<>();
     private final List<Object> domainEvents = new ArrayList<>();
 
-    private Order(OrderId id) {
+    private Order(OrderId id, InstantSource clock) {
         this.id = Objects.requireNonNull(id, "order id must not be null");
-        domainEvents.add(new OrderCreatedEvent(id, Instant.now()));
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        domainEvents.add(new OrderCreatedEvent(id, clock.instant()));
+    }
+
+    // Copia profunda: líneas (inmutables) y eventos pendientes
+    private Order(Order source) {
+        this.id = source.id;
+        this.clock = source.clock;
+        this.items = source.items.copy();
+        this.totals.putAll(source.totals);
+        this.domainEvents.addAll(source.domainEvents);
     }
 
     public static Order create(OrderId id) {
-        return new Order(id);
+        return new Order(id, InstantSource.system());
+    }
+
+    public static Order create(OrderId id, InstantSource clock) {
+        return new Order(id, clock);
+    }
+
+    /**
+     * Copia independiente del pedido: los cambios en la copia no afectan al
+     * original ni al revés.
+     */
+    public Order copy() {
+        return new Order(this);
     }
 
     public OrderId getId() {
@@ -41,7 +70,17 @@ public class Order {
     }
 
     public List<OrderItem> getItems() {
-        return Collections.unmodifiableList(new ArrayList<>(items.values()));
+        List<OrderItem> list = new ArrayList<>(items.size());
+        items.forEach(list::add);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Recorre las líneas en orden de inserción sin copiar la colección.
+     */
+    public void forEachItem(Consumer<? super OrderItem> action) {
+        Objects.requireNonNull(action);
+        items.forEach(action);
     }
 
     public List<Object> pullDomainEvents() {
@@ -53,34 +92,52 @@ public class Order {
     public void addItem(OrderItem item) {
         Objects.requireNonNull(item);
         ProductId pid = item.getProductId();
-        if (items.containsKey(pid)) {
-            OrderItem existing = items.get(pid);
+        OrderItem existing = items.find(pid);
+        if (existing != null) {
             OrderItem merged = existing.increaseQuantity(item.getQuantity());
-            items.put(pid, merged);
+            items.put(merged);
+            // la línea fusionada conserva el precio existente
+            addToTotals(existing.getUnitPrice().multiply(item.getQuantity().getValue()));
         } else {
-            items.put(pid, item);
+            items.put(item);
+            addToTotals(item.total());
+            if (items instanceof MapOrderLines && items.size() > OrderLines.COLUMNAR_THRESHOLD)
+                items = ColumnarOrderLines.from(items);
         }
-        domainEvents.add(new ItemAddedEvent(id, pid, item.getQuantity(), item.getUnitPrice(), Instant.now()));
+        domainEvents.add(new ItemAddedEvent(id, pid, item.getQuantity(), item.getUnitPrice(), clock.instant()));
     }
 
     public void removeItem(ProductId productId) {
         Objects.requireNonNull(productId);
-        if (items.remove(productId) != null) {
-            domainEvents.add(new ItemRemovedEvent(id, productId, Instant.now()));
+        OrderItem removed = items.remove(productId);
+        if (removed != null) {
+            subtractFromTotals(removed.total());
+            domainEvents.add(new ItemRemovedEvent(id, productId, clock.instant()));
         }
     }
 
     /**
-     * Calcula los totales agrupados por moneda.
+     * Devuelve los totales agrupados por moneda. Se mantienen al añadir y quitar
+     * líneas, así que solo se copian (O(monedas)); el resultado es una foto que
+     * no cambia con modificaciones posteriores del pedido.
      */
     public Map<Currency, Money> totalsByCurrency() {
-        Map<Currency, Money> totals = new LinkedHashMap<>();
-        for (OrderItem item : items.values()) {
-            Money lineTotal = item.total();
-            Currency cur = lineTotal.getCurrency();
-            totals.merge(cur, lineTotal, (a, b) -> a.add(b));
+        Map<Currency, Money> snapshot = new LinkedHashMap<>(totals);
+        domainEvents.add(new OrderTotalsCalculatedEvent(id, snapshot, clock.instant()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private void addToTotals(Money amount) {
+        totals.merge(amount.getCurrency(), amount, Money::add);
+    }
+
+    private void subtractFromTotals(Money amount) {
+        Currency cur = amount.getCurrency();
+        Money current = totals.get(cur);
+        if (current.equals(amount)) {
+            totals.remove(cur);
+        } else {
+            totals.put(cur, current.subtract(amount));
         }
-        domainEvents.add(new OrderTotalsCalculatedEvent(id, totals, Instant.now()));
-        return Collections.unmodifiableMap(totals);
     }
 }
@@ -0,0 +1,37 @@
+package com.pedidos.domain.entities;
+
+import java.util.function.Consumer;
+
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+
+/**
+ * Almacenamiento de las líneas de un Order, una por producto, en orden de
+ * inserción (como LinkedHashMap: reemplazar una línea conserva su posición,
+ * quitarla y volver a añadirla la lleva al final).
+ *
+ * Order empieza con MapOrderLines y pasa a ColumnarOrderLines al superar
+ * COLUMNAR_THRESHOLD líneas; el cambio no es visible desde fuera del agregado.
+ */
+interface OrderLines {
+
+    int COLUMNAR_THRESHOLD = 256;
+
+    OrderItem find(ProductId productId);
+
+    /**
+     * Añade la línea o reemplaza la del mismo producto.
+     */
+    void put(OrderItem item);
+
+    /**
+     * Quita la línea del producto y la devuelve, o null si no había.
+     */
+    OrderItem remove(ProductId productId);
+
+    int size();
+
+    void forEach(Consumer<? super OrderItem> action);
+
+    OrderLines copy();
+}
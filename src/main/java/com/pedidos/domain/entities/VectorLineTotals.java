@@ -0,0 +1,88 @@
+package com.pedidos.domain.entities;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel de LineTotals con la Vector API (incubadora). Solo se carga si la
+ * JVM arranca con --add-modules jdk.incubator.vector.
+ *
+ * - Rangos de una sola moneda (lo normal en un pedido grande): producto y
+ * suma por carriles con el ancho preferido de la CPU; las cantidades (int) se
+ * ensanchan a long.
+ * - Exactitud: en la misma pasada se llevan el precio y la cantidad máximos;
+ * si n * maxPrecio * maxCantidad no cabe en un long el resultado podría haber
+ * desbordado y se descarta (devuelve false y LineTotals usa el escalar, que
+ * detecta el desbordamiento de verdad).
+ * - Rangos con varias monedas: false, también van por el escalar.
+ */
+final class VectorLineTotals implements LineTotals.VectorKernel {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(int.class,
+            VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean sumInto(long[] prices, int[] quantities, byte[] currencyRefs, int from, int to, long[] sums) {
+        if (to - from < LONGS.length())
+            return false;
+        byte currency = currencyRefs[from];
+        if (!singleCurrency(currencyRefs, from, to, currency))
+            return false;
+
+        LongVector acc = LongVector.zero(LONGS);
+        LongVector maxPrice = LongVector.zero(LONGS);
+        LongVector maxQuantity = LongVector.zero(LONGS);
+        int upper = from + LONGS.loopBound(to - from);
+        for (int i = from; i < upper; i += LONGS.length()) {
+            LongVector price = LongVector.fromArray(LONGS, prices, i);
+            LongVector quantity = (LongVector) IntVector.fromArray(INTS, quantities, i)
+                    .convertShape(VectorOperators.I2L, LONGS, 0);
+            acc = acc.add(price.mul(quantity));
+            maxPrice = maxPrice.max(price);
+            maxQuantity = maxQuantity.max(quantity);
+        }
+        if (!fits(upper - from, maxPrice.reduceLanes(VectorOperators.MAX),
+                maxQuantity.reduceLanes(VectorOperators.MAX)))
+            return false;
+
+        long[] tail = new long[sums.length];
+        if (!LineTotals.scalarInto(prices, quantities, currencyRefs, upper, to, tail))
+            return false;
+        int c = currency & 0xFF;
+        try {
+            long total = Math.addExact(Math.addExact(sums[c], acc.reduceLanes(VectorOperators.ADD)), tail[c]);
+            sums[c] = total;
+        } catch (ArithmeticException overflow) {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean singleCurrency(byte[] currencyRefs, int from, int to, byte currency) {
+        int i = from;
+        int upper = from + BYTES.loopBound(to - from);
+        for (; i < upper; i += BYTES.length()) {
+            if (ByteVector.fromArray(BYTES, currencyRefs, i).compare(VectorOperators.NE, currency).anyTrue())
+                return false;
+        }
+        for (; i < to; i++) {
+            if (currencyRefs[i] != currency)
+                return false;
+        }
+        return true;
+    }
+
+    // n productos de como mucho maxPrice * maxQuantity (todos >= 0) no desbordan
+    private static boolean fits(long n, long maxPrice, long maxQuantity) {
+        if (maxPrice == 0 || maxQuantity == 0)
+            return true;
+        if (maxPrice > Long.MAX_VALUE / maxQuantity)
+            return false;
+        return maxPrice * maxQuantity <= Long.MAX_VALUE / n;
+    }
+}
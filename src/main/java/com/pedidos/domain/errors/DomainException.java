@@ -1,11 +1,20 @@
 package com.pedidos.domain.errors;
 
+/**
+ * Base de las excepciones de dominio.
+ *
+ * No captura la traza de pila: son errores de validación esperados (datos
+ * del cliente), su mensaje basta para diagnosticarlos y rellenar la traza es
+ * lo más caro de lanzarlas. La causa, si la hay, conserva la suya. Para
+ * validar sin excepciones, los value objects tienen fábricas tryOf que
+ * devuelven un Result.
+ */
 public class DomainException extends RuntimeException {
     public DomainException(String message) {
-        super(message);
+        super(message, null, true, false);
     }
 
     public DomainException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, false);
     }
 }
@@ -1,5 +1,6 @@
 package com.pedidos.domain.events;
 
+import java.io.Serializable;
 import java.time.Instant;
 
 import com.pedidos.domain.valueobjects.Money;
@@ -7,7 +8,8 @@ import com.pedidos.domain.valueobjects.OrderId;
 import com.pedidos.domain.valueobjects.ProductId;
 import com.pedidos.domain.valueobjects.Quantity;
 
-public final class ItemAddedEvent {
+public final class ItemAddedEvent implements OrderEvent, Serializable {
+    private static final long serialVersionUID = 1L;
     private final OrderId orderId;
     private final ProductId productId;
     private final Quantity quantity;
@@ -23,6 +25,7 @@ public final class ItemAddedEvent {
         this.occurredAt = occurredAt;
     }
 
+    @Override
     public OrderId getOrderId() {
         return orderId;
     }
@@ -1,11 +1,13 @@
 package com.pedidos.domain.events;
 
+import java.io.Serializable;
 import java.time.Instant;
 
 import com.pedidos.domain.valueobjects.OrderId;
 import com.pedidos.domain.valueobjects.ProductId;
 
-public final class ItemRemovedEvent {
+public final class ItemRemovedEvent implements OrderEvent, Serializable {
+    private static final long serialVersionUID = 1L;
     private final OrderId orderId;
     private final ProductId productId;
     private final Instant occurredAt;
@@ -16,6 +18,7 @@ public final class ItemRemovedEvent {
         this.occurredAt = occurredAt;
     }
 
+    @Override
     public OrderId getOrderId() {
         return orderId;
     }
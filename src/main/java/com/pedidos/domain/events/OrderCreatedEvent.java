@@ -1,10 +1,12 @@
 package com.pedidos.domain.events;
 
+import java.io.Serializable;
 import java.time.Instant;
 
 import com.pedidos.domain.valueobjects.OrderId;
 
-public final class OrderCreatedEvent {
+public final class OrderCreatedEvent implements OrderEvent, Serializable {
+    private static final long serialVersionUID = 1L;
     private final OrderId orderId;
     private final Instant createdAt;
 
@@ -13,6 +15,7 @@ public final class OrderCreatedEvent {
         this.createdAt = createdAt;
     }
 
+    @Override
     public OrderId getOrderId() {
         return orderId;
     }
@@ -1,5 +1,6 @@
 package com.pedidos.domain.events;
 
+import java.io.Serializable;
 import java.time.Instant;
 
 import com.pedidos.domain.valueobjects.OrderId;
@@ -7,7 +8,8 @@ import com.pedidos.domain.valueobjects.OrderId;
 /**
  * Domain event emitted when an order is deleted.
  */
-public final class OrderDeletedEvent {
+public final class OrderDeletedEvent implements OrderEvent, Serializable {
+    private static final long serialVersionUID = 1L;
     private final OrderId orderId;
     private final Instant deletedAt;
     private final String reason; // optional reason for deletion
@@ -18,6 +20,7 @@ public final class OrderDeletedEvent {
         this.reason = reason;
     }
 
+    @Override
     public OrderId getOrderId() {
         return orderId;
     }
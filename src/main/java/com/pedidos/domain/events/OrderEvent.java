@@ -0,0 +1,12 @@
+package com.pedidos.domain.events;
+
+import com.pedidos.domain.valueobjects.OrderId;
+
+/**
+ * Common contract of the domain events that belong to a single order. The
+ * order id is the key used to keep per-order ordering when events are
+ * dispatched.
+ */
+public interface OrderEvent {
+    OrderId getOrderId();
+}
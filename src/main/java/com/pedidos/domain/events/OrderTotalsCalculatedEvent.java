@@ -1,30 +1,35 @@
 package com.pedidos.domain.events;
 
+import java.io.Serializable;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import com.pedidos.domain.valueobjects.Currency;
 import com.pedidos.domain.valueobjects.Money;
 import com.pedidos.domain.valueobjects.OrderId;
 
-public final class OrderTotalsCalculatedEvent {
+public final class OrderTotalsCalculatedEvent implements OrderEvent, Serializable {
+    private static final long serialVersionUID = 1L;
     private final OrderId orderId;
-    private final Map<Currency, Money> totalsByCurrency;
+    // copia en un tipo serializable concreto; el getter la expone sin modificar
+    private final LinkedHashMap<Currency, Money> totalsByCurrency;
     private final Instant occurredAt;
 
     public OrderTotalsCalculatedEvent(OrderId orderId, Map<Currency, Money> totalsByCurrency, Instant occurredAt) {
         this.orderId = orderId;
-        this.totalsByCurrency = Collections.unmodifiableMap(totalsByCurrency);
+        this.totalsByCurrency = new LinkedHashMap<>(totalsByCurrency);
         this.occurredAt = occurredAt;
     }
 
+    @Override
     public OrderId getOrderId() {
         return orderId;
     }
 
     public Map<Currency, Money> getTotalsByCurrency() {
-        return totalsByCurrency;
+        return Collections.unmodifiableMap(totalsByCurrency);
     }
 
     public Instant getOccurredAt() {
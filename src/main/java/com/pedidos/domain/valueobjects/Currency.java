@@ -1,63 +1,171 @@
 package com.pedidos.domain.valueobjects;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+
+import com.pedidos.domain.errors.DomainException;
+import com.pedidos.domain.errors.InvalidCurrencyException;
+import com.pedidos.shared.result.Result;
 
 /**
- * Value object representing a currency code. Currently only supports EUR and
- * USD.
- * You can extend supported currencies by adding codes to SUPPORTED.
+ * Value object representing an ISO 4217 currency code.
+ *
+ * The registry is built once from the ISO 4217 data shipped with the JDK:
+ * there is exactly one instance per code (also after deserialization), so
+ * equality is an identity check. Codes without minor units (precious metals,
+ * testing codes such as XXX) are not supported because they are not money.
  */
-public final class Currency {
-    private static final Set<String> SUPPORTED;
+public final class Currency implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // índice directo por las tres letras del código: 26^3 entradas
+    private static final int ALPHABET = 26;
+    private static final Currency[] REGISTRY = new Currency[ALPHABET * ALPHABET * ALPHABET];
+    private static final List<Currency> ALL;
+
+    private static final Currency EUR;
+    private static final Currency USD;
+
+    private static final String NULL_CODE = "currency code must not be null";
+
     private final String code;
+    private final transient int minorDigits;
 
     static {
-        Set<String> s = new HashSet<>();
-        s.add("EUR");
-        s.add("USD");
-        SUPPORTED = Collections.unmodifiableSet(s); // wrapper - evita modificaciones externas
-        // wrapper es un objeto inmutable que previene cambios en el conjunto original
-        // no se pueden agregar ni eliminar elementos
-        // garantiza que SUPPORTED siempre contenga los mismos valores
+        List<Currency> all = new ArrayList<>();
+        for (java.util.Currency iso : java.util.Currency.getAvailableCurrencies()) {
+            String code = iso.getCurrencyCode();
+            int digits = iso.getDefaultFractionDigits();
+            int slot = slot(code);
+            if (digits < 0 || slot < 0)
+                continue;
+            Currency c = new Currency(code, digits);
+            REGISTRY[slot] = c;
+            all.add(c);
+        }
+        all.sort((a, b) -> a.code.compareTo(b.code));
+        ALL = Collections.unmodifiableList(all);
+        EUR = REGISTRY[slot("EUR")];
+        USD = REGISTRY[slot("USD")];
     }
 
-    private Currency(String code) {
+    private Currency(String code, int minorDigits) {
         this.code = code;
+        this.minorDigits = minorDigits;
     }
 
-    // of -factory controlada de Currency
-    public static Currency of(String code) {
+    /**
+     * of - factory controlada de Currency. Ignora espacios alrededor y
+     * mayúsculas/minúsculas; no reserva memoria salvo para el mensaje de error.
+     */
+    public static Currency of(CharSequence code) {
         if (code == null)
-            throw new com.pedidos.domain.errors.InvalidCurrencyException("currency code must not be null");
-        String normalized = code.trim().toUpperCase();
-        if (!SUPPORTED.contains(normalized)) {
-            throw new com.pedidos.domain.errors.InvalidCurrencyException("Unsupported currency: " + normalized);
-        }
-        return new Currency(normalized);
+            throw new InvalidCurrencyException(NULL_CODE);
+        Currency c = find(code);
+        if (c == null)
+            throw new InvalidCurrencyException(unsupported(code));
+        return c;
+    }
+
+    /**
+     * Like of(), but an unknown code is returned as a failure instead of
+     * thrown.
+     */
+    public static Result<Currency, DomainException> tryOf(CharSequence code) {
+        if (code == null)
+            return Result.fail(new InvalidCurrencyException(NULL_CODE));
+        Currency c = find(code);
+        if (c == null)
+            return Result.fail(new InvalidCurrencyException(unsupported(code)));
+        return Result.ok(c);
     }
 
     public static Currency EUR() {
-        return new Currency("EUR");
+        return EUR;
     }
 
     public static Currency USD() {
-        return new Currency("USD");
+        return USD;
+    }
+
+    /**
+     * All supported currencies, ordered by code.
+     */
+    public static List<Currency> values() {
+        return ALL;
     }
 
     public String getCode() {
         return code;
     }
 
+    /**
+     * Number of decimals of the minor unit (2 for EUR, 0 for JPY, 3 for BHD).
+     */
+    public int getMinorDigits() {
+        return minorDigits;
+    }
+
+    // Sin espacios alrededor y sin distinguir mayúsculas; null si no es un código soportado
+    private static Currency find(CharSequence code) {
+        int start = 0;
+        int end = code.length();
+        while (start < end && code.charAt(start) <= ' ')
+            start++;
+        while (end > start && code.charAt(end - 1) <= ' ')
+            end--;
+        return end - start == 3 ? lookup(code, start) : null;
+    }
+
+    private static String unsupported(CharSequence code) {
+        return "Unsupported currency: " + code.toString().trim().toUpperCase();
+    }
+
+    private static Currency lookup(CharSequence code, int from) {
+        int index = index(code, from);
+        return index < 0 ? null : REGISTRY[index];
+    }
+
+    private static int slot(String code) {
+        return code.length() == 3 ? index(code, 0) : -1;
+    }
+
+    private static int index(CharSequence code, int from) {
+        int index = 0;
+        for (int i = from; i < from + 3; i++) {
+            int letter = letter(code.charAt(i));
+            if (letter < 0)
+                return -1;
+            index = index * ALPHABET + letter;
+        }
+        return index;
+    }
+
+    // 'A'..'Z' o 'a'..'z' -> 0..25; cualquier otro carácter -> -1
+    private static int letter(char ch) {
+        if (ch >= 'A' && ch <= 'Z')
+            return ch - 'A';
+        if (ch >= 'a' && ch <= 'z')
+            return ch - 'a';
+        return -1;
+    }
+
+    // Mantiene una sola instancia por código también al deserializar
+    private Object readResolve() throws ObjectStreamException {
+        int slot = code == null ? -1 : slot(code);
+        Currency canonical = slot < 0 ? null : REGISTRY[slot];
+        if (canonical == null)
+            throw new InvalidObjectException("Unsupported currency: " + code);
+        return canonical;
+    }
+
     @Override
     public boolean equals(Object o) {
-        if (this == o)
-            return true;
-        if (o == null || getClass() != o.getClass())
-            return false;
-        Currency currency = (Currency) o;
-        return code.equals(currency.code);
+        return this == o;
     }
 
     @Override
@@ -1,46 +1,106 @@
 package com.pedidos.domain.valueobjects;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Objects;
 
+import com.pedidos.domain.errors.DomainException;
 import com.pedidos.domain.errors.InvalidMoneyException;
 import com.pedidos.domain.errors.InvalidMoneyOperationException;
+import com.pedidos.shared.result.Result;
 
 /**
  * Value object representing an amount of money in a given Currency.
  * Invariants:
- * - amount non-null
+ * - amount non-null and greater than zero
  * - currency non-null
- * - scale is normalized (uses BigDecimal's canonical representation)
+ * - amount rounded to the currency's minor digits (HALF_EVEN): 2 for EUR, 0
+ * for JPY, 3 for BHD
+ *
+ * Representation: the amount is kept as exact minor units (cents, fils...) in
+ * a long; add, subtract and multiply work on longs with overflow checks and
+ * only fall back to BigDecimal for amounts that do not fit. Amounts that fit in a long
+ * are always stored as minor units, so equality never mixes both forms.
  */
-public final class Money {
-    private final BigDecimal amount;
-    private final Currency currency;
+public final class Money implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String NOT_POSITIVE = "Amount must be be greater than zero";
+
+    // Same serialized form as when Money held a BigDecimal amount
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("amount", BigDecimal.class),
+            new ObjectStreamField("currency", Currency.class) };
+
+    // Only assigned by the constructors and readObject
+    private long minor;
+    private BigDecimal big; // null unless the amount overflows a long of minor units
+    private Currency currency;
 
     public Money(BigDecimal amount, Currency currency) {
         if (amount == null)
             throw new InvalidMoneyException("amount must not be null");
         if (currency == null)
             throw new InvalidMoneyException("currency must not be null");
+        init(amount.setScale(currency.getMinorDigits(), RoundingMode.HALF_EVEN), currency);
+    }
 
-        BigDecimal normalized = amount.setScale(2, RoundingMode.HALF_EVEN);
-        if (normalized.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new InvalidMoneyException("Amount must be be greater than zero");
-        }
+    private Money(long minor, Currency currency) {
+        if (minor <= 0)
+            throw new InvalidMoneyException(NOT_POSITIVE);
+        this.minor = minor;
+        this.currency = currency;
+    }
 
-        this.amount = normalized;
+    private void init(BigDecimal normalized, Currency currency) {
+        if (normalized.signum() <= 0) {
+            throw new InvalidMoneyException(NOT_POSITIVE);
+        }
+        if (normalized.unscaledValue().bitLength() < Long.SIZE) {
+            this.minor = normalized.unscaledValue().longValue();
+        } else {
+            this.big = normalized;
+        }
         this.currency = currency;
     }
 
+    /**
+     * Like the constructor, but an invalid amount or currency is returned as a
+     * failure instead of thrown.
+     */
+    public static Result<Money, DomainException> tryOf(BigDecimal amount, Currency currency) {
+        if (amount == null)
+            return Result.fail(new InvalidMoneyException("amount must not be null"));
+        if (currency == null)
+            return Result.fail(new InvalidMoneyException("currency must not be null"));
+        BigDecimal normalized = amount.setScale(currency.getMinorDigits(), RoundingMode.HALF_EVEN);
+        if (normalized.signum() <= 0)
+            return Result.fail(new InvalidMoneyException(NOT_POSITIVE));
+        return Result.ok(new Money(normalized, currency)); // already scaled: setScale returns it as is
+    }
+
     /**
      * Create money from a numeric amount (interpreted as major units). The amount
-     * will be rounded to 2 decimals.
+     * will be rounded to the currency's minor digits.
      */
     public static Money of(long amount, Currency currency) {
         return new Money(BigDecimal.valueOf(amount), currency);
     }
 
+    /**
+     * Create money from an exact amount in minor units (cents for EUR).
+     */
+    public static Money ofMinorUnits(long minorUnits, Currency currency) {
+        if (currency == null)
+            throw new InvalidMoneyException("currency must not be null");
+        return new Money(minorUnits, currency);
+    }
+
     public static Money zero(Currency currency) {
         if (currency == null)
             throw new InvalidMoneyException("currency must not be null");
@@ -48,26 +108,60 @@ public final class Money {
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        return big != null ? big : BigDecimal.valueOf(minor, currency.getMinorDigits());
     }
 
     public Currency getCurrency() {
         return currency;
     }
 
+    /**
+     * Whether the amount fits in a long of minor units; false only for amounts
+     * beyond Long.MAX_VALUE cents.
+     */
+    public boolean hasMinorUnits() {
+        return big == null;
+    }
+
+    /**
+     * Exact amount in minor units.
+     *
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public long getMinorUnits() {
+        if (big != null)
+            throw new ArithmeticException("Amount does not fit in a long of minor units: " + big);
+        return minor;
+    }
+
     public Money add(Money other) {
         ensureSameCurrency(other);
-        return new Money(this.amount.add(other.amount), this.currency);
+        if (big == null && other.big == null) {
+            long r = minor + other.minor;
+            // overflow iff both operands have the sign opposite to the result
+            if (((minor ^ r) & (other.minor ^ r)) >= 0)
+                return new Money(r, currency);
+        }
+        return new Money(getAmount().add(other.getAmount()), currency);
     }
 
     public Money subtract(Money other) {
         ensureSameCurrency(other);
-        return new Money(this.amount.subtract(other.amount), this.currency);
+        if (big == null && other.big == null) {
+            // both positive: the difference cannot overflow
+            return new Money(minor - other.minor, currency);
+        }
+        return new Money(getAmount().subtract(other.getAmount()), currency);
     }
 
     public Money multiply(int factor) {
-        return new Money(this.amount.multiply(BigDecimal.valueOf(factor)).setScale(2, RoundingMode.HALF_EVEN),
-                this.currency);
+        if (big == null) {
+            long lo = minor * factor;
+            long hi = Math.multiplyHigh(minor, factor);
+            if ((hi == 0 && lo >= 0) || (hi == -1 && lo < 0))
+                return new Money(lo, currency);
+        }
+        return new Money(getAmount().multiply(BigDecimal.valueOf(factor)), currency);
     }
 
     private void ensureSameCurrency(Money other) {
@@ -84,16 +178,40 @@ public final class Money {
         if (o == null || getClass() != o.getClass())
             return false;
         Money money = (Money) o;
-        return amount.compareTo(money.amount) == 0 && currency.equals(money.currency);
+        if (!currency.equals(money.currency))
+            return false;
+        if (big == null || money.big == null)
+            return big == money.big && minor == money.minor;
+        return big.compareTo(money.big) == 0;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(amount.stripTrailingZeros(), currency);
+        return 31 * (big != null ? big.hashCode() : Long.hashCode(minor)) + currency.hashCode();
     }
 
     @Override
     public String toString() {
-        return "Money{" + amount + ' ' + currency.getCode() + '}';
+        return "Money{" + getAmount() + ' ' + currency.getCode() + '}';
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("amount", getAmount());
+        fields.put("currency", currency);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        BigDecimal amount = (BigDecimal) fields.get("amount", null);
+        Currency cur = (Currency) fields.get("currency", null);
+        if (amount == null || cur == null)
+            throw new InvalidObjectException("amount and currency are required");
+        try {
+            init(amount.setScale(cur.getMinorDigits(), RoundingMode.HALF_EVEN), cur);
+        } catch (InvalidMoneyException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
     }
 }
@@ -1,12 +1,14 @@
 package com.pedidos.domain.valueobjects;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Value object wrapping a UUID for orders.
  */
-public final class OrderId {
+public final class OrderId implements Serializable {
+    private static final long serialVersionUID = 1L;
     private final UUID id;
 
     public OrderId(UUID id) {
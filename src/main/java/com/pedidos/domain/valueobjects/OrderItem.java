@@ -1,12 +1,14 @@
 package com.pedidos.domain.valueobjects;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 /**
  * Value object representing a line in an order: product, quantity and unit
  * price.
  */
-public final class OrderItem {
+public final class OrderItem implements Serializable {
+    private static final long serialVersionUID = 1L;
     private final ProductId productId;
     private final Quantity quantity;
     private final Money unitPrice;
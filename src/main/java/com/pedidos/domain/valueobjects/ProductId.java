@@ -1,24 +1,89 @@
 package com.pedidos.domain.valueobjects;
 
+import java.io.Serializable;
+
+import com.pedidos.domain.errors.DomainException;
+import com.pedidos.domain.errors.InvalidProductIdException;
+import com.pedidos.shared.result.Result;
+
 /**
  * Simple value object for product identity.
+ *
+ * ProductId.of() returns the canonical instance from a shared, bounded
+ * ProductIdDictionary, so the same SKU is one object (and one String) across
+ * orders, events and caches. Interned ids carry a unique integer code; ids
+ * built with the constructor, or when the dictionary is full, have no code and
+ * compare by value.
  */
-public final class ProductId {
+public final class ProductId implements Serializable {
+    private static final long serialVersionUID = 1L;
+    static final int NO_CODE = -1;
+    private static final String NULL_ID = "product id must not be null";
+    private static final String EMPTY_ID = "product id must not be empty";
+
+    private static final ProductIdDictionary DICTIONARY = new ProductIdDictionary(
+            ProductIdDictionary.DEFAULT_MAX_ENTRIES);
+
     private final String id;
+    private final transient int code;
 
     public ProductId(String id) {
+        this(normalize(id), NO_CODE);
+    }
+
+    ProductId(String normalized, int code) {
+        this.id = normalized;
+        this.code = code;
+    }
+
+    /**
+     * Canonical (interned) product id.
+     */
+    public static ProductId of(String id) {
+        return DICTIONARY.intern(normalize(id));
+    }
+
+    /**
+     * Like of(), but an invalid id is returned as a failure instead of thrown.
+     */
+    public static Result<ProductId, DomainException> tryOf(String id) {
+        if (id == null)
+            return Result.fail(new InvalidProductIdException(NULL_ID));
+        String trimmed = id.trim();
+        if (trimmed.isEmpty())
+            return Result.fail(new InvalidProductIdException(EMPTY_ID));
+        return Result.ok(DICTIONARY.intern(trimmed));
+    }
+
+    public static ProductIdDictionary dictionary() {
+        return DICTIONARY;
+    }
+
+    private static String normalize(String id) {
         if (id == null)
-            throw new com.pedidos.domain.errors.InvalidProductIdException("product id must not be null");
+            throw new InvalidProductIdException(NULL_ID);
         String trimmed = id.trim();
         if (trimmed.isEmpty())
-            throw new com.pedidos.domain.errors.InvalidProductIdException("product id must not be empty");
-        this.id = trimmed;
+            throw new InvalidProductIdException(EMPTY_ID);
+        return trimmed;
     }
 
     public String getId() {
         return id;
     }
 
+    /**
+     * Integer code of an interned id, or -1 if it is not interned.
+     */
+    public int code() {
+        return code;
+    }
+
+    // Los ids deserializados (eventos en la dead-letter queue) también se internan
+    private Object readResolve() {
+        return of(id);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -26,6 +91,9 @@ public final class ProductId {
         if (o == null || getClass() != o.getClass())
             return false;
         ProductId productId = (ProductId) o;
+        // dos ids internados distintos nunca son iguales: no hace falta comparar el texto
+        if (code != NO_CODE && productId.code != NO_CODE)
+            return false;
         return id.equals(productId.id);
     }
 
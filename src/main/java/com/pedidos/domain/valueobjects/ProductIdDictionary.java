@@ -0,0 +1,131 @@
+package com.pedidos.domain.valueobjects;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diccionario concurrente y acotado de ProductId: una instancia canónica por
+ * SKU, con un código entero único.
+ *
+ * - Las entradas son referencias débiles: un SKU que ya no aparece en ningún
+ * pedido, evento o caché desaparece con el siguiente GC.
+ * - Como mucho maxEntries SKUs vivos a la vez (app.products.dictionary-max-entries);
+ * por encima, of() devuelve instancias sin internar (código -1), así que una
+ * avalancha de SKUs desconocidos no hace crecer el diccionario.
+ * - El código de una entrada recogida por el GC vuelve a usarse: ya no queda
+ * ninguna instancia con él, así que entre los ProductId vivos dos internados
+ * son iguales si y solo si tienen el mismo código. Los códigos en uso no
+ * pasan de maxEntries más los de las entradas pendientes de recoger.
+ */
+public final class ProductIdDictionary {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private static final class Entry extends WeakReference<ProductId> {
+        private final String key;
+        private final int code;
+
+        Entry(String key, ProductId value, ReferenceQueue<ProductId> queue) {
+            super(value, queue);
+            this.key = key;
+            this.code = value.code();
+        }
+    }
+
+    private volatile int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ProductId> collected = new ReferenceQueue<>();
+    private final AtomicInteger nextCode = new AtomicInteger();
+    // códigos de entradas ya recogidas, para reutilizar antes que nextCode
+    private final ConcurrentLinkedQueue<Integer> freeCodes = new ConcurrentLinkedQueue<>();
+
+    public ProductIdDictionary(int maxEntries) {
+        setMaxEntries(maxEntries);
+    }
+
+    /**
+     * Instancia canónica del id (ya validado y sin espacios alrededor).
+     */
+    ProductId intern(String id) {
+        expunge();
+        Entry entry = entries.get(id);
+        ProductId known = entry == null ? null : entry.get();
+        if (known != null)
+            return known;
+        if (entries.size() >= maxEntries)
+            return new ProductId(id, ProductId.NO_CODE);
+
+        int code = takeCode();
+        if (code < 0)
+            return new ProductId(id, ProductId.NO_CODE);
+        while (true) {
+            ProductId created = new ProductId(id, code);
+            Entry mine = new Entry(id, created, collected);
+            Entry current = entries.putIfAbsent(id, mine);
+            if (current == null)
+                return created;
+            ProductId other = current.get();
+            if (other == null && entries.replace(id, current, mine))
+                return created;
+            // mine no ha entrado en el mapa: que el GC no lo encole y libere un
+            // código que se sigue usando
+            mine.clear();
+            Reference.reachabilityFence(created);
+            if (other != null) {
+                freeCodes.offer(code);
+                return other;
+            }
+        }
+    }
+
+    private int takeCode() {
+        Integer free = freeCodes.poll();
+        if (free != null)
+            return free;
+        // solo se agota con más de 2^31 SKUs vivos a la vez (no con rotación):
+        // el contador queda negativo y no se interna nada más
+        return nextCode.getAndUpdate(c -> c < 0 ? c : c + 1);
+    }
+
+    /**
+     * SKUs internados y todavía vivos (aproximado hasta el siguiente GC).
+     */
+    public int size() {
+        expunge();
+        return entries.size();
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Cambia el límite de SKUs vivos. Al bajarlo no se expulsa nada: solo se
+     * dejan de internar SKUs nuevos hasta que el GC baje por debajo.
+     */
+    public void setMaxEntries(int maxEntries) {
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Códigos repartidos hasta ahora (en uso o libres para reutilizar).
+     */
+    int codesIssued() {
+        return nextCode.get();
+    }
+
+    private void expunge() {
+        for (Object ref; (ref = collected.poll()) != null;) {
+            Entry e = (Entry) ref;
+            // aunque otro intern ya la haya sustituido, su ProductId está muerto
+            entries.remove(e.key, e);
+            freeCodes.offer(e.code);
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package com.pedidos.domain.valueobjects;
 
+import java.io.Serializable;
 import java.util.Objects;
 
+import com.pedidos.domain.errors.DomainException;
 import com.pedidos.domain.errors.InvalidQuantityException;
+import com.pedidos.shared.result.Result;
 
 /**
  * Value object representing a quantity (integer > 0).
  */
-public final class Quantity {
+public final class Quantity implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final String NOT_POSITIVE = "Quantity must be > 0";
     private final int value;
 
     public Quantity(int value) {
         if (value <= 0)
-            throw new InvalidQuantityException("Quantity must be > 0");
+            throw new InvalidQuantityException(NOT_POSITIVE);
         this.value = value;
     }
 
+    /**
+     * Like the constructor, but an invalid value is returned as a failure
+     * instead of thrown.
+     */
+    public static Result<Quantity, DomainException> tryOf(int value) {
+        if (value <= 0)
+            return Result.fail(new InvalidQuantityException(NOT_POSITIVE));
+        return Result.ok(new Quantity(value));
+    }
+
     public int getValue() {
         return value;
     }
@@ -0,0 +1,159 @@
+package com.pedidos.infrastructure.adapter.persistence;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Decorador de OrderRepository que agrupa lecturas concurrentes (single
+ * flight).
+ *
+ * - Las llamadas a findById/findViewById/findVersion para un mismo pedido que
+ * llegan mientras hay una carga en curso esperan a esa carga en lugar de ir a
+ * la BD.
+ * - El pedido cargado nunca sale del decorador: cada llamador recibe su propia
+ * copia (Order.copy()), así que modificarla no afecta a los demás. OrderView
+ * es inmutable y se comparte sin copiar.
+ * - save/update/delete sueltan la carga en curso de ese pedido antes y después
+ * de escribir: una carga que empezó durante la escritura puede traer las filas
+ * anteriores, pero ninguna lectura que llega después de que la escritura
+ * vuelva se une a ella.
+ * - Sin caché: al terminar la carga la siguiente lectura vuelve a la BD.
+ */
+public final class CoalescingOrderRepository implements OrderRepository {
+
+    private final OrderRepository delegate;
+    private final SingleFlight<Optional<Order>> orders;
+    private final SingleFlight<Optional<OrderView>> views;
+    private final SingleFlight<Optional<Long>> versions;
+
+    public CoalescingOrderRepository(OrderRepository delegate, MeterRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.orders = new SingleFlight<>("findById", registry);
+        this.views = new SingleFlight<>("findViewById", registry);
+        this.versions = new SingleFlight<>("findVersion", registry);
+    }
+
+    @Override
+    public Result<Optional<Order>, AppError> findById(OrderId id) {
+        return orders.load(id, delegate::findById).map(found -> found.map(Order::copy));
+    }
+
+    @Override
+    public Result<Optional<OrderView>, AppError> findViewById(OrderId id) {
+        return views.load(id, delegate::findViewById);
+    }
+
+    @Override
+    public Result<Optional<Long>, AppError> findVersion(OrderId id) {
+        return versions.load(id, delegate::findVersion);
+    }
+
+    @Override
+    public Result<Void, AppError> save(Order order) {
+        forget(order.getId());
+        try {
+            return delegate.save(order);
+        } finally {
+            forget(order.getId());
+        }
+    }
+
+    @Override
+    public Result<Void, AppError> saveAll(List<Order> orders) {
+        orders.forEach(order -> forget(order.getId()));
+        try {
+            return delegate.saveAll(orders);
+        } finally {
+            orders.forEach(order -> forget(order.getId()));
+        }
+    }
+
+    @Override
+    public Result<Void, AppError> update(Order order) {
+        forget(order.getId());
+        try {
+            return delegate.update(order);
+        } finally {
+            forget(order.getId());
+        }
+    }
+
+    @Override
+    public Result<Void, AppError> delete(OrderId id) {
+        forget(id);
+        try {
+            return delegate.delete(id);
+        } finally {
+            forget(id);
+        }
+    }
+
+    public int inFlight() {
+        return orders.inFlight.size() + views.inFlight.size() + versions.inFlight.size();
+    }
+
+    private void forget(OrderId id) {
+        orders.inFlight.remove(id);
+        views.inFlight.remove(id);
+        versions.inFlight.remove(id);
+    }
+
+    /**
+     * Cargas en curso por pedido y sus métricas
+     * (pedidos.repository.reads{operation, outcome=loaded|coalesced}).
+     */
+    private static final class SingleFlight<V> {
+        private final ConcurrentHashMap<OrderId, CompletableFuture<Result<V, AppError>>> inFlight = new ConcurrentHashMap<>();
+        private final Counter loaded;
+        private final Counter coalesced;
+
+        SingleFlight(String operation, MeterRegistry registry) {
+            this.loaded = counter(registry, operation, "loaded");
+            this.coalesced = counter(registry, operation, "coalesced");
+        }
+
+        private static Counter counter(MeterRegistry registry, String operation, String outcome) {
+            return Counter.builder("pedidos.repository.reads")
+                    .description("Repository reads that went to the database (loaded) or joined a load in flight (coalesced)")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+
+        Result<V, AppError> load(OrderId id, Function<OrderId, Result<V, AppError>> loader) {
+            CompletableFuture<Result<V, AppError>> mine = new CompletableFuture<>();
+            CompletableFuture<Result<V, AppError>> current = inFlight.putIfAbsent(id, mine);
+            if (current != null) {
+                coalesced.increment();
+                return current.join();
+            }
+
+            loaded.increment();
+            try {
+                Result<V, AppError> res = loader.apply(id);
+                mine.complete(res);
+                return res;
+            } catch (RuntimeException ex) {
+                mine.complete(Result.fail(new InfraError("Order load failed: " + ex.getMessage(), ex)));
+                throw ex;
+            } finally {
+                inFlight.remove(id, mine);
+            }
+        }
+    }
+}
@@ -9,23 +9,43 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
+import org.springframework.data.domain.Persistable;
+
+/**
+ * El id lo asigna la aplicación, así que Spring Data no puede deducir si la
+ * entidad es nueva: sin Persistable, save/saveAll harían merge (un SELECT por
+ * pedido). Las entidades creadas por el adapter son nuevas hasta que se
+ * persisten o se cargan.
+ */
 @Entity
 @Table(name = "orders")
-public class OrderEntity {
+public class OrderEntity implements Persistable<String> {
     @Id
     private String id;
 
+    @Transient
+    private boolean isNew = true;
+
     @Column(name = "created_at")
     private Instant createdAt;
 
+    // Incrementada por el adapter en cada escritura; alimenta el ETag. No es
+    // @Version: los cambios en items (lado inverso) no la incrementarían.
+    @Column(name = "version", nullable = false)
+    private long version = 1;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<OrderItemEntity> items = new LinkedHashSet<>();
 
     public OrderEntity() {
     }
 
+    @Override
     public String getId() {
         return id;
     }
@@ -34,6 +54,17 @@ public class OrderEntity {
         this.id = id;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -42,6 +73,14 @@ public class OrderEntity {
         this.createdAt = createdAt;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public Set<OrderItemEntity> getItems() {
         return items;
     }
@@ -10,13 +10,18 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "order_items")
 public class OrderItemEntity {
+    // SEQUENCE y no IDENTITY: con IDENTITY Hibernate necesita el id de cada
+    // INSERT y no puede agruparlos. allocationSize debe coincidir con el
+    // INCREMENT BY de la secuencia (006_order_items_id_allocation.sql).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_id")
+    @SequenceGenerator(name = "order_items_id", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -28,7 +33,7 @@ public class OrderItemEntity {
 
     private int quantity;
 
-    @Column(name = "unit_amount")
+    @Column(name = "unit_amount", precision = 19, scale = 4)
     private BigDecimal unitAmount;
 
     private String currency;
@@ -6,14 +6,17 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import javax.sql.DataSource;
 
+import com.pedidos.application.dto.OrderView;
 import com.pedidos.application.errors.AppError;
 import com.pedidos.application.errors.InfraError;
 import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.port.out.Clock;
 import com.pedidos.application.port.out.OrderRepository;
 import com.pedidos.domain.entities.Order;
 import com.pedidos.domain.valueobjects.Currency;
@@ -30,13 +33,30 @@ import com.pedidos.shared.result.Result;
  * - Expects a DataSource connected to an H2 database.
  * - Creates tables if they don't exist.
  * - Uses simple transactional save semantics: replace items for an order.
+ * - Safe for virtual threads: no synchronized blocks around JDBC calls, and
+ * every write path rolls back and restores auto-commit before the connection
+ * goes back to the pool.
  */
 public class H2OrderRepository implements OrderRepository {
+    // Cabecera: inserta con version 1 o, si ya existe, incrementa su version
+    // (la version alimenta el ETag de GET /api/orders/{id})
+    private static final String SQL_UPSERT_ORDER = "MERGE INTO orders o USING (VALUES (CAST(? AS VARCHAR(36)), CAST(? AS TIMESTAMP))) s(id, created_at) ON o.id = s.id WHEN MATCHED THEN UPDATE SET created_at = s.created_at, version = o.version + 1 WHEN NOT MATCHED THEN INSERT (id, created_at, version) VALUES (s.id, s.created_at, 1)";
+
     private final DataSource dataSource;
+    private final Clock clock;
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(H2OrderRepository.class);
 
     public H2OrderRepository(DataSource dataSource) {
+        this(dataSource, Clock.system());
+    }
+
+    /**
+     * @param clock created_at de las cabeceras y timestamps de los eventos de
+     *              los pedidos leídos
+     */
+    public H2OrderRepository(DataSource dataSource, Clock clock) {
         this.dataSource = dataSource;
+        this.clock = clock;
         try (Connection c = dataSource.getConnection()) {
             ensureSchema(c);
             log.info("H2OrderRepository initialized and schema ensured");
@@ -48,11 +68,21 @@ public class H2OrderRepository implements OrderRepository {
 
     private void ensureSchema(Connection c) throws SQLException {
         try (PreparedStatement p = c.prepareStatement(
-                "CREATE TABLE IF NOT EXISTS orders (id VARCHAR(36) PRIMARY KEY, created_at TIMESTAMP)")) {
+                "CREATE TABLE IF NOT EXISTS orders (id VARCHAR(36) PRIMARY KEY, created_at TIMESTAMP, version BIGINT DEFAULT 1 NOT NULL)")) {
+            p.execute();
+        }
+        // esquemas creados antes de existir la columna version
+        try (PreparedStatement p = c.prepareStatement(
+                "ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 1 NOT NULL")) {
             p.execute();
         }
         try (PreparedStatement p = c.prepareStatement(
-                "CREATE TABLE IF NOT EXISTS order_items (order_id VARCHAR(36), product_id VARCHAR(255), quantity INT, unit_amount DECIMAL(19,2), currency VARCHAR(8), PRIMARY KEY(order_id, product_id), FOREIGN KEY(order_id) REFERENCES orders(id) ON DELETE CASCADE)")) {
+                "CREATE TABLE IF NOT EXISTS order_items (order_id VARCHAR(36), product_id VARCHAR(255), quantity INT, unit_amount DECIMAL(19,4), currency VARCHAR(8), PRIMARY KEY(order_id, product_id), FOREIGN KEY(order_id) REFERENCES orders(id) ON DELETE CASCADE)")) {
+            p.execute();
+        }
+        // esquemas creados con 2 decimales (antes de soportar divisas con 3 o 4)
+        try (PreparedStatement p = c.prepareStatement(
+                "ALTER TABLE order_items ALTER COLUMN unit_amount SET DATA TYPE DECIMAL(19,4)")) {
             p.execute();
         }
     }
@@ -60,45 +90,123 @@ public class H2OrderRepository implements OrderRepository {
     @Override
     public Result<Void, AppError> save(Order order) {
         log.debug("H2OrderRepository.save - orderId={} items={}", order.getId(), order.getItems().size());
-        String sqlInsertOrder = "MERGE INTO orders (id, created_at) KEY(id) VALUES (?, ?)";
         String sqlDeleteItems = "DELETE FROM order_items WHERE order_id = ?";
         String sqlInsertItem = "INSERT INTO order_items(order_id, product_id, quantity, unit_amount, currency) VALUES (?, ?, ?, ?, ?)";
 
         try (Connection c = dataSource.getConnection()) {
             boolean oldAuto = c.getAutoCommit();
             c.setAutoCommit(false);
-            try (PreparedStatement pOrder = c.prepareStatement(sqlInsertOrder)) {
-                pOrder.setString(1, order.getId().getId().toString());
-                pOrder.setTimestamp(2, Timestamp.from(Instant.now()));
-                pOrder.executeUpdate();
-            }
+            try {
+                try (PreparedStatement pOrder = c.prepareStatement(SQL_UPSERT_ORDER)) {
+                    pOrder.setString(1, order.getId().getId().toString());
+                    pOrder.setTimestamp(2, Timestamp.from(clock.now()));
+                    pOrder.executeUpdate();
+                }
 
-            try (PreparedStatement pDel = c.prepareStatement(sqlDeleteItems)) {
-                pDel.setString(1, order.getId().getId().toString());
-                pDel.executeUpdate();
-            }
+                try (PreparedStatement pDel = c.prepareStatement(sqlDeleteItems)) {
+                    pDel.setString(1, order.getId().getId().toString());
+                    pDel.executeUpdate();
+                }
+
+                try (PreparedStatement pItem = c.prepareStatement(sqlInsertItem)) {
+                    for (OrderItem it : order.getItems()) {
+                        pItem.setString(1, order.getId().getId().toString());
+                        pItem.setString(2, it.getProductId().getId());
+                        pItem.setInt(3, it.getQuantity().getValue());
+                        Money total = it.getUnitPrice();
+                        // store unit price amount
+                        pItem.setBigDecimal(4, total.getAmount());
+                        pItem.setString(5, total.getCurrency().getCode());
+                        pItem.addBatch();
+                    }
+                    pItem.executeBatch();
+                }
 
-            try (PreparedStatement pItem = c.prepareStatement(sqlInsertItem)) {
-                for (OrderItem it : order.getItems()) {
-                    pItem.setString(1, order.getId().getId().toString());
-                    pItem.setString(2, it.getProductId().getId());
-                    pItem.setInt(3, it.getQuantity().getValue());
-                    Money total = it.getUnitPrice();
-                    // store unit price amount
-                    pItem.setBigDecimal(4, total.getAmount());
-                    pItem.setString(5, total.getCurrency().getCode());
-                    pItem.addBatch();
-                }
-                pItem.executeBatch();
+                c.commit();
+                log.info("H2OrderRepository.save - saved order {}", order.getId());
+                return Result.ok(null);
+            } catch (SQLException e) {
+                // rollback antes de devolver la conexión al pool: si no, la siguiente
+                // petición que la reciba hereda la transacción a medias
+                try {
+                    c.rollback();
+                } catch (SQLException ignore) {
+                }
+                log.error("H2OrderRepository.save - failed to save order {}: {}", order.getId(), e.toString());
+                return Result.fail(new InfraError("Failed to save order: " + e.getMessage(), e));
+            } finally {
+                try {
+                    c.setAutoCommit(oldAuto);
+                } catch (SQLException ignore) {
+                }
             }
+        } catch (SQLException e) {
+            log.error("H2OrderRepository.save - connection error for {}: {}", order.getId(), e.toString());
+            return Result.fail(new InfraError("Failed to open DB connection: " + e.getMessage(), e));
+        }
+    }
 
-            c.commit();
-            c.setAutoCommit(oldAuto);
-            log.info("H2OrderRepository.save - saved order {}", order.getId());
+    /**
+     * Inserta todos los pedidos en una única transacción: una sentencia en
+     * batch para las cabeceras, otra para borrar líneas previas y otra para las
+     * líneas. Si algo falla se hace rollback de todo el lote.
+     */
+    @Override
+    public Result<Void, AppError> saveAll(List<Order> orders) {
+        if (orders.isEmpty())
             return Result.ok(null);
+        log.debug("H2OrderRepository.saveAll - orders={}", orders.size());
+        String sqlDeleteItems = "DELETE FROM order_items WHERE order_id = ?";
+        String sqlInsertItem = "INSERT INTO order_items(order_id, product_id, quantity, unit_amount, currency) VALUES (?, ?, ?, ?, ?)";
+
+        try (Connection c = dataSource.getConnection()) {
+            boolean oldAuto = c.getAutoCommit();
+            c.setAutoCommit(false);
+            try {
+                Timestamp now = Timestamp.from(clock.now());
+                try (PreparedStatement pOrder = c.prepareStatement(SQL_UPSERT_ORDER);
+                        PreparedStatement pDel = c.prepareStatement(sqlDeleteItems);
+                        PreparedStatement pItem = c.prepareStatement(sqlInsertItem)) {
+                    for (Order order : orders) {
+                        String id = order.getId().getId().toString();
+                        pOrder.setString(1, id);
+                        pOrder.setTimestamp(2, now);
+                        pOrder.addBatch();
+                        pDel.setString(1, id);
+                        pDel.addBatch();
+                        for (OrderItem it : order.getItems()) {
+                            pItem.setString(1, id);
+                            pItem.setString(2, it.getProductId().getId());
+                            pItem.setInt(3, it.getQuantity().getValue());
+                            pItem.setBigDecimal(4, it.getUnitPrice().getAmount());
+                            pItem.setString(5, it.getUnitPrice().getCurrency().getCode());
+                            pItem.addBatch();
+                        }
+                    }
+                    pOrder.executeBatch();
+                    pDel.executeBatch();
+                    pItem.executeBatch();
+                }
+
+                c.commit();
+                log.info("H2OrderRepository.saveAll - saved {} orders", orders.size());
+                return Result.ok(null);
+            } catch (SQLException e) {
+                try {
+                    c.rollback();
+                } catch (SQLException ignore) {
+                }
+                log.error("H2OrderRepository.saveAll - failed to save {} orders: {}", orders.size(), e.toString());
+                return Result.fail(new InfraError("Failed to save orders: " + e.getMessage(), e));
+            } finally {
+                try {
+                    c.setAutoCommit(oldAuto);
+                } catch (SQLException ignore) {
+                }
+            }
         } catch (SQLException e) {
-            log.error("H2OrderRepository.save - failed to save order {}: {}", order.getId(), e.toString());
-            return Result.fail(new InfraError("Failed to save order: " + e.getMessage(), e));
+            log.error("H2OrderRepository.saveAll - connection error: {}", e.toString());
+            return Result.fail(new InfraError("Failed to open DB connection: " + e.getMessage(), e));
         }
     }
 
@@ -106,7 +214,6 @@ public class H2OrderRepository implements OrderRepository {
     public Result<Void, AppError> update(Order order) {
         log.debug("H2OrderRepository.update - orderId={} items={}", order.getId(), order.getItems().size());
         String sqlExists = "SELECT 1 FROM orders WHERE id = ?";
-        String sqlMergeOrder = "MERGE INTO orders (id, created_at) KEY(id) VALUES (?, ?)";
         String sqlMergeItem = "MERGE INTO order_items (order_id, product_id, quantity, unit_amount, currency) KEY(order_id, product_id) VALUES (?,?,?,?,?)";
         String sqlDeleteExtraPrefix = "DELETE FROM order_items WHERE order_id = ? AND product_id NOT IN (";
 
@@ -126,9 +233,9 @@ public class H2OrderRepository implements OrderRepository {
                 }
 
                 // upsert order header
-                try (PreparedStatement pOrder = c.prepareStatement(sqlMergeOrder)) {
+                try (PreparedStatement pOrder = c.prepareStatement(SQL_UPSERT_ORDER)) {
                     pOrder.setString(1, order.getId().getId().toString());
-                    pOrder.setTimestamp(2, Timestamp.from(Instant.now()));
+                    pOrder.setTimestamp(2, Timestamp.from(clock.now()));
                     pOrder.executeUpdate();
                 }
 
@@ -168,7 +275,6 @@ public class H2OrderRepository implements OrderRepository {
                 }
 
                 c.commit();
-                c.setAutoCommit(oldAuto);
                 log.info("H2OrderRepository.update - updated order {}", order.getId());
                 return Result.ok(null);
             } catch (SQLException e) {
@@ -192,20 +298,42 @@ public class H2OrderRepository implements OrderRepository {
 
     @Override
     public Result<Optional<Order>, AppError> findById(OrderId id) {
-        String sqlOrder = "SELECT id, created_at FROM orders WHERE id = ?";
+        return load("findById", id).map(found -> found.map(rows -> {
+            Order order = Order.create(id, clock);
+            for (OrderItem item : rows.items())
+                order.addItem(item);
+            return order;
+        }));
+    }
+
+    @Override
+    public Result<Optional<OrderView>, AppError> findViewById(OrderId id) {
+        return load("findViewById", id)
+                .map(found -> found.map(rows -> OrderView.of(id, rows.items(), rows.version())));
+    }
+
+    // Versión y líneas de un pedido
+    private record Rows(long version, List<OrderItem> items) {
+    }
+
+    // Versión y líneas del pedido, o vacío si el pedido no existe
+    private Result<Optional<Rows>, AppError> load(String operation, OrderId id) {
+        String sqlOrder = "SELECT version FROM orders WHERE id = ?";
         String sqlItems = "SELECT product_id, quantity, unit_amount, currency FROM order_items WHERE order_id = ? ORDER BY product_id";
 
         try (Connection c = dataSource.getConnection()) {
+            long version;
             try (PreparedStatement p = c.prepareStatement(sqlOrder)) {
                 p.setString(1, id.getId().toString());
                 try (ResultSet rs = p.executeQuery()) {
                     if (!rs.next()) {
                         return Result.ok(Optional.empty());
                     }
+                    version = rs.getLong(1);
                 }
             }
 
-            Order order = Order.create(id);
+            List<OrderItem> items = new ArrayList<>();
 
             try (PreparedStatement pItems = c.prepareStatement(sqlItems)) {
                 pItems.setString(1, id.getId().toString());
@@ -216,26 +344,40 @@ public class H2OrderRepository implements OrderRepository {
                         BigDecimal unitAmount = rs.getBigDecimal("unit_amount");
                         String currencyCode = rs.getString("currency");
 
-                        ProductId pid = new ProductId(productId);
+                        ProductId pid = ProductId.of(productId);
                         Currency currency = Currency.of(currencyCode);
                         Money unitPrice = new Money(unitAmount, currency);
                         Quantity qty = new Quantity(quantity);
-                        order.addItem(new OrderItem(pid, qty, unitPrice));
+                        items.add(new OrderItem(pid, qty, unitPrice));
                     }
                 }
             }
 
-            return Result.ok(Optional.of(order));
+            return Result.ok(Optional.of(new Rows(version, items)));
         } catch (SQLException e) {
-            log.error("H2OrderRepository.findById - SQL error for id {}: {}", id, e.toString());
+            log.error("H2OrderRepository.{} - SQL error for id {}: {}", operation, id, e.toString());
             return Result.fail(new InfraError("Failed to query order: " + e.getMessage(), e));
         } catch (Exception e) {
             // any mapping/domain exception
-            log.error("H2OrderRepository.findById - mapping error for id {}: {}", id, e.toString());
+            log.error("H2OrderRepository.{} - mapping error for id {}: {}", operation, id, e.toString());
             return Result.fail(new InfraError("Failed to map order from DB: " + e.getMessage(), e));
         }
     }
 
+    @Override
+    public Result<Optional<Long>, AppError> findVersion(OrderId id) {
+        String sql = "SELECT version FROM orders WHERE id = ?";
+        try (Connection c = dataSource.getConnection(); PreparedStatement p = c.prepareStatement(sql)) {
+            p.setString(1, id.getId().toString());
+            try (ResultSet rs = p.executeQuery()) {
+                return Result.ok(rs.next() ? Optional.of(rs.getLong(1)) : Optional.empty());
+            }
+        } catch (SQLException e) {
+            log.error("H2OrderRepository.findVersion - SQL error for id {}: {}", id, e.toString());
+            return Result.fail(new InfraError("Failed to query order version: " + e.getMessage(), e));
+        }
+    }
+
     @Override
     public Result<Void, AppError> delete(OrderId id) {
         String sql = "DELETE FROM orders WHERE id = ?";
@@ -1,9 +1,16 @@
 package com.pedidos.infrastructure.adapter.persistence.jpa;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.pedidos.infrastructure.adapter.persistence.entity.OrderEntity;
 
 public interface JpaOrderRepository extends JpaRepository<OrderEntity, String> {
 
+    // Solo la columna version, sin cargar la entidad ni sus items
+    @Query("select o.version from OrderEntity o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
 }
@@ -1,7 +1,8 @@
 package com.pedidos.infrastructure.adapter.persistence.jpa;
 
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -11,7 +12,9 @@ import java.util.stream.Collectors;
 
 import org.springframework.transaction.annotation.Transactional;
 
+import com.pedidos.application.dto.OrderView;
 import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.out.Clock;
 import com.pedidos.application.port.out.OrderRepository;
 import com.pedidos.domain.entities.Order;
 import com.pedidos.domain.valueobjects.Currency;
@@ -29,20 +32,44 @@ import com.pedidos.shared.result.Result;
  */
 public class SpringDataOrderRepositoryAdapter implements OrderRepository {
     private final com.pedidos.infrastructure.adapter.persistence.jpa.JpaOrderRepository jpa;
+    private final Clock clock;
 
     public SpringDataOrderRepositoryAdapter(com.pedidos.infrastructure.adapter.persistence.jpa.JpaOrderRepository jpa) {
+        this(jpa, Clock.system());
+    }
+
+    public SpringDataOrderRepositoryAdapter(com.pedidos.infrastructure.adapter.persistence.jpa.JpaOrderRepository jpa,
+            Clock clock) {
         this.jpa = jpa;
+        this.clock = clock;
     }
 
     @Override
     @Transactional
     public Result<Void, AppError> save(Order order) {
         OrderEntity ent = toEntity(order);
-        ent.setCreatedAt(Instant.now());
+        ent.setCreatedAt(clock.now());
         jpa.save(ent); // allow exceptions to propagate so Spring can rollback correctly
         return Result.ok(null);
     }
 
+    /**
+     * Una sola transacción para todo el lote. Como las entidades son nuevas
+     * (Persistable) saveAll hace persist sin SELECT previo, y los ids de las
+     * líneas salen de una secuencia, así que Hibernate agrupa los INSERT de
+     * pedidos y de líneas según hibernate.jdbc.batch_size.
+     */
+    @Override
+    @Transactional
+    public Result<Void, AppError> saveAll(List<Order> orders) {
+        List<OrderEntity> entities = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            entities.add(toEntity(order));
+        }
+        jpa.saveAll(entities); // exceptions propagate so the whole batch rolls back
+        return Result.ok(null);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Result<Optional<Order>, AppError> findById(com.pedidos.domain.valueobjects.OrderId id) {
@@ -53,6 +80,20 @@ public class SpringDataOrderRepositoryAdapter implements OrderRepository {
 
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Result<Optional<OrderView>, AppError> findViewById(OrderId id) {
+        UUID uuid = Objects.requireNonNull(id.getId(), "order id is null");
+        return Result.ok(jpa.findById(uuid.toString()).map(e -> OrderView.of(id, toItems(e), e.getVersion())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Result<Optional<Long>, AppError> findVersion(OrderId id) {
+        UUID uuid = Objects.requireNonNull(id.getId(), "order id is null");
+        return Result.ok(jpa.findVersionById(uuid.toString()));
+    }
+
     @Override
     @Transactional
     public Result<Void, AppError> delete(OrderId id) {
@@ -75,6 +116,7 @@ public class SpringDataOrderRepositoryAdapter implements OrderRepository {
         }
 
         OrderEntity ent = existing.get();
+        ent.setVersion(ent.getVersion() + 1);
 
         // Map existing items by productId for reuse
         Map<String, OrderItemEntity> existingByProduct = ent.getItems().stream()
@@ -110,7 +152,7 @@ public class SpringDataOrderRepositoryAdapter implements OrderRepository {
         UUID uuid = Objects.requireNonNull(o.getId().getId(), "order id is null");
         String idStr = Objects.requireNonNull(uuid.toString(), "order id string is null");
         e.setId(idStr);
-        e.setCreatedAt(Instant.now());
+        e.setCreatedAt(clock.now());
         e.clearItems();
         for (OrderItem it : o.getItems()) {
             OrderItemEntity ie = new OrderItemEntity();
@@ -125,14 +167,22 @@ public class SpringDataOrderRepositoryAdapter implements OrderRepository {
 
     private Order toDomain(OrderEntity e) {
         OrderId oid = new OrderId(UUID.fromString(e.getId()));
-        Order order = Order.create(oid);
+        Order order = Order.create(oid, clock);
+        for (OrderItem item : toItems(e)) {
+            order.addItem(item);
+        }
+        return order;
+    }
+
+    private List<OrderItem> toItems(OrderEntity e) {
+        List<OrderItem> items = new ArrayList<>(e.getItems().size());
         for (OrderItemEntity it : e.getItems()) {
-            ProductId pid = new ProductId(it.getProductId());
+            ProductId pid = ProductId.of(it.getProductId());
             Quantity q = new Quantity(it.getQuantity());
             Currency cur = Currency.of(it.getCurrency());
             Money m = new Money(it.getUnitAmount(), cur);
-            order.addItem(new OrderItem(pid, q, m));
+            items.add(new OrderItem(pid, q, m));
         }
-        return order;
+        return items;
     }
 }
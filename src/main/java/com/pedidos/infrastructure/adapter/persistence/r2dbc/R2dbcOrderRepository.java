@@ -0,0 +1,215 @@
+package com.pedidos.infrastructure.adapter.persistence.r2dbc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.ReactiveOrderRepository;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.shared.result.Result;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ReactiveOrderRepository sobre R2DBC (H2 o Postgres) con DatabaseClient.
+ *
+ * - Mismo esquema que H2OrderRepository (tablas orders / order_items); no crea
+ * tablas: con H2 las crea ReactiveConfiguration desde db/migration.
+ * - Escrituras en una transacción reactiva (TransactionalOperator); la cabecera
+ * se inserta o incrementa su version con el mismo MERGE que la variante JDBC.
+ * - findById lee cabecera y líneas en una sola consulta (LEFT JOIN).
+ * - Con Postgres ninguna llamada bloquea el hilo del event loop. El driver
+ * r2dbc-h2 no es realmente reactivo: ejecuta la consulta de forma síncrona en
+ * el hilo que se suscribe. Por eso, con H2 (solo uso local) se pasa un
+ * Scheduler como Schedulers.boundedElastic() y cada operación se suscribe en
+ * él, no en el event loop.
+ */
+public class R2dbcOrderRepository implements ReactiveOrderRepository {
+    private static final Logger log = LoggerFactory.getLogger(R2dbcOrderRepository.class);
+
+    private static final String SQL_UPSERT_ORDER = "MERGE INTO orders o USING (VALUES (CAST(:id AS VARCHAR(36)), CAST(:createdAt AS TIMESTAMP))) s(id, created_at) ON o.id = s.id WHEN MATCHED THEN UPDATE SET created_at = s.created_at, version = o.version + 1 WHEN NOT MATCHED THEN INSERT (id, created_at, version) VALUES (s.id, s.created_at, 1)";
+    private static final String SQL_DELETE_ITEMS = "DELETE FROM order_items WHERE order_id = :id";
+    private static final String SQL_INSERT_ITEM = "INSERT INTO order_items(order_id, product_id, quantity, unit_amount, currency) VALUES (:orderId, :productId, :quantity, :unitAmount, :currency)";
+    private static final String SQL_FIND = "SELECT o.id, o.version, i.product_id, i.quantity, i.unit_amount, i.currency FROM orders o LEFT JOIN order_items i ON i.order_id = o.id WHERE o.id = :id ORDER BY i.product_id";
+
+    private final DatabaseClient client;
+    private final TransactionalOperator tx;
+    private final Clock clock;
+    private final Scheduler scheduler;
+
+    public R2dbcOrderRepository(DatabaseClient client, TransactionalOperator tx) {
+        this(client, tx, Clock.system());
+    }
+
+    public R2dbcOrderRepository(DatabaseClient client, TransactionalOperator tx, Clock clock) {
+        this(client, tx, clock, Schedulers.immediate());
+    }
+
+    /**
+     * @param scheduler dónde se suscribe cada operación; immediate() con un
+     *                  driver no bloqueante, boundedElastic() con H2
+     */
+    public R2dbcOrderRepository(DatabaseClient client, TransactionalOperator tx, Clock clock, Scheduler scheduler) {
+        this.client = client;
+        this.tx = tx;
+        this.clock = clock;
+        this.scheduler = scheduler;
+    }
+
+    // Fila de SQL_FIND; productId null si el pedido no tiene líneas
+    private record Line(long version, String productId, Integer quantity, BigDecimal unitAmount, String currency) {
+    }
+
+    @Override
+    public CompletionStage<Result<Void, AppError>> save(Order order) {
+        log.debug("R2dbcOrderRepository.save - orderId={}", order.getId());
+        String id = order.getId().getId().toString();
+        Mono<Void> write = upsertHeader(id)
+                .then(client.sql(SQL_DELETE_ITEMS).bind("id", id).fetch().rowsUpdated())
+                .then(insertItems(id, order.getItems()));
+        return toResult(tx.transactional(write).thenReturn(Boolean.TRUE), "save order " + order.getId())
+                .map(res -> res.map(v -> (Void) null))
+                .toFuture();
+    }
+
+    /**
+     * Reemplaza las líneas del pedido dentro de la transacción; NotFoundError si
+     * la cabecera no existe.
+     */
+    @Override
+    public CompletionStage<Result<Void, AppError>> update(Order order) {
+        log.debug("R2dbcOrderRepository.update - orderId={}", order.getId());
+        String id = order.getId().getId().toString();
+        Mono<Boolean> write = client.sql("SELECT 1 FROM orders WHERE id = :id").bind("id", id)
+                .map(row -> 1).first().hasElement()
+                .flatMap(exists -> !exists ? Mono.just(Boolean.FALSE)
+                        : upsertHeader(id)
+                                .then(client.sql(SQL_DELETE_ITEMS).bind("id", id).fetch().rowsUpdated())
+                                .then(insertItems(id, order.getItems()))
+                                .thenReturn(Boolean.TRUE));
+        return toResult(tx.transactional(write), "update order " + order.getId())
+                .map(res -> res.flatMap(found -> found ? Result.<Void, AppError>ok(null)
+                        : Result.<Void, AppError>fail(new NotFoundError("Order not found: " + order.getId()))))
+                .toFuture();
+    }
+
+    @Override
+    public CompletionStage<Result<Optional<Order>, AppError>> findById(OrderId id) {
+        Mono<Optional<Order>> load = loadRows(id).map(found -> found.map(rows -> {
+            Order order = Order.create(id, clock);
+            rows.items().forEach(order::addItem);
+            return order;
+        }));
+        return toResult(load, "find order " + id).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Result<Optional<OrderView>, AppError>> findViewById(OrderId id) {
+        Mono<Optional<OrderView>> load = loadRows(id)
+                .map(found -> found.map(rows -> OrderView.of(id, rows.items(), rows.version())));
+        return toResult(load, "find order " + id).toFuture();
+    }
+
+    // Versión y líneas de un pedido
+    private record Rows(long version, List<OrderItem> items) {
+    }
+
+    private Mono<Optional<Rows>> loadRows(OrderId id) {
+        return client.sql(SQL_FIND).bind("id", id.getId().toString())
+                .map((row, meta) -> line(row))
+                .all()
+                .collectList()
+                .map(R2dbcOrderRepository::toRows);
+    }
+
+    @Override
+    public CompletionStage<Result<Optional<Long>, AppError>> findVersion(OrderId id) {
+        Mono<Optional<Long>> version = client.sql("SELECT version FROM orders WHERE id = :id")
+                .bind("id", id.getId().toString())
+                .map((row, meta) -> row.get("version", Long.class))
+                .first()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+        return toResult(version, "find order version " + id).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Result<Void, AppError>> delete(OrderId id) {
+        // las líneas se borran en cascada; borrar un pedido inexistente no es error
+        Mono<Long> delete = client.sql("DELETE FROM orders WHERE id = :id").bind("id", id.getId().toString())
+                .fetch().rowsUpdated();
+        return toResult(delete, "delete order " + id).map(res -> res.map(v -> (Void) null)).toFuture();
+    }
+
+    private Mono<Long> upsertHeader(String id) {
+        return client.sql(SQL_UPSERT_ORDER)
+                .bind("id", id)
+                .bind("createdAt", LocalDateTime.ofInstant(clock.now(), ZoneOffset.UTC))
+                .fetch().rowsUpdated();
+    }
+
+    private Mono<Void> insertItems(String id, List<OrderItem> items) {
+        return Flux.fromIterable(items)
+                .concatMap(it -> client.sql(SQL_INSERT_ITEM)
+                        .bind("orderId", id)
+                        .bind("productId", it.getProductId().getId())
+                        .bind("quantity", it.getQuantity().getValue())
+                        .bind("unitAmount", it.getUnitPrice().getAmount())
+                        .bind("currency", it.getUnitPrice().getCurrency().getCode())
+                        .fetch().rowsUpdated())
+                .then();
+    }
+
+    private static Line line(Row row) {
+        return new Line(row.get("version", Long.class), row.get("product_id", String.class), row.get("quantity", Integer.class),
+                row.get("unit_amount", BigDecimal.class), row.get("currency", String.class));
+    }
+
+    // Versión y líneas del pedido, o vacío si no existe (ninguna fila)
+    private static Optional<Rows> toRows(List<Line> lines) {
+        if (lines.isEmpty())
+            return Optional.empty();
+        List<OrderItem> items = new ArrayList<>(lines.size());
+        for (Line l : lines) {
+            if (l.productId() == null)
+                continue;
+            items.add(new OrderItem(ProductId.of(l.productId()), new Quantity(l.quantity()),
+                    new Money(l.unitAmount(), Currency.of(l.currency()))));
+        }
+        return Optional.of(new Rows(lines.get(0).version(), items));
+    }
+
+    // Errores de BD y de mapeo como InfraError en el Result, nunca como señal de error
+    private <T> Mono<Result<T, AppError>> toResult(Mono<T> mono, String operation) {
+        return mono.subscribeOn(scheduler)
+                .map(v -> Result.<T, AppError>ok(v))
+                .onErrorResume(e -> {
+                    log.error("R2dbcOrderRepository - failed to {}: {}", operation, e.toString());
+                    return Mono.just(Result.<T, AppError>fail(new InfraError("Failed to " + operation + ": " + e.getMessage(), e)));
+                });
+    }
+}
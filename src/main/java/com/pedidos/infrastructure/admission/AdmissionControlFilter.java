@@ -0,0 +1,123 @@
+package com.pedidos.infrastructure.admission;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de admisión delante de la API de pedidos.
+ *
+ * - Identifica al cliente por el usuario autenticado, por la cabecera de API
+ * key si es una de las keys conocidas o, si no, por la IP remota (detrás de un
+ * proxy, configurar server.forward-headers-strategy). Una key desconocida no
+ * da bucket propio: rotar la cabecera no sirve para saltarse el límite.
+ * - Lecturas (GET/HEAD/OPTIONS), escrituras y POST /batch (hasta 1000 pedidos
+ * por petición) consumen de limitadores distintos.
+ * - Si no hay token responde 429 con Retry-After sin llegar al controlador ni
+ * a la base de datos.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final byte[] BODY = "{\"error\":\"rate_limited\",\"message\":\"Too many requests\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ClientRateLimiter reads;
+    private final ClientRateLimiter writes;
+    private final ClientRateLimiter batches;
+    private final String apiKeyHeader;
+    private final Set<String> apiKeys;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+    private final Counter rejectedBatches;
+
+    public AdmissionControlFilter(ClientRateLimiter reads, ClientRateLimiter writes, ClientRateLimiter batches,
+            String apiKeyHeader, Set<String> apiKeys, MeterRegistry registry) {
+        this.reads = Objects.requireNonNull(reads);
+        this.writes = Objects.requireNonNull(writes);
+        this.batches = Objects.requireNonNull(batches);
+        this.apiKeyHeader = Objects.requireNonNull(apiKeyHeader);
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.rejectedReads = rejected(registry, "read");
+        this.rejectedWrites = rejected(registry, "write");
+        this.rejectedBatches = rejected(registry, "batch");
+        clients(registry, reads, "read");
+        clients(registry, writes, "write");
+        clients(registry, batches, "batch");
+    }
+
+    private static void clients(MeterRegistry registry, ClientRateLimiter limiter, String kind) {
+        Gauge.builder("pedidos.admission.clients", limiter, ClientRateLimiter::clients)
+                .description("Clients with a " + kind + " bucket")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    private static Counter rejected(MeterRegistry registry, String kind) {
+        return Counter.builder("pedidos.admission.rejected")
+                .description("Requests rejected with 429 by admission control")
+                .tag("kind", kind)
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = isRead(request.getMethod());
+        boolean batch = !read && isBatch(request);
+        String client = clientId(request);
+        long wait = (read ? reads : batch ? batches : writes).tryAcquire(client, System.nanoTime());
+        if (wait == 0L) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        (read ? rejectedReads : batch ? rejectedBatches : rejectedWrites).increment();
+        long retryAfterSeconds = Math.max(1L, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Admission rejected {} {} for client {} (retry after {}s)", request.getMethod(),
+                request.getRequestURI(), client, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(BODY.length);
+        response.getOutputStream().write(BODY);
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private static boolean isBatch(HttpServletRequest request) {
+        return request.getRequestURI().endsWith("/orders/batch");
+    }
+
+    private String clientId(HttpServletRequest request) {
+        Principal user = request.getUserPrincipal();
+        if (user != null && user.getName() != null) {
+            return "user:" + user.getName();
+        }
+        String key = request.getHeader(apiKeyHeader);
+        if (key != null && apiKeys.contains(key)) {
+            return "key:" + key;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
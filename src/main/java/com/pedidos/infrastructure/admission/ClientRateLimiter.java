@@ -0,0 +1,68 @@
+package com.pedidos.infrastructure.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Un TokenBucket por cliente, con memoria acotada.
+ *
+ * - Como mucho maxClients buckets. Al llegar al límite se eliminan los buckets
+ * llenos (clientes inactivos), lo que no cambia su comportamiento porque un
+ * bucket nuevo también empieza lleno.
+ * - El barrido es O(n), así que se hace como mucho una vez por segundo. Si no
+ * hay hueco, los clientes nuevos comparten un bucket de desbordamiento: nunca
+ * se admite más de lo configurado, solo se pierde el aislamiento entre ellos.
+ */
+public final class ClientRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final AtomicLong lastSweep;
+
+    public ClientRateLimiter(double ratePerSecond, int burst, int maxClients, long nowNanos) {
+        if (maxClients < 1)
+            throw new IllegalArgumentException("maxClients must be >= 1");
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.overflow = new TokenBucket(ratePerSecond, burst, nowNanos);
+        this.lastSweep = new AtomicLong(nowNanos - SWEEP_INTERVAL_NANOS);
+    }
+
+    /**
+     * 0 si se admite la petición del cliente; si no, nanosegundos hasta el
+     * siguiente token.
+     */
+    public long tryAcquire(String client, long nowNanos) {
+        return bucketFor(client, nowNanos).tryAcquire(nowNanos);
+    }
+
+    public int clients() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucketFor(String client, long nowNanos) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null)
+            return bucket;
+        if (buckets.size() >= maxClients && !sweep(nowNanos))
+            return overflow;
+        // puede superar maxClients por unas pocas entradas con altas concurrentes
+        return buckets.computeIfAbsent(client, c -> new TokenBucket(ratePerSecond, burst, nowNanos));
+    }
+
+    // true si tras el barrido queda hueco
+    private boolean sweep(long nowNanos) {
+        long last = lastSweep.get();
+        if (nowNanos - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, nowNanos)) {
+            buckets.values().removeIf(b -> b.isFull(nowNanos));
+        }
+        return buckets.size() < maxClients;
+    }
+}
@@ -0,0 +1,53 @@
+package com.pedidos.infrastructure.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket lock-free sobre un único AtomicLong.
+ *
+ * Se implementa como GCRA (generic cell rate algorithm), equivalente a un
+ * token bucket de capacidad burst que se rellena a ratePerSecond: en lugar de
+ * guardar tokens y última recarga se guarda el instante teórico (TAT) en el
+ * que el bucket volvería a estar lleno, así cada petición es un solo CAS y no
+ * asigna memoria.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0)
+            throw new IllegalArgumentException("ratePerSecond must be > 0");
+        if (burst < 1)
+            throw new IllegalArgumentException("burst must be >= 1");
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir un token. Devuelve 0 si se admite la petición o, si no,
+     * los nanosegundos que faltan hasta que haya un token disponible.
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = tat - nowNanos > 0 ? tat : nowNanos;
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0)
+                return wait;
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos))
+                return 0L;
+        }
+    }
+
+    /**
+     * true si el bucket está lleno: descartarlo y recrearlo más tarde no cambia
+     * su comportamiento.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+}
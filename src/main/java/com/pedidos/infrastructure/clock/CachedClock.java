@@ -0,0 +1,55 @@
+package com.pedidos.infrastructure.clock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.pedidos.application.port.out.Clock;
+
+/**
+ * Reloj de baja resolución para los caminos calientes.
+ *
+ * - now() devuelve el último instante leído por un hilo daemon que consulta
+ * el reloj fuente cada resolution: una lectura volatile, sin llamada al
+ * sistema ni Instant nuevo por petición.
+ * - Dos lecturas dentro del mismo tick devuelven la misma instancia; el
+ * valor puede ir hasta una resolution por detrás del reloj fuente.
+ * - Sirve para timestamps de eventos, created_at y TTLs, no para medir
+ * latencias (para eso System.nanoTime()).
+ */
+public final class CachedClock implements Clock, AutoCloseable {
+
+    private final Clock source;
+    private final ScheduledExecutorService ticker;
+    private volatile Instant now;
+
+    public CachedClock(Clock source, Duration resolution) {
+        if (resolution == null || !resolution.isPositive())
+            throw new IllegalArgumentException("resolution must be > 0");
+        this.source = source;
+        this.now = source.now();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cached-clock");
+            t.setDaemon(true);
+            return t;
+        });
+        long nanos = resolution.toNanos();
+        ticker.scheduleAtFixedRate(this::tick, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Instant now() {
+        return now;
+    }
+
+    void tick() {
+        now = source.now();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Control de admisión por cliente (app.admission): token buckets separados
+ * para lecturas, escrituras y lotes (POST /api/orders/batch).
+ *
+ * Desactivado por defecto: sin API keys ni server.forward-headers-strategy,
+ * detrás del gateway todos los clientes comparten el bucket de su IP.
+ */
+@ConfigurationProperties(prefix = "app.admission")
+@Validated
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+
+    // Cabecera con la API key; sin ella el cliente es la IP remota
+    @NotBlank
+    private String apiKeyHeader = "X-API-Key";
+
+    // API keys con bucket propio; cualquier otra key cuenta como su IP
+    private Set<String> apiKeys = new LinkedHashSet<>();
+
+    @Min(1)
+    private int maxClients = 100_000;
+
+    @Valid
+    private Limit read = new Limit(50, 100);
+
+    @Valid
+    private Limit write = new Limit(10, 20);
+
+    // Un token por petición de lote, sea cual sea su tamaño
+    @Valid
+    private Limit batch = new Limit(0.2, 2);
+
+    /**
+     * Tokens por segundo y ráfaga máxima de un bucket.
+     */
+    public static class Limit {
+        @DecimalMin("0.001")
+        private double ratePerSecond;
+
+        @Min(1)
+        private int burst;
+
+        public Limit() {
+        }
+
+        public Limit(double ratePerSecond, int burst) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+        }
+
+        public double getRatePerSecond() {
+            return ratePerSecond;
+        }
+
+        public void setRatePerSecond(double ratePerSecond) {
+            this.ratePerSecond = ratePerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+
+    // Getters y setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public Limit getRead() {
+        return read;
+    }
+
+    public void setRead(Limit read) {
+        this.read = read;
+    }
+
+    public Limit getWrite() {
+        return write;
+    }
+
+    public void setWrite(Limit write) {
+        this.write = write;
+    }
+
+    public Limit getBatch() {
+        return batch;
+    }
+
+    public void setBatch(Limit batch) {
+        this.batch = batch;
+    }
+}
@@ -0,0 +1,30 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Reloj de la aplicación (app.clock): timestamps de eventos, created_at,
+ * TTLs de idempotencia e ids UUIDv7.
+ */
+@ConfigurationProperties(prefix = "app.clock")
+@Validated
+public class ClockProperties {
+
+    // 0: reloj del sistema exacto. > 0: CachedClock refrescado con ese periodo
+    @NotNull
+    private Duration resolution = Duration.ZERO;
+
+    // Getters y setters
+    public Duration getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Duration resolution) {
+        this.resolution = resolution;
+    }
+}
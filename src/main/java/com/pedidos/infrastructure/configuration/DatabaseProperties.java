@@ -1,14 +1,26 @@
 package com.pedidos.infrastructure.configuration;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 
 @ConfigurationProperties(prefix = "app.db")
 @Validated
 public class DatabaseProperties {
 
+    /**
+     * Ids de pedidos nuevos. UUIDV7: crecientes en el tiempo, se insertan al
+     * final del índice de la clave primaria. RANDOM: UUID versión 4.
+     */
+    public enum OrderIds {
+        UUIDV7, RANDOM
+    }
+
     @NotBlank
     private String kind;
 
@@ -20,6 +32,21 @@ public class DatabaseProperties {
 
     private String pass;
 
+    // Pool de conexiones (Hikari). Con hilos virtuales el pool es el límite real
+    // de concurrencia contra la BD: las peticiones que no consiguen conexión en
+    // connectionTimeout fallan en lugar de acumularse.
+    @Min(1)
+    private int maxPoolSize = 10;
+
+    @NotNull
+    private Duration connectionTimeout = Duration.ofSeconds(30);
+
+    // Lecturas concurrentes del mismo pedido comparten una sola consulta
+    private boolean coalesceReads = true;
+
+    @NotNull
+    private OrderIds orderIds = OrderIds.UUIDV7;
+
     // Getters y setters
     public String getKind() {
         return kind;
@@ -52,4 +79,36 @@ public class DatabaseProperties {
     public void setPass(String pass) {
         this.pass = pass;
     }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    public void setCoalesceReads(boolean coalesceReads) {
+        this.coalesceReads = coalesceReads;
+    }
+
+    public OrderIds getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(OrderIds orderIds) {
+        this.orderIds = orderIds;
+    }
 }
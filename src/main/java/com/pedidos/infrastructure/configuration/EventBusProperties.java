@@ -0,0 +1,174 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@ConfigurationProperties(prefix = "app.eventbus")
+@Validated
+public class EventBusProperties {
+
+    /**
+     * SYNC: handlers en el hilo llamador. PARTITIONED: N hilos, uno por
+     * partición, con orden garantizado por pedido.
+     */
+    public enum Mode {
+        SYNC, PARTITIONED
+    }
+
+    @NotNull
+    private Mode mode = Mode.SYNC;
+
+    @Min(1)
+    private int partitions = Runtime.getRuntime().availableProcessors();
+
+    @Min(1)
+    private int partitionQueueCapacity = 10_000;
+
+    // Fan-out: handlers de un mismo evento en paralelo (hilos virtuales)
+    private boolean parallelHandlers = false;
+
+    @NotNull
+    private Duration handlerDeadline = Duration.ofSeconds(2);
+
+    @Valid
+    private Retry retry = new Retry();
+
+    /**
+     * Reintentos locales de entregas fallidas y dead-letter queue.
+     */
+    public static class Retry {
+        // Si está desactivado, publish devuelve el primer fallo de un handler
+        private boolean enabled = true;
+
+        @Min(1)
+        private int maxAttempts = 5;
+
+        @NotNull
+        private Duration initialBackoff = Duration.ofMillis(200);
+
+        @DecimalMin("1.0")
+        private double multiplier = 2.0;
+
+        @NotNull
+        private Duration maxBackoff = Duration.ofSeconds(30);
+
+        @Min(0)
+        private int maxPending = 10_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public double getMultiplier() {
+            return multiplier;
+        }
+
+        public void setMultiplier(double multiplier) {
+            this.multiplier = multiplier;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public int getMaxPending() {
+            return maxPending;
+        }
+
+        public void setMaxPending(int maxPending) {
+            this.maxPending = maxPending;
+        }
+    }
+
+    // Handlers que tarden más que este umbral se registran en el log (WARN)
+    @NotNull
+    private Duration slowHandlerThreshold = Duration.ofMillis(50);
+
+    // Getters y setters
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getPartitionQueueCapacity() {
+        return partitionQueueCapacity;
+    }
+
+    public void setPartitionQueueCapacity(int partitionQueueCapacity) {
+        this.partitionQueueCapacity = partitionQueueCapacity;
+    }
+
+    public boolean isParallelHandlers() {
+        return parallelHandlers;
+    }
+
+    public void setParallelHandlers(boolean parallelHandlers) {
+        this.parallelHandlers = parallelHandlers;
+    }
+
+    public Duration getHandlerDeadline() {
+        return handlerDeadline;
+    }
+
+    public void setHandlerDeadline(Duration handlerDeadline) {
+        this.handlerDeadline = handlerDeadline;
+    }
+
+    public Retry getRetry() {
+        return retry;
+    }
+
+    public void setRetry(Retry retry) {
+        this.retry = retry;
+    }
+
+    public Duration getSlowHandlerThreshold() {
+        return slowHandlerThreshold;
+    }
+
+    public void setSlowHandlerThreshold(Duration slowHandlerThreshold) {
+        this.slowHandlerThreshold = slowHandlerThreshold;
+    }
+}
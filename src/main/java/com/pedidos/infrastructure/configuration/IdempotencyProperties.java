@@ -0,0 +1,86 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Soporte de Idempotency-Key en POST /api/orders (app.idempotency).
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+@Validated
+public class IdempotencyProperties {
+
+    /**
+     * MEMORY: almacén local acotado. JDBC: tabla idempotency_keys, compartida
+     * entre instancias y persistente.
+     */
+    public enum Store {
+        MEMORY, JDBC
+    }
+
+    @NotNull
+    private Store store = Store.MEMORY;
+
+    // Tiempo durante el que se reenvía el resultado de una clave
+    @NotNull
+    private Duration ttl = Duration.ofHours(24);
+
+    // Solo para MEMORY
+    @Min(1)
+    private int maxEntries = 100_000;
+
+    // Solo para JDBC: una reserva más antigua (instancia caída a mitad de la
+    // petición) puede tomarla otra petición con la misma clave
+    @NotNull
+    private Duration pendingTimeout = Duration.ofMinutes(1);
+
+    // Solo para JDBC: cada cuánto se borran las claves caducadas
+    @NotNull
+    private Duration purgeInterval = Duration.ofMinutes(10);
+
+    // Getters y setters
+    public Store getStore() {
+        return store;
+    }
+
+    public void setStore(Store store) {
+        this.store = store;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getPendingTimeout() {
+        return pendingTimeout;
+    }
+
+    public void setPendingTimeout(Duration pendingTimeout) {
+        this.pendingTimeout = pendingTimeout;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
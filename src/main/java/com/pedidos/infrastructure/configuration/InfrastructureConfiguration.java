@@ -9,25 +9,50 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.env.Environment;
 
 import com.pedidos.application.port.out.Clock;
 import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.IdempotencyStore;
+import com.pedidos.application.port.out.OrderIdGenerator;
 import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.ProductIdDictionary;
+import com.pedidos.infrastructure.adapter.persistence.CoalescingOrderRepository;
 import com.pedidos.infrastructure.adapter.persistence.h2.H2OrderRepository;
 import com.pedidos.infrastructure.adapter.persistence.jpa.JpaOrderRepository;
 import com.pedidos.infrastructure.adapter.persistence.jpa.SpringDataOrderRepositoryAdapter;
+import com.pedidos.infrastructure.clock.CachedClock;
 import com.pedidos.infrastructure.clock.SystemClock;
+import com.pedidos.infrastructure.eventbus.DeadLetterEndpoint;
+import com.pedidos.infrastructure.eventbus.DeadLetterStore;
+import com.pedidos.infrastructure.eventbus.EventBusMetrics;
+import com.pedidos.infrastructure.eventbus.EventRetryQueue;
 import com.pedidos.infrastructure.eventbus.InMemoryEventBus;
+import com.pedidos.infrastructure.eventbus.JdbcDeadLetterStore;
+import com.pedidos.infrastructure.eventbus.PartitionedEventBus;
+import com.pedidos.infrastructure.id.UuidV7OrderIdGenerator;
+import com.pedidos.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.pedidos.infrastructure.idempotency.JdbcIdempotencyStore;
 import com.pedidos.shared.result.Result;
 
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Spring configuration that wires basic infrastructure beans for development
  * and production.
+ *
+ * Los beans JDBC (DataSource, repositorios, dead-letter queue, claves de
+ * idempotencia) no se crean con el perfil reactive, que usa R2DBC
+ * (ReactiveConfiguration).
  */
 @Configuration
-@EnableConfigurationProperties(DatabaseProperties.class) // Inject DatabaseProperties
+@EnableConfigurationProperties({ DatabaseProperties.class, EventBusProperties.class, IdempotencyProperties.class,
+        ClockProperties.class, ProductProperties.class }) // Inject properties
 public class InfrastructureConfiguration {
 
     private final DatabaseProperties dbProps;
@@ -38,31 +63,41 @@ public class InfrastructureConfiguration {
     }
 
     @Bean
+    @Profile("!reactive")
     public DataSource dataSource() {
         log.info("Configuring DataSource for DB_KIND={}", dbProps.getKind());
+        HikariDataSource ds;
         if ("POSTGRES".equalsIgnoreCase(dbProps.getKind())) {
-            return DataSourceBuilder.create()
+            ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
                     .url(dbProps.getUrl())
                     .username(dbProps.getUser())
                     .password(dbProps.getPass())
                     .build();
         } else {
             log.info("Using in-memory H2 database");
-            return DataSourceBuilder.create()
+            ds = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
                     .url("jdbc:h2:mem:pedidos;DB_CLOSE_DELAY=-1;MODE=PostgreSQL")
                     .username("sa")
                     .build();
         }
+        ds.setMaximumPoolSize(dbProps.getMaxPoolSize());
+        ds.setConnectionTimeout(dbProps.getConnectionTimeout().toMillis());
+        log.info("Connection pool: max size {}, connection timeout {} ms", dbProps.getMaxPoolSize(),
+                dbProps.getConnectionTimeout().toMillis());
+        return ds;
     }
 
     @Bean
-    @Profile("!prod")
-    public OrderRepository orderRepositoryDev(DataSource dataSource, java.util.Optional<JpaOrderRepository> jpaRepo) {
+    @Profile("!prod & !reactive")
+    public OrderRepository orderRepositoryDev(DataSource dataSource, java.util.Optional<JpaOrderRepository> jpaRepo,
+            MeterRegistry meterRegistry, Clock clock) {
         Objects.requireNonNull(dataSource);
         // If JPA repository bean exists (JPA on classpath and entities enabled),
         // use the Spring Data adapter automatically.
         if (jpaRepo != null && jpaRepo.isPresent()) {
-            return new SpringDataOrderRepositoryAdapter(jpaRepo.get());
+            return coalescing(new SpringDataOrderRepositoryAdapter(jpaRepo.get(), clock), meterRegistry);
         }
 
         // If DB_KIND requests Postgres but JPA is not available, fail early.
@@ -71,28 +106,37 @@ public class InfrastructureConfiguration {
                     "Detected Postgres DataSource in dev but JPA is not available. Add 'spring-boot-starter-data-jpa' or set DB_KIND=H2 in .env");
         }
 
-        return new H2OrderRepository(dataSource);
+        return coalescing(new H2OrderRepository(dataSource, clock), meterRegistry);
     }
 
     @Bean
-    @Profile("prod")
+    @Profile("prod & !reactive")
     public OrderRepository orderRepositoryProd(DataSource dataSource, java.util.Optional<JpaOrderRepository> jpaRepo,
-            Environment env) {
+            Environment env, MeterRegistry meterRegistry, Clock clock) {
         Objects.requireNonNull(dataSource);
         // Prefer JPA adapter in production if available
         if (jpaRepo != null && jpaRepo.isPresent()) {
-            return new SpringDataOrderRepositoryAdapter(jpaRepo.get());
+            return coalescing(new SpringDataOrderRepositoryAdapter(jpaRepo.get(), clock), meterRegistry);
         }
 
         throw new IllegalStateException(
                 "Production requires JPA adapter (spring-boot-starter-data-jpa). Add the dependency and configure spring.datasource.*");
     }
 
+    private OrderRepository coalescing(OrderRepository repository, MeterRegistry meterRegistry) {
+        if (!dbProps.isCoalesceReads())
+            return repository;
+        log.info("Concurrent reads of the same order are coalesced");
+        return new CoalescingOrderRepository(repository, meterRegistry);
+    }
+
     @Bean
-    public EventBus eventBus() {
-        InMemoryEventBus bus = new InMemoryEventBus();
+    public InMemoryEventBus inMemoryEventBus(MeterRegistry meterRegistry, EventBusProperties eventBusProps) {
+        InMemoryEventBus bus = new InMemoryEventBus(
+                new EventBusMetrics(meterRegistry, eventBusProps.getSlowHandlerThreshold()),
+                eventBusProps.isParallelHandlers() ? eventBusProps.getHandlerDeadline() : null);
         // register a simple logger handler for debugging
-        bus.register(Object.class, event -> {
+        bus.register(Object.class, "event-logger", event -> {
             System.out.println("[event] " + event);
             return Result.ok(null);
         });
@@ -100,7 +144,93 @@ public class InfrastructureConfiguration {
     }
 
     @Bean
-    public Clock clock() {
+    @Profile("!reactive")
+    public DeadLetterStore deadLetterStore(DataSource dataSource) {
+        return new JdbcDeadLetterStore(dataSource);
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public EventRetryQueue eventRetryQueue(InMemoryEventBus bus, DeadLetterStore deadLetterStore,
+            EventBusProperties eventBusProps, MeterRegistry meterRegistry, Clock clock) {
+        EventBusProperties.Retry retry = eventBusProps.getRetry();
+        EventRetryQueue queue = new EventRetryQueue(bus::redeliver, deadLetterStore,
+                new EventRetryQueue.Policy(retry.getMaxAttempts(), retry.getInitialBackoff(), retry.getMultiplier(),
+                        retry.getMaxBackoff(), retry.getMaxPending()),
+                meterRegistry, clock);
+        if (retry.isEnabled()) {
+            log.info("Event handler failures will be retried (max {} attempts) and then dead-lettered",
+                    retry.getMaxAttempts());
+            bus.setFailedDeliveryHandler(queue);
+        }
+        return queue;
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public DeadLetterEndpoint deadLetterEndpoint(DeadLetterStore deadLetterStore, EventRetryQueue eventRetryQueue) {
+        return new DeadLetterEndpoint(deadLetterStore, eventRetryQueue);
+    }
+
+    @Bean
+    @Primary
+    public EventBus eventBus(InMemoryEventBus bus, java.util.Optional<EventRetryQueue> eventRetryQueue,
+            MeterRegistry meterRegistry, EventBusProperties eventBusProps) {
+        // failure handling (if any; none with the reactive profile) wired before the bus is used
+        Objects.requireNonNull(eventRetryQueue);
+        if (eventBusProps.getMode() == EventBusProperties.Mode.PARTITIONED) {
+            log.info("Using partitioned event dispatch with {} partitions", eventBusProps.getPartitions());
+            PartitionedEventBus partitioned = new PartitionedEventBus(bus, eventBusProps.getPartitions(),
+                    eventBusProps.getPartitionQueueCapacity(), meterRegistry);
+            // los reintentos van por la partición del pedido, no en paralelo a ella
+            eventRetryQueue.ifPresent(queue -> queue.setRetryExecutor(partitioned::execute));
+            return partitioned;
+        }
+        return bus;
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public IdempotencyStore idempotencyStore(IdempotencyProperties props, DataSource dataSource, Clock clock) {
+        if (props.getStore() == IdempotencyProperties.Store.JDBC) {
+            log.info("Idempotency keys stored in the database (ttl {}, purged every {})", props.getTtl(),
+                    props.getPurgeInterval());
+            JdbcIdempotencyStore store = new JdbcIdempotencyStore(dataSource, props.getTtl(),
+                    props.getPendingTimeout(), clock);
+            store.startPurging(props.getPurgeInterval());
+            return store;
+        }
+        log.info("Idempotency keys stored in memory (ttl {}, max {} keys)", props.getTtl(), props.getMaxEntries());
+        return new InMemoryIdempotencyStore(props.getMaxEntries(), props.getTtl(), clock);
+    }
+
+    @Bean
+    public Clock clock(ClockProperties props) {
+        if (props.getResolution().isPositive()) {
+            log.info("Using a cached clock refreshed every {}", props.getResolution());
+            return new CachedClock(new SystemClock(), props.getResolution());
+        }
         return new SystemClock();
     }
+
+    /**
+     * El diccionario de ProductId es estático (dominio sin Spring); aquí solo
+     * se ajusta su límite.
+     */
+    @Bean
+    public ProductIdDictionary productIdDictionary(ProductProperties props) {
+        ProductIdDictionary dictionary = ProductId.dictionary();
+        dictionary.setMaxEntries(props.getDictionaryMaxEntries());
+        log.info("ProductId dictionary bounded to {} live SKUs", props.getDictionaryMaxEntries());
+        return dictionary;
+    }
+
+    @Bean
+    public OrderIdGenerator orderIdGenerator(Clock clock) {
+        if (dbProps.getOrderIds() == DatabaseProperties.OrderIds.RANDOM) {
+            log.info("New orders get random (version 4) UUIDs");
+            return OrderIdGenerator.random();
+        }
+        return new UuidV7OrderIdGenerator(clock);
+    }
 }
@@ -0,0 +1,52 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Propiedades del pipeline de casos de uso (app.pipeline).
+ */
+@ConfigurationProperties(prefix = "app.pipeline")
+@Validated
+public class PipelineProperties {
+
+    // 0 desactiva la caché de resultados (p. ej. versiones para ETag)
+    @NotNull
+    private Duration cacheTtl = Duration.ZERO;
+
+    @Min(1)
+    private int cacheMaxEntries = 10_000;
+
+    @NotNull
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    // Getters y setters
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Duration cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+}
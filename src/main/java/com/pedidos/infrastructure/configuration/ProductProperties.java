@@ -0,0 +1,29 @@
+package com.pedidos.infrastructure.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import com.pedidos.domain.valueobjects.ProductIdDictionary;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Productos (app.products): tamaño del diccionario compartido de ProductId.
+ */
+@ConfigurationProperties(prefix = "app.products")
+@Validated
+public class ProductProperties {
+
+    // SKUs vivos internados a la vez; por encima, ProductId sin código
+    @Min(1)
+    private int dictionaryMaxEntries = ProductIdDictionary.DEFAULT_MAX_ENTRIES;
+
+    // Getters y setters
+    public int getDictionaryMaxEntries() {
+        return dictionaryMaxEntries;
+    }
+
+    public void setDictionaryMaxEntries(int dictionaryMaxEntries) {
+        this.dictionaryMaxEntries = dictionaryMaxEntries;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.application.port.out.ReactiveOrderRepository;
+import com.pedidos.application.usecase.ReactiveOrderUseCases;
+import com.pedidos.infrastructure.adapter.persistence.r2dbc.R2dbcOrderRepository;
+import com.pedidos.infrastructure.eventbus.PartitionedEventBus;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Perfil reactive: WebFlux + R2DBC (ver application-reactive.yml).
+ *
+ * ConnectionFactory y DatabaseClient los crea Spring Boot a partir de
+ * spring.r2dbc.*. Sin DataSource ni JPA (los beans JDBC son !reactive); el
+ * R2dbcTransactionManager tampoco se publica como bean, solo lo usa el
+ * repositorio.
+ *
+ * Con la BD embebida el esquema se crea con las migraciones de db/migration.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfiguration {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ReactiveConfiguration.class);
+
+    static final String MIGRATIONS = "classpath:db/migration/*.sql";
+
+    /**
+     * Con app.db.kind=H2 (R2DBC_URL por defecto, en memoria) ejecuta
+     * db/migration en orden de nombre. Con Postgres no hace nada: las
+     * migraciones ya las aplica docker-entrypoint-initdb.d.
+     */
+    @Bean
+    public ConnectionFactoryInitializer schemaInitializer(ConnectionFactory connectionFactory,
+            DatabaseProperties dbProps) throws IOException {
+        boolean embedded = !"POSTGRES".equalsIgnoreCase(dbProps.getKind());
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+        initializer.setDatabasePopulator(migrations());
+        initializer.setEnabled(embedded);
+        if (embedded)
+            log.info("Creating the embedded database schema from {}", MIGRATIONS);
+        return initializer;
+    }
+
+    static ResourceDatabasePopulator migrations() throws IOException {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(MIGRATIONS);
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+        return new ResourceDatabasePopulator(scripts);
+    }
+
+    /**
+     * r2dbc-h2 ejecuta cada consulta de forma síncrona en el hilo que se suscribe,
+     * así que con H2 (solo para uso local) el repositorio se suscribe en
+     * boundedElastic y no en el event loop. Con Postgres se suscribe en el hilo
+     * actual.
+     */
+    @Bean
+    public ReactiveOrderRepository reactiveOrderRepository(DatabaseClient databaseClient,
+            ConnectionFactory connectionFactory, DatabaseProperties dbProps, Clock clock) {
+        TransactionalOperator tx = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        if ("POSTGRES".equalsIgnoreCase(dbProps.getKind())) {
+            log.info("Using R2DBC order repository (non-blocking)");
+            return new R2dbcOrderRepository(databaseClient, tx, clock);
+        }
+        log.warn("Using R2DBC order repository on embedded H2: queries block, running them on boundedElastic (local use only)");
+        return new R2dbcOrderRepository(databaseClient, tx, clock, Schedulers.boundedElastic());
+    }
+
+    /**
+     * El EventBus síncrono ejecuta los handlers en el hilo que publica, así que
+     * se publica en el pool elástico de Reactor y no en el event loop. El
+     * PartitionedEventBus solo encola, y se publica en el hilo actual.
+     */
+    @Bean
+    public ReactiveOrderUseCases reactiveOrderUseCases(ReactiveOrderRepository repository, EventBus eventBus,
+            OrderIdGenerator orderIds, Clock clock) {
+        Executor events = eventBus instanceof PartitionedEventBus ? Runnable::run
+                : Schedulers.boundedElastic()::schedule;
+        return new ReactiveOrderUseCases(repository, eventBus, orderIds, clock, events);
+    }
+}
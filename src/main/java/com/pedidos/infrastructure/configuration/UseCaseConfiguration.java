@@ -0,0 +1,102 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import com.pedidos.application.idempotency.IdempotentExecutor;
+import com.pedidos.application.pipeline.CachingInterceptor;
+import com.pedidos.application.pipeline.ExceptionMappingInterceptor;
+import com.pedidos.application.pipeline.LoggingInterceptor;
+import com.pedidos.application.pipeline.TracingInterceptor;
+import com.pedidos.application.pipeline.UseCaseInterceptor;
+import com.pedidos.application.pipeline.UseCasePipeline;
+import com.pedidos.application.pipeline.ValidationInterceptor;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.IdempotencyStore;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.application.usecase.AddItemToOrderUseCase;
+import com.pedidos.application.usecase.CreateOrderUseCase;
+import com.pedidos.application.usecase.CreateOrdersBatchUseCase;
+import com.pedidos.application.usecase.DeleteOrderUseCase;
+import com.pedidos.application.usecase.GetOrderUseCase;
+import com.pedidos.application.usecase.GetOrderVersionUseCase;
+import com.pedidos.infrastructure.pipeline.TimingInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Casos de uso como singletons y pipeline de interceptores compartido. Con el
+ * perfil reactive los sustituye ReactiveOrderUseCases (ReactiveConfiguration).
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(PipelineProperties.class)
+public class UseCaseConfiguration {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(UseCaseConfiguration.class);
+
+    /**
+     * Orden (de fuera a dentro): tracing, timing, logging, validación,
+     * mapeo de excepciones y caché. La validación va antes que la caché y
+     * que cualquier I/O; el timing incluye las peticiones rechazadas.
+     */
+    @Bean
+    public UseCasePipeline useCasePipeline(MeterRegistry meterRegistry, PipelineProperties props) {
+        List<UseCaseInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(new TracingInterceptor());
+        interceptors.add(new TimingInterceptor(meterRegistry, props.getSlowThreshold()));
+        interceptors.add(new LoggingInterceptor());
+        interceptors.add(new ValidationInterceptor());
+        interceptors.add(new ExceptionMappingInterceptor());
+        if (props.getCacheTtl().isPositive()) {
+            log.info("Use case result cache enabled (ttl {}, max {} entries)", props.getCacheTtl(),
+                    props.getCacheMaxEntries());
+            interceptors.add(new CachingInterceptor(props.getCacheTtl(), props.getCacheMaxEntries()));
+        }
+        return new UseCasePipeline(interceptors);
+    }
+
+    @Bean
+    public CreateOrderUseCase createOrderUseCase(OrderRepository repository, EventBus eventBus,
+            OrderIdGenerator orderIds, Clock clock) {
+        return new CreateOrderUseCase(repository, eventBus, orderIds, clock);
+    }
+
+    @Bean
+    public CreateOrdersBatchUseCase createOrdersBatchUseCase(OrderRepository repository, EventBus eventBus,
+            OrderIdGenerator orderIds, Clock clock) {
+        return new CreateOrdersBatchUseCase(repository, eventBus, orderIds, clock);
+    }
+
+    @Bean
+    public AddItemToOrderUseCase addItemToOrderUseCase(OrderRepository repository, EventBus eventBus) {
+        return new AddItemToOrderUseCase(repository, eventBus);
+    }
+
+    @Bean
+    public GetOrderUseCase getOrderUseCase(OrderRepository repository) {
+        return new GetOrderUseCase(repository);
+    }
+
+    @Bean
+    public GetOrderVersionUseCase getOrderVersionUseCase(OrderRepository repository) {
+        return new GetOrderVersionUseCase(repository);
+    }
+
+    @Bean
+    public DeleteOrderUseCase deleteOrderUseCase(OrderRepository repository, EventBus eventBus, Clock clock) {
+        return new DeleteOrderUseCase(repository, eventBus, clock);
+    }
+
+    @Bean
+    public IdempotentExecutor idempotentExecutor(IdempotencyStore idempotencyStore, Clock clock) {
+        return new IdempotentExecutor(idempotencyStore, clock);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pedidos.infrastructure.configuration;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.pedidos.infrastructure.admission.AdmissionControlFilter;
+import com.pedidos.infrastructure.admission.ClientRateLimiter;
+import com.pedidos.infrastructure.rest.OrderHttpMessageConverter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuración de Spring MVC: converters propios (JSON y CBOR) y filtros de
+ * la API REST. Solo para el stack servlet; con el perfil reactive no aplica.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(WebConfiguration.class);
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public WebConfiguration(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    /**
+     * JSON sigue siendo el formato por defecto; application/cbor se negocia
+     * con Accept / Content-Type en todos los endpoints de pedidos.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // antes que Jackson para que Order se escriba en streaming
+        converters.add(0, new OrderHttpMessageConverter());
+        converters.add(1, OrderHttpMessageConverter.cbor());
+        // DTOs de petición y respuesta en CBOR, con los mismos módulos y
+        // opciones que el ObjectMapper JSON de Spring Boot
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+    }
+
+    /**
+     * Admisión por cliente delante de /api/orders, antes que cualquier otro
+     * filtro para rechazar con el mínimo trabajo posible.
+     *
+     * Activada sin API keys ni server.forward-headers-strategy no arranca:
+     * detrás del gateway todos los clientes compartirían el bucket de la IP del
+     * proxy.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionProperties props,
+            Environment env, MeterRegistry meterRegistry) {
+        String forwardHeaders = env.getProperty("server.forward-headers-strategy", "none");
+        if (props.isEnabled() && props.getApiKeys().isEmpty() && "none".equalsIgnoreCase(forwardHeaders)) {
+            throw new IllegalStateException("app.admission.enabled requires app.admission.api-keys or "
+                    + "server.forward-headers-strategy (native|framework): otherwise every client behind the "
+                    + "gateway shares the proxy's IP bucket");
+        }
+        long now = System.nanoTime();
+        AdmissionProperties.Limit read = props.getRead();
+        AdmissionProperties.Limit write = props.getWrite();
+        AdmissionProperties.Limit batch = props.getBatch();
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                new ClientRateLimiter(read.getRatePerSecond(), read.getBurst(), props.getMaxClients(), now),
+                new ClientRateLimiter(write.getRatePerSecond(), write.getBurst(), props.getMaxClients(), now),
+                new ClientRateLimiter(batch.getRatePerSecond(), batch.getBurst(), props.getMaxClients(), now),
+                props.getApiKeyHeader(), props.getApiKeys(), meterRegistry);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/orders", "/api/orders/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(props.isEnabled());
+        log.info("Admission control {}: reads {}/s (burst {}), writes {}/s (burst {}), batches {}/s (burst {}) "
+                + "per client", props.isEnabled() ? "enabled" : "disabled", read.getRatePerSecond(), read.getBurst(),
+                write.getRatePerSecond(), write.getBurst(), batch.getRatePerSecond(), batch.getBurst());
+        return registration;
+    }
+}
@@ -0,0 +1,15 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.util.List;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Handler funcional que recibe todos los eventos de un mismo tipo publicados en
+ * un lote (publishAll), para poder hacer una única escritura por lote.
+ */
+@FunctionalInterface
+public interface BatchEventHandler<E> {
+    Result<Void, AppError> handleBatch(List<E> events);
+}
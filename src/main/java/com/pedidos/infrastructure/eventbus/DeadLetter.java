@@ -0,0 +1,15 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.time.Instant;
+
+/**
+ * Entrega que agotó sus reintentos. payload es null si el evento no se pudo
+ * serializar: la entrada se puede inspeccionar pero no reenviar.
+ */
+public record DeadLetter(String id, String eventType, String handler, boolean batch, String error, int attempts,
+        Instant failedAt, Object payload) {
+
+    public DeadLetter withFailure(String newError, int newAttempts, Instant at) {
+        return new DeadLetter(id, eventType, handler, batch, newError, newAttempts, at, payload);
+    }
+}
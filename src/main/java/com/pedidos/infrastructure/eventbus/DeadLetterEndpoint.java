@@ -0,0 +1,95 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Endpoint de Actuator para la dead-letter queue del EventBus.
+ *
+ * - GET /actuator/deadletters?limit=N: lista de entradas.
+ * - GET /actuator/deadletters/{id}: detalle de una entrada.
+ * - POST /actuator/deadletters/{id}: reenvía la entrada (redrive).
+ * - DELETE /actuator/deadletters/{id}: descarta la entrada.
+ *
+ * Las operaciones de escritura no llevan autenticación propia, así que el
+ * endpoint no se expone por web por defecto (management.endpoints.web.exposure).
+ */
+@Endpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final DeadLetterStore store;
+    private final EventRetryQueue retryQueue;
+
+    public DeadLetterEndpoint(DeadLetterStore store, EventRetryQueue retryQueue) {
+        this.store = store;
+        this.retryQueue = retryQueue;
+    }
+
+    @ReadOperation
+    public Map<String, Object> list(@Nullable Integer limit) {
+        Result<List<DeadLetter>, AppError> res = store.list(limit == null ? DEFAULT_LIMIT : limit);
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (res.isFail()) {
+            body.put("error", String.valueOf(res.getError()));
+            return body;
+        }
+        body.put("pendingRetries", retryQueue.pending());
+        Result<Long, AppError> count = store.count();
+        body.put("total", count.isOk() ? count.getValue() : null);
+        body.put("entries", res.getValue().stream().map(DeadLetterEndpoint::describe).toList());
+        return body;
+    }
+
+    @ReadOperation
+    public Map<String, Object> get(@Selector String id) {
+        Result<Optional<DeadLetter>, AppError> res = store.find(id);
+        if (res.isFail())
+            return Map.of("id", id, "error", String.valueOf(res.getError()));
+        return res.getValue().map(DeadLetterEndpoint::describe).orElse(null);
+    }
+
+    @WriteOperation
+    public Map<String, Object> redrive(@Selector String id) {
+        Result<Void, AppError> res = retryQueue.redrive(id);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", id);
+        body.put("status", res.isOk() ? "redriven" : "failed");
+        if (res.isFail())
+            body.put("error", String.valueOf(res.getError()));
+        return body;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> delete(@Selector String id) {
+        Result<Boolean, AppError> res = store.delete(id);
+        if (res.isFail())
+            return Map.of("id", id, "error", String.valueOf(res.getError()));
+        return Map.of("id", id, "deleted", res.getValue());
+    }
+
+    private static Map<String, Object> describe(DeadLetter dl) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", dl.id());
+        m.put("eventType", dl.eventType());
+        m.put("handler", dl.handler());
+        m.put("batch", dl.batch());
+        m.put("attempts", dl.attempts());
+        m.put("failedAt", dl.failedAt().toString());
+        m.put("error", dl.error());
+        m.put("redrivable", dl.payload() != null);
+        return m;
+    }
+}
@@ -0,0 +1,22 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Almacén de entregas que agotaron sus reintentos (dead-letter queue).
+ */
+public interface DeadLetterStore {
+    Result<Void, AppError> save(DeadLetter deadLetter);
+
+    Result<List<DeadLetter>, AppError> list(int limit);
+
+    Result<Optional<DeadLetter>, AppError> find(String id);
+
+    Result<Boolean, AppError> delete(String id);
+
+    Result<Long, AppError> count();
+}
@@ -0,0 +1,95 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas de despacho del EventBus (Micrometer).
+ *
+ * - pedidos.eventbus.events: eventos publicados, por tipo de evento.
+ * - pedidos.eventbus.handler: timer por tipo de evento, handler y resultado
+ * (success / failure / error / timeout), con histograma de percentiles.
+ * - pedidos.eventbus.handler.slow: ejecuciones que alcanzan el umbral de handler
+ * lento; cada una se registra además en el log con su duración.
+ *
+ * Los meters se cachean por clave para no reconstruir el builder en cada
+ * publicación.
+ */
+public final class EventBusMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_FAILURE = "failure";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_TIMEOUT = "timeout";
+
+    private static final Logger log = LoggerFactory.getLogger(EventBusMetrics.class);
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public EventBusMetrics(MeterRegistry registry, Duration slowHandlerThreshold) {
+        this.registry = Objects.requireNonNull(registry);
+        this.slowThresholdNanos = Objects.requireNonNull(slowHandlerThreshold).toNanos();
+    }
+
+    /**
+     * Métricas sobre el registro global de Micrometer y umbral de 50 ms.
+     */
+    public static EventBusMetrics global() {
+        return new EventBusMetrics(Metrics.globalRegistry, Duration.ofMillis(50));
+    }
+
+    public MeterRegistry registry() {
+        return registry;
+    }
+
+    public void eventPublished(String eventType) {
+        counters.computeIfAbsent("events|" + eventType,
+                k -> Counter.builder("pedidos.eventbus.events")
+                        .description("Domain events published on the event bus")
+                        .tag("event", eventType)
+                        .register(registry))
+                .increment();
+    }
+
+    /**
+     * Registra la duración de una ejecución de handler y avisa si supera el
+     * umbral de handler lento.
+     */
+    public void handlerCompleted(String eventType, String handler, String outcome, long elapsedNanos) {
+        timers.computeIfAbsent(eventType + '|' + handler + '|' + outcome,
+                k -> Timer.builder("pedidos.eventbus.handler")
+                        .description("Event handler execution time")
+                        .tag("event", eventType)
+                        .tag("handler", handler)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            counters.computeIfAbsent("slow|" + eventType + '|' + handler,
+                    k -> Counter.builder("pedidos.eventbus.handler.slow")
+                            .description("Event handler executions at or above the slow threshold")
+                            .tag("event", eventType)
+                            .tag("handler", handler)
+                            .register(registry))
+                    .increment();
+            log.warn("Slow event handler {} for event {}: {} ms (threshold {} ms)", handler, eventType,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos));
+        }
+    }
+}
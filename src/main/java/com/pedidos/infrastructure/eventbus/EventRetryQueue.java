@@ -0,0 +1,302 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cola local de reintentos para entregas fallidas.
+ *
+ * - Cada entrega fallida se reintenta solo contra el handler que falló, con
+ * backoff exponencial (con jitter). La espera la lleva un hilo programado
+ * propio, nunca el hilo de la petición; el reintento se ejecuta en el
+ * RetryExecutor (por defecto ese mismo hilo; con PartitionedEventBus, la
+ * partición del pedido).
+ * - Orden: un reintento llega después de los eventos del mismo pedido
+ * publicados durante el backoff. Con particiones nunca se solapa con ellos,
+ * pero los handlers que se reintentan deben tolerar ese desorden.
+ * - Al agotar maxAttempts (contando la entrega original) o si hay demasiadas
+ * entregas pendientes, la entrega pasa al DeadLetterStore.
+ * - redrive(id) reenvía manualmente una entrada de la dead-letter queue.
+ */
+public final class EventRetryQueue implements FailedDeliveryHandler, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EventRetryQueue.class);
+
+    /**
+     * Reenvía un payload a un handler concreto (InMemoryEventBus::redeliver).
+     */
+    @FunctionalInterface
+    public interface Redeliverer {
+        Result<Void, AppError> redeliver(Object payload, String handler, boolean batch);
+    }
+
+    /**
+     * Ejecuta un reintento ya vencido. payload es el evento (o lote) de la
+     * entrega, para elegir dónde ejecutarlo. Puede lanzar
+     * RejectedExecutionException si no admite más trabajo.
+     */
+    @FunctionalInterface
+    public interface RetryExecutor {
+        void execute(Object payload, Runnable retry);
+    }
+
+    /**
+     * Política de reintentos: maxAttempts incluye la entrega original.
+     */
+    public record Policy(int maxAttempts, Duration initialBackoff, double multiplier, Duration maxBackoff,
+            int maxPending) {
+        public Policy {
+            if (maxAttempts < 1)
+                throw new IllegalArgumentException("maxAttempts must be >= 1");
+            if (multiplier < 1.0)
+                throw new IllegalArgumentException("multiplier must be >= 1");
+            if (maxPending < 0)
+                throw new IllegalArgumentException("maxPending must be >= 0");
+            Objects.requireNonNull(initialBackoff);
+            Objects.requireNonNull(maxBackoff);
+        }
+
+        long backoffMillis(int attempt) {
+            double base = initialBackoff.toMillis() * Math.pow(multiplier, attempt - 1);
+            double capped = Math.min(base, maxBackoff.toMillis());
+            // jitter +-20% para no sincronizar reintentos de muchos eventos
+            return Math.max(0L, (long) (capped * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+        }
+    }
+
+    /**
+     * Reintento programado. Identidad por instancia (no por valor) para que dos
+     * fallos iguales no se confundan en el conjunto de pendientes.
+     */
+    private static final class PendingRetry {
+        private final FailedDelivery delivery;
+        private final int attempt;
+
+        PendingRetry(FailedDelivery delivery, int attempt) {
+            this.delivery = delivery;
+            this.attempt = attempt;
+        }
+
+        FailedDelivery delivery() {
+            return delivery;
+        }
+
+        int attempt() {
+            return attempt;
+        }
+    }
+
+    private final Redeliverer redeliverer;
+    private final DeadLetterStore store;
+    private final Policy policy;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Set<PendingRetry> scheduledRetries = ConcurrentHashMap.newKeySet();
+    private final Counter scheduled;
+    private final Counter recovered;
+    private final Counter deadLettered;
+    private volatile RetryExecutor retryExecutor = (payload, retry) -> retry.run();
+
+    public EventRetryQueue(Redeliverer redeliverer, DeadLetterStore store, Policy policy, MeterRegistry registry) {
+        this(redeliverer, store, policy, registry, Clock.system());
+    }
+
+    /**
+     * El reloj fecha las entradas de la dead-letter queue (failedAt).
+     */
+    public EventRetryQueue(Redeliverer redeliverer, DeadLetterStore store, Policy policy, MeterRegistry registry,
+            Clock clock) {
+        this.redeliverer = Objects.requireNonNull(redeliverer);
+        this.store = Objects.requireNonNull(store);
+        this.policy = Objects.requireNonNull(policy);
+        this.clock = Objects.requireNonNull(clock);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "eventbus-retry");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("pedidos.eventbus.retry.pending", pending, AtomicInteger::get)
+                .description("Failed deliveries waiting for a retry")
+                .register(registry);
+        this.scheduled = Counter.builder("pedidos.eventbus.retry.scheduled")
+                .description("Retries scheduled for failed deliveries")
+                .register(registry);
+        this.recovered = Counter.builder("pedidos.eventbus.retry.recovered")
+                .description("Failed deliveries that succeeded on retry or redrive")
+                .register(registry);
+        this.deadLettered = Counter.builder("pedidos.eventbus.retry.deadlettered")
+                .description("Deliveries moved to the dead-letter store")
+                .register(registry);
+    }
+
+    @Override
+    public void onFailedDelivery(FailedDelivery delivery) {
+        schedule(delivery, 1);
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    /**
+     * Con PartitionedEventBus::execute los reintentos se ejecutan en la
+     * partición de su pedido, en serie con el resto de sus eventos, en lugar
+     * de en el hilo de reintentos.
+     */
+    public void setRetryExecutor(RetryExecutor retryExecutor) {
+        this.retryExecutor = Objects.requireNonNull(retryExecutor);
+    }
+
+    private void schedule(FailedDelivery delivery, int failedAttempts) {
+        if (failedAttempts >= policy.maxAttempts()) {
+            deadLetter(delivery, failedAttempts);
+            return;
+        }
+        if (pending.incrementAndGet() > policy.maxPending()) {
+            pending.decrementAndGet();
+            log.warn("Retry queue full ({} pending), dead-lettering delivery to {}", policy.maxPending(),
+                    delivery.handler());
+            deadLetter(delivery, failedAttempts);
+            return;
+        }
+        long delay = policy.backoffMillis(failedAttempts);
+        scheduled.increment();
+        log.debug("Retrying delivery to {} in {} ms (attempt {} of {})", delivery.handler(), delay,
+                failedAttempts + 1, policy.maxAttempts());
+        PendingRetry retry = new PendingRetry(delivery, failedAttempts + 1);
+        scheduledRetries.add(retry);
+        try {
+            scheduler.schedule(() -> dispatch(retry), delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            scheduledRetries.remove(retry);
+            pending.decrementAndGet();
+            log.warn("Retry scheduler unavailable ({}), dead-lettering delivery to {}", ex.toString(),
+                    delivery.handler());
+            deadLetter(delivery, failedAttempts);
+        }
+    }
+
+    private void dispatch(PendingRetry retry) {
+        try {
+            retryExecutor.execute(retry.delivery().payload(), () -> retry(retry));
+        } catch (RuntimeException ex) {
+            if (!scheduledRetries.remove(retry))
+                return;
+            pending.decrementAndGet();
+            log.warn("Retry executor rejected delivery to {} ({}), dead-lettering it", retry.delivery().handler(),
+                    ex.toString());
+            deadLetter(retry.delivery(), retry.attempt() - 1);
+        }
+    }
+
+    private void retry(PendingRetry retry) {
+        if (!scheduledRetries.remove(retry))
+            return;
+        pending.decrementAndGet();
+        FailedDelivery delivery = retry.delivery();
+        int attempt = retry.attempt();
+        Result<Void, AppError> res;
+        try {
+            res = redeliverer.redeliver(delivery.payload(), delivery.handler(), delivery.batch());
+        } catch (RuntimeException ex) {
+            res = Result.fail(new InfraError("Redelivery threw exception: " + ex.getMessage(), ex));
+        }
+        if (res.isOk()) {
+            recovered.increment();
+            log.info("Delivery to {} succeeded on attempt {}", delivery.handler(), attempt);
+            return;
+        }
+        FailedDelivery next = new FailedDelivery(delivery.payload(), delivery.handler(), delivery.batch(),
+                res.getError());
+        schedule(next, attempt);
+    }
+
+    private void deadLetter(FailedDelivery delivery, int attempts) {
+        Object payload = delivery.payload();
+        String eventType = payload instanceof List<?> l && delivery.batch() && !l.isEmpty()
+                ? l.get(0).getClass().getSimpleName() + "[]"
+                : payload == null ? "null" : payload.getClass().getSimpleName();
+        DeadLetter dl = new DeadLetter(UUID.randomUUID().toString(), eventType, delivery.handler(), delivery.batch(),
+                String.valueOf(delivery.error()), attempts, clock.now(), payload);
+        Result<Void, AppError> res = store.save(dl);
+        if (res.isFail()) {
+            log.error("Failed to dead-letter delivery of {} to {}, event dropped: {}", eventType,
+                    delivery.handler(), res.getError());
+            return;
+        }
+        deadLettered.increment();
+        log.warn("Delivery of {} to {} dead-lettered as {} after {} attempts: {}", eventType, delivery.handler(),
+                dl.id(), attempts, delivery.error());
+    }
+
+    /**
+     * Reenvía una entrada de la dead-letter queue en el hilo llamador. Si tiene
+     * éxito la entrada se borra; si falla se actualiza su error y su número de
+     * intentos.
+     */
+    public Result<Void, AppError> redrive(String id) {
+        Result<Optional<DeadLetter>, AppError> found = store.find(id);
+        if (found.isFail())
+            return Result.fail(found.getError());
+        if (found.getValue().isEmpty())
+            return Result.fail(new NotFoundError("Dead letter not found: " + id));
+
+        DeadLetter dl = found.getValue().get();
+        if (dl.payload() == null)
+            return Result.fail(new ValidationError("Dead letter " + id + " has no readable payload"));
+
+        Result<Void, AppError> res;
+        try {
+            res = redeliverer.redeliver(dl.payload(), dl.handler(), dl.batch());
+        } catch (RuntimeException ex) {
+            res = Result.fail(new InfraError("Redelivery threw exception: " + ex.getMessage(), ex));
+        }
+        if (res.isFail()) {
+            store.save(dl.withFailure(String.valueOf(res.getError()), dl.attempts() + 1, clock.now()));
+            return res;
+        }
+        recovered.increment();
+        log.info("Dead letter {} redriven to {}", id, dl.handler());
+        return store.delete(id).map(deleted -> null);
+    }
+
+    /**
+     * Detiene el planificador. Las entregas pendientes se mueven a la dead-letter
+     * queue para no perderlas.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (PendingRetry retry : scheduledRetries) {
+            if (scheduledRetries.remove(retry)) {
+                pending.decrementAndGet();
+                deadLetter(retry.delivery(), retry.attempt() - 1);
+            }
+        }
+    }
+}
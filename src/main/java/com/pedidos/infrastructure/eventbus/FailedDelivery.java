@@ -0,0 +1,10 @@
+package com.pedidos.infrastructure.eventbus;
+
+import com.pedidos.application.errors.AppError;
+
+/**
+ * Entrega fallida de un evento (o de un lote, si batch es true) a un handler
+ * concreto, identificado por su nombre de registro.
+ */
+public record FailedDelivery(Object payload, String handler, boolean batch, AppError error) {
+}
@@ -0,0 +1,10 @@
+package com.pedidos.infrastructure.eventbus;
+
+/**
+ * Destino de las entregas fallidas. Si el EventBus tiene uno configurado, los
+ * fallos de los handlers se le entregan en lugar de devolverse al publicador.
+ */
+@FunctionalInterface
+public interface FailedDeliveryHandler {
+    void onFailedDelivery(FailedDelivery delivery);
+}
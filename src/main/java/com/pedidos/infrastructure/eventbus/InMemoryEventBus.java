@@ -1,17 +1,26 @@
 package com.pedidos.infrastructure.eventbus;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.pedidos.application.errors.AppError;
 import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.NotFoundError;
 import com.pedidos.application.port.out.EventBus;
 import com.pedidos.shared.result.Result;
 
@@ -19,76 +28,483 @@ import com.pedidos.shared.result.Result;
  * EventBus síncrono en memoria.
  *
  * - Registro por tipo de evento: register(EventClass, handler)
+ * - Registro por lotes: registerBatch(EventClass, batchHandler) recibe en una
+ * sola llamada todos los eventos de ese tipo publicados con publishAll.
  * - Publicación síncrona: publish(event) invoca handlers en el hilo llamador.
  * - Si algún handler devuelve Result.fail(...) se devuelve ese fallo (el
  * primero).
  * - Excepciones lanzadas por handlers se mapean a InfraError.
+ * - Cada ejecución de handler se mide (EventBusMetrics) por tipo de evento y
+ * nombre de handler; los handlers lentos se registran en el log.
+ * - Opcionalmente (fan-out) los handlers de un mismo evento se ejecutan en
+ * paralelo en hilos virtuales con un plazo máximo; en ese modo se agregan todos
+ * los fallos en lugar de parar en el primero. Los handlers de lotes siguen
+ * siendo secuenciales.
+ * - Con un FailedDeliveryHandler (cola de reintentos) los fallos no se
+ * devuelven al publicador: se reintentan solo contra el handler que falló.
  */
-public final class InMemoryEventBus implements EventBus {
+public final class InMemoryEventBus implements EventBus, AutoCloseable {
 
-    private final Map<Class<?>, List<EventHandler<?>>> handlers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Registration<EventHandler<?>>>> handlers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Registration<BatchEventHandler<?>>>> batchHandlers = new ConcurrentHashMap<>();
+    private final EventBusMetrics metrics;
+    private final Duration handlerDeadline;
+    private final ExecutorService fanOut;
+    private volatile FailedDeliveryHandler failedDeliveries;
     private static final Logger log = LoggerFactory.getLogger(InMemoryEventBus.class);
 
     /**
-     * Registra un handler para un tipo de evento concreto.
+     * Handler registrado junto con el nombre usado en métricas y logs.
      */
-    public <E> void register(Class<E> eventType, EventHandler<E> handler) {
+    private record Registration<H>(String name, H handler) {
+    }
+
+    public InMemoryEventBus() {
+        this(EventBusMetrics.global());
+    }
+
+    public InMemoryEventBus(EventBusMetrics metrics) {
+        this(metrics, null);
+    }
+
+    /**
+     * Con handlerDeadline no nulo activa el fan-out: los handlers de un mismo
+     * evento se ejecutan en paralelo en hilos virtuales y publish espera como
+     * máximo ese plazo, de modo que la latencia es la del handler más lento y no
+     * la suma de todos.
+     */
+    public InMemoryEventBus(EventBusMetrics metrics, Duration handlerDeadline) {
+        this.metrics = Objects.requireNonNull(metrics);
+        this.handlerDeadline = handlerDeadline;
+        this.fanOut = handlerDeadline == null ? null : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Con un FailedDeliveryHandler configurado (p.ej. EventRetryQueue) los fallos
+     * de los handlers se le entregan y publish no falla: el publicador no queda
+     * bloqueado por un consumidor inestable. Con null (por defecto) se vuelve al
+     * comportamiento de devolver el primer fallo.
+     */
+    public void setFailedDeliveryHandler(FailedDeliveryHandler failedDeliveries) {
+        this.failedDeliveries = failedDeliveries;
+    }
+
+    /**
+     * Registra un handler para un tipo de evento concreto. Si el nombre por
+     * defecto ya está en uso (p.ej. dos lambdas de la misma clase) se le añade un
+     * sufijo con el número de registro ("Clase.lambda#2").
+     */
+    public synchronized <E> void register(Class<E> eventType, EventHandler<E> handler) {
+        Objects.requireNonNull(handler);
+        register(eventType, uniqueName(handlers, defaultName(handler)), handler);
+    }
+
+    /**
+     * Registra un handler con un nombre explícito (tag "handler" en métricas). El
+     * nombre identifica al handler en reintentos y en la dead-letter queue, así
+     * que debe ser único entre los handlers individuales.
+     *
+     * @throws IllegalArgumentException si ya hay un handler con ese nombre
+     */
+    public synchronized <E> void register(Class<E> eventType, String name, EventHandler<E> handler) {
         Objects.requireNonNull(eventType);
+        Objects.requireNonNull(name);
         Objects.requireNonNull(handler);
-        handlers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>()).add(handler);
+        requireUnusedName(handlers, name);
+        handlers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>())
+                .add(new Registration<>(name, handler));
     }
 
     /**
      * Desregistra un handler (si estaba registrado).
      */
-    public <E> void unregister(Class<E> eventType, EventHandler<E> handler) {
-        List<EventHandler<?>> list = handlers.get(eventType);
+    public synchronized <E> void unregister(Class<E> eventType, EventHandler<E> handler) {
+        List<Registration<EventHandler<?>>> list = handlers.get(eventType);
         if (list != null) {
-            list.remove(handler);
+            list.removeIf(r -> r.handler() == handler);
             if (list.isEmpty())
                 handlers.remove(eventType);
         }
     }
 
+    /**
+     * Registra un handler de lotes para un tipo de evento concreto. En publish(e)
+     * recibe una lista de un elemento; en publishAll(events) recibe, una sola vez,
+     * todos los eventos del lote asignables a ese tipo, en orden. El nombre por
+     * defecto se hace único igual que en register.
+     */
+    public synchronized <E> void registerBatch(Class<E> eventType, BatchEventHandler<E> handler) {
+        Objects.requireNonNull(handler);
+        registerBatch(eventType, uniqueName(batchHandlers, defaultName(handler)), handler);
+    }
+
+    /**
+     * Registra un handler de lotes con un nombre explícito, único entre los
+     * handlers de lotes.
+     *
+     * @throws IllegalArgumentException si ya hay un handler de lotes con ese nombre
+     */
+    public synchronized <E> void registerBatch(Class<E> eventType, String name, BatchEventHandler<E> handler) {
+        Objects.requireNonNull(eventType);
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(handler);
+        requireUnusedName(batchHandlers, name);
+        batchHandlers.computeIfAbsent(eventType, k -> new CopyOnWriteArrayList<>())
+                .add(new Registration<>(name, handler));
+    }
+
+    /**
+     * Desregistra un handler de lotes (si estaba registrado).
+     */
+    public synchronized <E> void unregisterBatch(Class<E> eventType, BatchEventHandler<E> handler) {
+        List<Registration<BatchEventHandler<?>>> list = batchHandlers.get(eventType);
+        if (list != null) {
+            list.removeIf(r -> r.handler() == handler);
+            if (list.isEmpty())
+                batchHandlers.remove(eventType);
+        }
+    }
+
     @Override
     public Result<Void, AppError> publish(Object event) {
         if (event == null)
             return Result.ok(null);
+        return publishAll(List.of(event));
+    }
+
+    /**
+     * Publica un lote: primero cada evento pasa por sus handlers individuales (en
+     * orden) y después cada handler de lotes recibe una única lista con los
+     * eventos que le corresponden.
+     */
+    @Override
+    public Result<Void, AppError> publishAll(List<?> events) {
+        if (events == null || events.isEmpty())
+            return Result.ok(null);
+
+        log.debug("Publishing batch of {} events to handlers", events.size());
+
+        for (Object event : events) {
+            if (event == null)
+                continue;
+            Result<Void, AppError> res = dispatch(event);
+            if (res.isFail())
+                return res;
+        }
 
+        if (!batchHandlers.isEmpty()) {
+            Result<Void, AppError> res = dispatchBatches(events);
+            if (res.isFail())
+                return res;
+        }
+
+        log.debug("Batch of {} events published successfully", events.size());
+        return Result.ok(null);
+    }
+
+    private Result<Void, AppError> dispatch(Object event) {
         Class<?> eventClass = event.getClass();
+        String eventType = eventClass.getSimpleName();
 
-        log.debug("Publishing event of type {} to handlers", eventClass.getSimpleName());
+        log.debug("Publishing event of type {} to handlers", eventType);
+        metrics.eventPublished(eventType);
 
         // Recolectar handlers aplicables (incluye superclases/interfaces)
-        List<EventHandler<?>> applicable = new ArrayList<>();
-        for (Map.Entry<Class<?>, List<EventHandler<?>>> e : handlers.entrySet()) {
+        List<Registration<EventHandler<?>>> applicable = new ArrayList<>();
+        for (Map.Entry<Class<?>, List<Registration<EventHandler<?>>>> e : handlers.entrySet()) {
             if (e.getKey().isAssignableFrom(eventClass)) {
                 applicable.addAll(e.getValue());
             }
         }
 
+        if (fanOut != null && applicable.size() > 1) {
+            Result<Void, AppError> res = dispatchInParallel(event, eventType, applicable);
+            if (res.isOk())
+                log.debug("Event {} published successfully", eventType);
+            return res;
+        }
+
         // Ejecutar handlers uno a uno de forma síncrona
-        for (EventHandler<?> h : applicable) {
+        for (Registration<EventHandler<?>> r : applicable) {
+            Result<Void, AppError> res = invoke(r, event, eventType);
+            if (res.isFail() && !handOff(new FailedDelivery(event, r.name(), false, res.getError())))
+                return res;
+        }
+        log.debug("Event {} published successfully", eventType);
+        return Result.ok(null);
+    }
+
+    /**
+     * Ejecuta un handler midiendo su duración y mapeando excepciones a InfraError.
+     */
+    private Result<Void, AppError> invoke(Registration<EventHandler<?>> r, Object event, String eventType) {
+        return invoke(r, event, eventType, new AtomicBoolean());
+    }
+
+    /**
+     * Como invoke, pero solo registra la métrica si gana outcome: en el fan-out
+     * el plazo vencido ya ha registrado TIMEOUT y el handler cancelado no debe
+     * contar además como éxito o fallo.
+     */
+    private Result<Void, AppError> invoke(Registration<EventHandler<?>> r, Object event, String eventType,
+            AtomicBoolean outcome) {
+        long start = System.nanoTime();
+        try {
+            @SuppressWarnings("unchecked")
+            EventHandler<Object> eh = (EventHandler<Object>) r.handler();
+            Result<Void, AppError> res = eh.handle(event);
+            Result<Void, AppError> checked = checkResult(res, eventType);
+            if (outcome.compareAndSet(false, true))
+                metrics.handlerCompleted(eventType, r.name(),
+                        checked.isOk() ? EventBusMetrics.OUTCOME_SUCCESS : EventBusMetrics.OUTCOME_FAILURE,
+                        System.nanoTime() - start);
+            return checked;
+        } catch (Exception ex) {
+            if (outcome.compareAndSet(false, true))
+                metrics.handlerCompleted(eventType, r.name(), EventBusMetrics.OUTCOME_ERROR,
+                        System.nanoTime() - start);
+            log.error("Event handler {} threw exception for event {}: {}", r.name(), eventType, ex.toString());
+            return Result.fail(new InfraError("Event handler threw exception: " + ex.getMessage(), ex));
+        }
+    }
+
+    /**
+     * Fan-out: lanza cada handler en su propio hilo virtual y espera a todos hasta
+     * el plazo configurado. Los handlers que no terminan a tiempo se cancelan y
+     * cuentan como fallo. Con un único fallo se devuelve ese error; con varios,
+     * un InfraError que los agrega.
+     */
+    private Result<Void, AppError> dispatchInParallel(Object event, String eventType,
+            List<Registration<EventHandler<?>>> applicable) {
+        List<Future<Result<Void, AppError>>> futures = new ArrayList<>(applicable.size());
+        List<AtomicBoolean> outcomes = new ArrayList<>(applicable.size());
+        for (Registration<EventHandler<?>> r : applicable) {
+            AtomicBoolean outcome = new AtomicBoolean();
+            outcomes.add(outcome);
+            futures.add(fanOut.submit(() -> invoke(r, event, eventType, outcome)));
+        }
+
+        long deadline = System.nanoTime() + handlerDeadline.toNanos();
+        List<FailedDelivery> failures = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            Future<Result<Void, AppError>> f = futures.get(i);
+            String name = applicable.get(i).name();
             try {
-                @SuppressWarnings("unchecked")
-                EventHandler<Object> eh = (EventHandler<Object>) h;
-                Result<Void, AppError> res = eh.handle(event);
-                if (res == null) {
-                    log.error("Event handler returned null Result for event {}", eventClass.getSimpleName());
-                    return Result.fail(new InfraError("Event handler returned null Result",
-                            new NullPointerException("handler returned null")));
+                Result<Void, AppError> res;
+                try {
+                    res = f.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException ex) {
+                    if (outcomes.get(i).compareAndSet(false, true)) {
+                        f.cancel(true);
+                        metrics.handlerCompleted(eventType, name, EventBusMetrics.OUTCOME_TIMEOUT,
+                                handlerDeadline.toNanos());
+                        log.error("Event handler {} exceeded deadline of {} ms for event {}", name,
+                                handlerDeadline.toMillis(), eventType);
+                        failures.add(new FailedDelivery(event, name, false, new InfraError("Event handler " + name
+                                + " exceeded deadline of " + handlerDeadline.toMillis() + " ms", ex)));
+                        continue;
+                    }
+                    // Terminó justo al vencer el plazo y ya registró su resultado
+                    res = f.get();
+                }
+                if (res.isFail())
+                    failures.add(new FailedDelivery(event, name, false, res.getError()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.forEach(other -> other.cancel(true));
+                return Result.fail(new InfraError("Interrupted while waiting for event handlers", ex));
+            } catch (ExecutionException ex) {
+                // invoke() ya captura Exception; solo llegan aquí los Error
+                failures.add(new FailedDelivery(event, name, false,
+                        new InfraError("Event handler " + name + " failed: " + ex.getCause(), ex.getCause())));
+            }
+        }
+
+        List<AppError> errors = new ArrayList<>();
+        for (FailedDelivery failure : failures) {
+            if (!handOff(failure))
+                errors.add(failure.error());
+        }
+        if (errors.isEmpty())
+            return Result.ok(null);
+        if (errors.size() == 1)
+            return Result.fail(errors.get(0));
+        return Result.fail(aggregate(eventType, errors));
+    }
+
+    private static InfraError aggregate(String eventType, List<AppError> errors) {
+        StringBuilder message = new StringBuilder()
+                .append(errors.size()).append(" event handlers failed for event ").append(eventType).append(": ");
+        Throwable cause = null;
+        for (int i = 0; i < errors.size(); i++) {
+            AppError err = errors.get(i);
+            if (i > 0)
+                message.append("; ");
+            message.append(err instanceof InfraError ie ? ie.message() : String.valueOf(err));
+            if (err instanceof InfraError ie && ie.cause() != null) {
+                if (cause == null)
+                    cause = ie.cause();
+                else if (cause != ie.cause())
+                    cause.addSuppressed(ie.cause());
+            }
+        }
+        return new InfraError(message.toString(), cause);
+    }
+
+    private Result<Void, AppError> dispatchBatches(List<?> events) {
+        for (Map.Entry<Class<?>, List<Registration<BatchEventHandler<?>>>> e : batchHandlers.entrySet()) {
+            Class<?> type = e.getKey();
+            List<Object> matching = new ArrayList<>();
+            for (Object event : events) {
+                if (event != null && type.isAssignableFrom(event.getClass()))
+                    matching.add(event);
+            }
+            if (matching.isEmpty())
+                continue;
+
+            List<Object> batch = List.copyOf(matching);
+            String eventType = type.getSimpleName() + "[]";
+            for (Registration<BatchEventHandler<?>> r : e.getValue()) {
+                Result<Void, AppError> res = invokeBatch(r, batch, eventType);
+                if (res.isFail() && !handOff(new FailedDelivery(batch, r.name(), true, res.getError())))
+                    return res;
+            }
+        }
+        return Result.ok(null);
+    }
+
+    private Result<Void, AppError> invokeBatch(Registration<BatchEventHandler<?>> r, List<Object> batch,
+            String eventType) {
+        long start = System.nanoTime();
+        try {
+            @SuppressWarnings("unchecked")
+            BatchEventHandler<Object> bh = (BatchEventHandler<Object>) r.handler();
+            Result<Void, AppError> res = bh.handleBatch(batch);
+            Result<Void, AppError> checked = checkResult(res, eventType);
+            metrics.handlerCompleted(eventType, r.name(),
+                    checked.isOk() ? EventBusMetrics.OUTCOME_SUCCESS : EventBusMetrics.OUTCOME_FAILURE,
+                    System.nanoTime() - start);
+            return checked;
+        } catch (Exception ex) {
+            metrics.handlerCompleted(eventType, r.name(), EventBusMetrics.OUTCOME_ERROR, System.nanoTime() - start);
+            log.error("Batch event handler {} threw exception for {}: {}", r.name(), eventType, ex.toString());
+            return Result.fail(new InfraError("Batch event handler threw exception: " + ex.getMessage(), ex));
+        }
+    }
+
+    /**
+     * Entrega el fallo al FailedDeliveryHandler si hay uno. Devuelve false si no
+     * hay (el fallo debe devolverse al publicador).
+     */
+    private boolean handOff(FailedDelivery failure) {
+        FailedDeliveryHandler target = failedDeliveries;
+        if (target == null)
+            return false;
+        try {
+            target.onFailedDelivery(failure);
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failed delivery handler threw for handler {}: {}", failure.handler(), ex.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Reentrega un evento (o un lote) solo al handler con ese nombre, sin pasar
+     * por el FailedDeliveryHandler. Usado por la cola de reintentos y el redrive
+     * de la dead-letter queue. Los nombres son únicos (ver register), así que
+     * como mucho hay un destino.
+     */
+    public Result<Void, AppError> redeliver(Object payload, String handlerName, boolean batch) {
+        Objects.requireNonNull(payload);
+        Objects.requireNonNull(handlerName);
+        if (batch) {
+            List<?> events = (List<?>) payload;
+            Class<?> first = events.isEmpty() ? Object.class : events.get(0).getClass();
+            for (Map.Entry<Class<?>, List<Registration<BatchEventHandler<?>>>> e : batchHandlers.entrySet()) {
+                if (!e.getKey().isAssignableFrom(first))
+                    continue;
+                for (Registration<BatchEventHandler<?>> r : e.getValue()) {
+                    if (r.name().equals(handlerName))
+                        return invokeBatch(r, List.copyOf(events), e.getKey().getSimpleName() + "[]");
                 }
-                if (res.isFail()) {
-                    log.warn("Event handler returned failure for event {}: {}", eventClass.getSimpleName(),
-                            res.getError());
-                    return Result.fail(res.getError());
+            }
+        } else {
+            Class<?> eventClass = payload.getClass();
+            for (Map.Entry<Class<?>, List<Registration<EventHandler<?>>>> e : handlers.entrySet()) {
+                if (!e.getKey().isAssignableFrom(eventClass))
+                    continue;
+                for (Registration<EventHandler<?>> r : e.getValue()) {
+                    if (r.name().equals(handlerName))
+                        return invoke(r, payload, eventClass.getSimpleName());
                 }
-            } catch (Exception ex) {
-                log.error("Event handler threw exception for event {}: {}", eventClass.getSimpleName(), ex.toString());
-                return Result.fail(new InfraError("Event handler threw exception: " + ex.getMessage(), ex));
             }
         }
-        log.debug("Event {} published successfully", eventClass.getSimpleName());
+        return Result.fail(new NotFoundError("No event handler named " + handlerName + " for "
+                + payload.getClass().getSimpleName()));
+    }
+
+    private static Result<Void, AppError> checkResult(Result<Void, AppError> res, String what) {
+        if (res == null) {
+            log.error("Event handler returned null Result for event {}", what);
+            return Result.fail(new InfraError("Event handler returned null Result",
+                    new NullPointerException("handler returned null")));
+        }
+        if (res.isFail()) {
+            log.warn("Event handler returned failure for event {}: {}", what, res.getError());
+            return Result.fail(res.getError());
+        }
         return Result.ok(null);
     }
-}
\ No newline at end of file
+
+    /**
+     * Detiene el executor de fan-out (si está activo).
+     */
+    @Override
+    public void close() {
+        if (fanOut != null)
+            fanOut.close();
+    }
+
+    private static boolean nameInUse(Map<Class<?>, ? extends List<? extends Registration<?>>> registry,
+            String name) {
+        for (List<? extends Registration<?>> list : registry.values()) {
+            for (Registration<?> r : list) {
+                if (r.name().equals(name))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    private static void requireUnusedName(Map<Class<?>, ? extends List<? extends Registration<?>>> registry,
+            String name) {
+        if (nameInUse(registry, name))
+            throw new IllegalArgumentException("Event handler name " + name + " is already registered");
+    }
+
+    /**
+     * Devuelve base si está libre o, si no, base#2, base#3... El sufijo depende
+     * solo del orden de registro, así que es estable entre arranques y sigue
+     * sirviendo para el redrive de la dead-letter queue.
+     */
+    private static String uniqueName(Map<Class<?>, ? extends List<? extends Registration<?>>> registry,
+            String base) {
+        String name = base;
+        for (int seq = 2; nameInUse(registry, name); seq++)
+            name = base + "#" + seq;
+        return name;
+    }
+
+    /**
+     * Nombre por defecto: nombre simple de la clase del handler, sin el sufijo
+     * sintético de las lambdas (que cambia entre arranques).
+     */
+    private static String defaultName(Object handler) {
+        String name = handler.getClass().getName();
+        int lambda = name.indexOf("$$Lambda");
+        String base = lambda >= 0 ? name.substring(0, lambda) : name;
+        String simple = base.substring(base.lastIndexOf('.') + 1);
+        return lambda >= 0 ? simple + ".lambda" : simple;
+    }
+}
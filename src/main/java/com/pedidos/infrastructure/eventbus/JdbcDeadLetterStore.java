@@ -0,0 +1,183 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.shared.result.Result;
+
+/**
+ * DeadLetterStore persistente sobre JDBC (H2 o Postgres).
+ *
+ * - Crea la tabla event_dead_letters si no existe.
+ * - El evento se guarda con serialización Java; al leerlo solo se admiten
+ * clases de com.pedidos y de java.base.
+ * - Si el evento no es serializable se guarda sin payload (solo inspección).
+ */
+public class JdbcDeadLetterStore implements DeadLetterStore {
+    private static final Logger log = LoggerFactory.getLogger(JdbcDeadLetterStore.class);
+    private static final ObjectInputFilter PAYLOAD_FILTER = ObjectInputFilter.Config
+            .createFilter("com.pedidos.**;java.base/*;!*");
+
+    private final DataSource dataSource;
+
+    public JdbcDeadLetterStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        try (Connection c = dataSource.getConnection()) {
+            ensureSchema(c);
+            log.info("JdbcDeadLetterStore initialized and schema ensured");
+        } catch (SQLException e) {
+            log.error("Failed to initialize JdbcDeadLetterStore schema: {}", e.toString());
+            throw new RuntimeException("Failed to initialize JdbcDeadLetterStore schema", e);
+        }
+    }
+
+    private void ensureSchema(Connection c) throws SQLException {
+        try (PreparedStatement p = c.prepareStatement(
+                "CREATE TABLE IF NOT EXISTS event_dead_letters (id VARCHAR(36) PRIMARY KEY, event_type VARCHAR(255), handler VARCHAR(255), batch BOOLEAN, error VARCHAR(2000), attempts INT, failed_at TIMESTAMP, payload BYTEA)")) {
+            p.execute();
+        }
+    }
+
+    @Override
+    public Result<Void, AppError> save(DeadLetter dl) {
+        String sqlUpdate = "UPDATE event_dead_letters SET error = ?, attempts = ?, failed_at = ? WHERE id = ?";
+        String sqlInsert = "INSERT INTO event_dead_letters (id, event_type, handler, batch, error, attempts, failed_at, payload) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection c = dataSource.getConnection()) {
+            try (PreparedStatement p = c.prepareStatement(sqlUpdate)) {
+                p.setString(1, truncate(dl.error()));
+                p.setInt(2, dl.attempts());
+                p.setTimestamp(3, Timestamp.from(dl.failedAt()));
+                p.setString(4, dl.id());
+                if (p.executeUpdate() > 0)
+                    return Result.ok(null);
+            }
+            try (PreparedStatement p = c.prepareStatement(sqlInsert)) {
+                p.setString(1, dl.id());
+                p.setString(2, dl.eventType());
+                p.setString(3, dl.handler());
+                p.setBoolean(4, dl.batch());
+                p.setString(5, truncate(dl.error()));
+                p.setInt(6, dl.attempts());
+                p.setTimestamp(7, Timestamp.from(dl.failedAt()));
+                p.setBytes(8, serialize(dl.payload()));
+                p.executeUpdate();
+            }
+            return Result.ok(null);
+        } catch (SQLException e) {
+            log.error("JdbcDeadLetterStore.save - failed to store dead letter {}: {}", dl.id(), e.toString());
+            return Result.fail(new InfraError("Failed to store dead letter: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<List<DeadLetter>, AppError> list(int limit) {
+        String sql = "SELECT id, event_type, handler, batch, error, attempts, failed_at, payload FROM event_dead_letters ORDER BY failed_at LIMIT ?";
+        try (Connection c = dataSource.getConnection(); PreparedStatement p = c.prepareStatement(sql)) {
+            p.setInt(1, limit);
+            List<DeadLetter> out = new ArrayList<>();
+            try (ResultSet rs = p.executeQuery()) {
+                while (rs.next())
+                    out.add(map(rs));
+            }
+            return Result.ok(out);
+        } catch (SQLException e) {
+            log.error("JdbcDeadLetterStore.list - query failed: {}", e.toString());
+            return Result.fail(new InfraError("Failed to list dead letters: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<Optional<DeadLetter>, AppError> find(String id) {
+        String sql = "SELECT id, event_type, handler, batch, error, attempts, failed_at, payload FROM event_dead_letters WHERE id = ?";
+        try (Connection c = dataSource.getConnection(); PreparedStatement p = c.prepareStatement(sql)) {
+            p.setString(1, id);
+            try (ResultSet rs = p.executeQuery()) {
+                return Result.ok(rs.next() ? Optional.of(map(rs)) : Optional.empty());
+            }
+        } catch (SQLException e) {
+            log.error("JdbcDeadLetterStore.find - query failed for {}: {}", id, e.toString());
+            return Result.fail(new InfraError("Failed to query dead letter: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<Boolean, AppError> delete(String id) {
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement p = c.prepareStatement("DELETE FROM event_dead_letters WHERE id = ?")) {
+            p.setString(1, id);
+            return Result.ok(p.executeUpdate() > 0);
+        } catch (SQLException e) {
+            log.error("JdbcDeadLetterStore.delete - failed to delete {}: {}", id, e.toString());
+            return Result.fail(new InfraError("Failed to delete dead letter: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<Long, AppError> count() {
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement p = c.prepareStatement("SELECT COUNT(*) FROM event_dead_letters");
+                ResultSet rs = p.executeQuery()) {
+            rs.next();
+            return Result.ok(rs.getLong(1));
+        } catch (SQLException e) {
+            log.error("JdbcDeadLetterStore.count - query failed: {}", e.toString());
+            return Result.fail(new InfraError("Failed to count dead letters: " + e.getMessage(), e));
+        }
+    }
+
+    private static DeadLetter map(ResultSet rs) throws SQLException {
+        String id = rs.getString("id");
+        return new DeadLetter(id, rs.getString("event_type"), rs.getString("handler"), rs.getBoolean("batch"),
+                rs.getString("error"), rs.getInt("attempts"), rs.getTimestamp("failed_at").toInstant(),
+                deserialize(id, rs.getBytes("payload")));
+    }
+
+    private static byte[] serialize(Object payload) {
+        if (payload == null)
+            return null;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(payload);
+        } catch (IOException e) {
+            log.warn("Dead letter payload of type {} is not serializable, storing metadata only: {}",
+                    payload.getClass().getName(), e.toString());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(String id, byte[] data) {
+        if (data == null)
+            return null;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            in.setObjectInputFilter(PAYLOAD_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            log.warn("Dead letter {} payload could not be read: {}", id, e.toString());
+            return null;
+        }
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= 2000 ? s : s.substring(0, 2000);
+    }
+}
@@ -0,0 +1,246 @@
+package com.pedidos.infrastructure.eventbus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.port.out.EventBus;
+import com.pedidos.domain.events.OrderEvent;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * EventBus asíncrono particionado por pedido.
+ *
+ * - Cada evento OrderEvent se asigna a una de N particiones según el hash de su
+ * OrderId; los eventos sin pedido van a la partición 0.
+ * - Cada partición es un único hilo con su propia cola acotada, por lo que los
+ * eventos de un mismo pedido se procesan en orden y pedidos distintos se
+ * procesan en paralelo.
+ * - La entrega real la hace el EventBus delegado (normalmente
+ * InMemoryEventBus) en el hilo de la partición.
+ * - publish/publishAll devuelven ok al encolar; si la cola de una partición
+ * está llena se devuelve InfraError. Los fallos de los handlers se registran en
+ * el log y en métricas, no en el Result del llamador.
+ */
+public final class PartitionedEventBus implements EventBus, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedEventBus.class);
+
+    private final EventBus delegate;
+    private final Partition[] partitions;
+
+    public PartitionedEventBus(EventBus delegate, int partitionCount, int queueCapacity, MeterRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        Objects.requireNonNull(registry);
+        if (partitionCount <= 0)
+            throw new IllegalArgumentException("partitionCount must be > 0");
+        if (queueCapacity <= 0)
+            throw new IllegalArgumentException("queueCapacity must be > 0");
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, queueCapacity, registry);
+        }
+        log.info("PartitionedEventBus started with {} partitions (queue capacity {})", partitionCount,
+                queueCapacity);
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Partición asignada a un evento: hash del OrderId (mezclado para repartir
+     * mejor) módulo N; 0 si el evento no pertenece a un pedido.
+     */
+    public int partitionOf(Object event) {
+        if (event instanceof OrderEvent oe && oe.getOrderId() != null)
+            return partitionOf(oe.getOrderId());
+        return 0;
+    }
+
+    public int partitionOf(OrderId orderId) {
+        int h = orderId.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return Math.floorMod(h, partitions.length);
+    }
+
+    @Override
+    public Result<Void, AppError> publish(Object event) {
+        if (event == null)
+            return Result.ok(null);
+        return partitions[partitionOf(event)].submit(List.of(event));
+    }
+
+    /**
+     * Agrupa el lote por partición conservando el orden relativo y encola un
+     * único publishAll por partición.
+     */
+    @Override
+    public Result<Void, AppError> publishAll(List<?> events) {
+        if (events == null || events.isEmpty())
+            return Result.ok(null);
+
+        List<List<Object>> byPartition = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++)
+            byPartition.add(null);
+        for (Object event : events) {
+            if (event == null)
+                continue;
+            int p = partitionOf(event);
+            List<Object> slice = byPartition.get(p);
+            if (slice == null) {
+                slice = new ArrayList<>();
+                byPartition.set(p, slice);
+            }
+            slice.add(event);
+        }
+
+        for (int i = 0; i < partitions.length; i++) {
+            List<Object> slice = byPartition.get(i);
+            if (slice == null)
+                continue;
+            Result<Void, AppError> res = partitions[i].submit(slice);
+            if (res.isFail())
+                return res;
+        }
+        return Result.ok(null);
+    }
+
+    /**
+     * Ejecuta una tarea en la partición de un evento, detrás de lo ya encolado
+     * en ella (EventRetryQueue.RetryExecutor). Para un lote se usa la partición
+     * de su primer evento, que es la de todo el lote (publishAll los agrupa).
+     *
+     * @throws RejectedExecutionException si la cola está llena o parada
+     */
+    public void execute(Object payload, Runnable task) {
+        Object event = payload instanceof List<?> batch && !batch.isEmpty() ? batch.get(0) : payload;
+        partitions[partitionOf(event)].executor.execute(task);
+    }
+
+    /**
+     * Deja de aceptar eventos, espera a que se vacíen las colas y cierra el
+     * EventBus delegado.
+     */
+    @Override
+    public void close() {
+        for (Partition p : partitions)
+            p.executor.shutdown();
+        for (Partition p : partitions) {
+            try {
+                if (!p.executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Partition {} did not drain in time; {} events pending", p.index,
+                            p.executor.getQueue().size());
+                    p.executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                p.executor.shutdownNow();
+            }
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close delegate event bus: {}", e.toString());
+            }
+        }
+        log.info("PartitionedEventBus stopped");
+    }
+
+    private final class Partition {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final Counter dispatched;
+        private final Counter failed;
+        private final Counter rejected;
+        private final Timer queueWait;
+        private final Timer processing;
+
+        Partition(int index, int queueCapacity, MeterRegistry registry) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), r -> {
+                        Thread t = new Thread(r, "eventbus-partition-" + index);
+                        t.setDaemon(true);
+                        return t;
+                    });
+            String tag = Integer.toString(index);
+            Gauge.builder("pedidos.eventbus.partition.queue", executor, e -> e.getQueue().size())
+                    .description("Pending batches in the event bus partition queue")
+                    .tag("partition", tag)
+                    .register(registry);
+            this.dispatched = Counter.builder("pedidos.eventbus.partition.events")
+                    .description("Events dispatched by the partition")
+                    .tag("partition", tag)
+                    .register(registry);
+            this.failed = Counter.builder("pedidos.eventbus.partition.failures")
+                    .description("Batches whose dispatch failed in the partition")
+                    .tag("partition", tag)
+                    .register(registry);
+            this.rejected = Counter.builder("pedidos.eventbus.partition.rejected")
+                    .description("Batches rejected because the partition queue was full")
+                    .tag("partition", tag)
+                    .register(registry);
+            this.queueWait = Timer.builder("pedidos.eventbus.partition.wait")
+                    .description("Time a batch waits in the partition queue")
+                    .tag("partition", tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.processing = Timer.builder("pedidos.eventbus.partition.processing")
+                    .description("Time spent dispatching a batch in the partition")
+                    .tag("partition", tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        Result<Void, AppError> submit(List<Object> events) {
+            long enqueuedAt = System.nanoTime();
+            try {
+                executor.execute(() -> run(events, enqueuedAt));
+                return Result.ok(null);
+            } catch (RejectedExecutionException ex) {
+                rejected.increment();
+                log.error("Event bus partition {} rejected {} events: {}", index, events.size(), ex.toString());
+                return Result.fail(new InfraError("Event bus partition " + index + " is full or stopped", ex));
+            }
+        }
+
+        private void run(List<Object> events, long enqueuedAt) {
+            long start = System.nanoTime();
+            queueWait.record(start - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                Result<Void, AppError> res = delegate.publishAll(events);
+                if (res == null || res.isFail()) {
+                    failed.increment();
+                    log.error("Event bus partition {} failed to dispatch {} events: {}", index, events.size(),
+                            res == null ? "null result" : res.getError());
+                }
+            } catch (RuntimeException ex) {
+                failed.increment();
+                log.error("Event bus partition {} threw while dispatching {} events: {}", index, events.size(),
+                        ex.toString());
+            } finally {
+                dispatched.increment(events.size());
+                processing.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
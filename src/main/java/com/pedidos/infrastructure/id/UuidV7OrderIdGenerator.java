@@ -0,0 +1,55 @@
+package com.pedidos.infrastructure.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.domain.valueobjects.OrderId;
+
+/**
+ * Ids UUID versión 7 (RFC 9562): 48 bits de milisegundos Unix, 12 bits de
+ * contador y 62 bits aleatorios.
+ *
+ * - Crecientes en este proceso: dentro del mismo milisegundo el contador
+ * (rand_a, método 1 del RFC) avanza desde un valor aleatorio; si se agota,
+ * el timestamp avanza un milisegundo antes que el reloj. Si el reloj
+ * retrocede se sigue desde el último id.
+ * - Las inserciones caen al final del índice de la clave primaria en vez de
+ * repartirse por todo el B-tree como con UUID.randomUUID().
+ * - La parte aleatoria viene de ThreadLocalRandom, sin el SecureRandom
+ * compartido de randomUUID(): los ids no son secretos ni impredecibles y no
+ * deben usarse como token de acceso.
+ */
+public final class UuidV7OrderIdGenerator implements OrderIdGenerator {
+
+    private static final int COUNTER_BITS = 12;
+    // el contador arranca por debajo de la mitad para dejar margen en el mismo ms
+    private static final int COUNTER_SEED_BOUND = 1 << (COUNTER_BITS - 1);
+
+    private final Clock clock;
+    // timestamp (48 bits) << 12 | contador (12 bits) del último id emitido
+    private final AtomicLong last = new AtomicLong();
+
+    public UuidV7OrderIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public OrderId next() {
+        return new OrderId(nextUuid());
+    }
+
+    UUID nextUuid() {
+        long millis = clock.now().toEpochMilli();
+        long fresh = millis << COUNTER_BITS | ThreadLocalRandom.current().nextInt(COUNTER_SEED_BOUND);
+        long stamp = last.updateAndGet(prev -> (prev >>> COUNTER_BITS) < millis ? fresh : prev + 1);
+
+        long msb = (stamp >>> COUNTER_BITS) << 16 // unix_ts_ms
+                | 0x7000L // version 7
+                | (stamp & 0xFFFL); // rand_a: contador
+        long lsb = ThreadLocalRandom.current().nextLong() >>> 2 | 0x8000000000000000L; // variant 10
+        return new UUID(msb, lsb);
+    }
+}
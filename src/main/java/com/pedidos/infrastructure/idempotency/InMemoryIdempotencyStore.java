@@ -0,0 +1,69 @@
+package com.pedidos.infrastructure.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.IdempotencyStore;
+import com.pedidos.shared.result.Result;
+
+/**
+ * IdempotencyStore local y acotado.
+ *
+ * - Como mucho maxEntries claves; al superarlo se descarta la más antigua.
+ * - Las entradas caducan a los ttl de crearse.
+ * - No sobrevive a reinicios ni se comparte entre instancias: para eso está
+ * JdbcIdempotencyStore.
+ */
+public final class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("maxEntries must be >= 1");
+        this.ttl = Objects.requireNonNull(ttl);
+        this.clock = Objects.requireNonNull(clock);
+        // orden de inserción: la más antigua es también la primera en caducar
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Result<Optional<Entry>, AppError> find(String key) {
+        return Result.ok(Optional.ofNullable(live(key, clock.now())));
+    }
+
+    @Override
+    public synchronized Result<Entry, AppError> putIfAbsent(Entry entry) {
+        Entry existing = live(entry.key(), clock.now());
+        if (existing != null)
+            return Result.ok(existing);
+        entries.put(entry.key(), entry);
+        return Result.ok(entry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private Entry live(String key, Instant now) {
+        Entry e = entries.get(key);
+        if (e != null && !e.createdAt().plus(ttl).isAfter(now)) {
+            entries.remove(key);
+            return null;
+        }
+        return e;
+    }
+}
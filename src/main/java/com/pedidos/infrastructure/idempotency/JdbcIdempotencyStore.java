@@ -0,0 +1,252 @@
+package com.pedidos.infrastructure.idempotency;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.ConflictError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.IdempotencyStore;
+import com.pedidos.shared.result.Result;
+
+/**
+ * IdempotencyStore persistente sobre JDBC (H2 o Postgres), compartido entre
+ * instancias.
+ *
+ * - Crea la tabla idempotency_keys si no existe.
+ * - claim inserta una fila pendiente (result NULL) antes de ejecutar: la clave
+ * primaria decide qué instancia ejecuta la petición; complete la rellena y
+ * release la borra si la petición falla. Una reserva más antigua que
+ * pendingTimeout (instancia caída a mitad) se puede volver a reservar.
+ * - putIfAbsent se apoya en la misma clave primaria: si otra instancia insertó
+ * antes, se devuelve su entrada.
+ * - Las filas caducadas se ignoran al leer, se reemplazan al escribir y
+ * startPurging las borra periódicamente.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+    private static final String UNIQUE_VIOLATION = "23505";
+    public static final Duration DEFAULT_PENDING_TIMEOUT = Duration.ofMinutes(1);
+
+    private final DataSource dataSource;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+    private ScheduledExecutorService purger;
+
+    public JdbcIdempotencyStore(DataSource dataSource, Duration ttl, Clock clock) {
+        this(dataSource, ttl, DEFAULT_PENDING_TIMEOUT, clock);
+    }
+
+    public JdbcIdempotencyStore(DataSource dataSource, Duration ttl, Duration pendingTimeout, Clock clock) {
+        this.dataSource = Objects.requireNonNull(dataSource);
+        this.ttl = Objects.requireNonNull(ttl);
+        this.pendingTimeout = Objects.requireNonNull(pendingTimeout);
+        this.clock = Objects.requireNonNull(clock);
+        try (Connection c = dataSource.getConnection()) {
+            ensureSchema(c);
+            log.info("JdbcIdempotencyStore initialized and schema ensured");
+        } catch (SQLException e) {
+            log.error("Failed to initialize JdbcIdempotencyStore schema: {}", e.toString());
+            throw new RuntimeException("Failed to initialize JdbcIdempotencyStore schema", e);
+        }
+    }
+
+    private void ensureSchema(Connection c) throws SQLException {
+        try (PreparedStatement p = c.prepareStatement(
+                "CREATE TABLE IF NOT EXISTS idempotency_keys (idempotency_key VARCHAR(255) PRIMARY KEY, fingerprint VARCHAR(64) NOT NULL, result VARCHAR(2000), created_at TIMESTAMP NOT NULL)")) {
+            p.execute();
+        }
+        // tablas creadas antes de las reservas (migración 007)
+        try (PreparedStatement p = c.prepareStatement(
+                "ALTER TABLE idempotency_keys ALTER COLUMN result DROP NOT NULL")) {
+            p.execute();
+        }
+    }
+
+    /**
+     * Borra cada interval las claves caducadas; sin esto solo se borran
+     * cuando la misma clave vuelve a llegar.
+     */
+    public synchronized void startPurging(Duration interval) {
+        if (purger != null)
+            return;
+        purger = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "idempotency-purge");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = interval.toMillis();
+        purger.scheduleWithFixedDelay(() -> {
+            Result<Integer, AppError> res = purgeExpired();
+            if (res.isOk() && res.getValue() > 0)
+                log.debug("Purged {} expired idempotency keys", res.getValue());
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borra las claves (completas o reservadas) con más de ttl.
+     */
+    public Result<Integer, AppError> purgeExpired() {
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement p = c.prepareStatement("DELETE FROM idempotency_keys WHERE created_at <= ?")) {
+            p.setTimestamp(1, oldestLive());
+            return Result.ok(p.executeUpdate());
+        } catch (SQLException e) {
+            log.error("JdbcIdempotencyStore.purgeExpired - delete failed: {}", e.toString());
+            return Result.fail(new InfraError("Failed to purge idempotency keys: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (purger != null)
+            purger.shutdownNow();
+    }
+
+    @Override
+    public Result<Optional<Entry>, AppError> find(String key) {
+        try (Connection c = dataSource.getConnection()) {
+            Entry entry = select(c, key, oldestLive());
+            // una reserva abandonada no bloquea la clave: claim la sustituye
+            if (entry != null && entry.value() == null
+                    && !entry.createdAt().isAfter(clock.now().minus(pendingTimeout)))
+                return Result.ok(Optional.empty());
+            return Result.ok(Optional.ofNullable(entry));
+        } catch (SQLException e) {
+            log.error("JdbcIdempotencyStore.find - query failed for {}: {}", key, e.toString());
+            return Result.fail(new InfraError("Failed to query idempotency key: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<Entry, AppError> putIfAbsent(Entry entry) {
+        String sqlDeleteExpired = "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at <= ?";
+        String sqlInsert = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, result, created_at) VALUES (?, ?, ?, ?)";
+        Timestamp oldestLive = oldestLive();
+        try (Connection c = dataSource.getConnection()) {
+            try (PreparedStatement p = c.prepareStatement(sqlDeleteExpired)) {
+                p.setString(1, entry.key());
+                p.setTimestamp(2, oldestLive);
+                p.executeUpdate();
+            }
+            try (PreparedStatement p = c.prepareStatement(sqlInsert)) {
+                p.setString(1, entry.key());
+                p.setString(2, entry.fingerprint());
+                p.setString(3, entry.value());
+                p.setTimestamp(4, Timestamp.from(entry.createdAt()));
+                p.executeUpdate();
+                return Result.ok(entry);
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState()))
+                    throw e;
+                Entry existing = select(c, entry.key(), oldestLive);
+                return Result.ok(existing != null ? existing : entry);
+            }
+        } catch (SQLException e) {
+            log.error("JdbcIdempotencyStore.putIfAbsent - failed to store {}: {}", entry.key(), e.toString());
+            return Result.fail(new InfraError("Failed to store idempotency key: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<Optional<Entry>, AppError> claim(String key, String fingerprint) {
+        String sqlDeleteStale = "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND (created_at <= ? OR (result IS NULL AND created_at <= ?))";
+        String sqlInsert = "INSERT INTO idempotency_keys (idempotency_key, fingerprint, result, created_at) VALUES (?, ?, NULL, ?)";
+        Instant now = clock.now();
+        Timestamp oldestLive = Timestamp.from(now.minus(ttl));
+        try (Connection c = dataSource.getConnection()) {
+            try (PreparedStatement p = c.prepareStatement(sqlDeleteStale)) {
+                p.setString(1, key);
+                p.setTimestamp(2, oldestLive);
+                p.setTimestamp(3, Timestamp.from(now.minus(pendingTimeout)));
+                p.executeUpdate();
+            }
+            try (PreparedStatement p = c.prepareStatement(sqlInsert)) {
+                p.setString(1, key);
+                p.setString(2, fingerprint);
+                p.setTimestamp(3, Timestamp.from(now));
+                p.executeUpdate();
+                return Result.ok(Optional.empty());
+            } catch (SQLException e) {
+                if (!UNIQUE_VIOLATION.equals(e.getSQLState()))
+                    throw e;
+                Entry existing = select(c, key, oldestLive);
+                if (existing == null)
+                    return Result.fail(new ConflictError("Idempotency-Key " + key + " changed while claiming it; retry"));
+                return Result.ok(Optional.of(existing));
+            }
+        } catch (SQLException e) {
+            log.error("JdbcIdempotencyStore.claim - failed to claim {}: {}", key, e.toString());
+            return Result.fail(new InfraError("Failed to claim idempotency key: " + e.getMessage(), e));
+        }
+    }
+
+    @Override
+    public Result<Entry, AppError> complete(Entry entry) {
+        String sqlUpdate = "UPDATE idempotency_keys SET result = ?, created_at = ? WHERE idempotency_key = ? AND fingerprint = ? AND result IS NULL";
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement p = c.prepareStatement(sqlUpdate)) {
+            p.setString(1, entry.value());
+            p.setTimestamp(2, Timestamp.from(entry.createdAt()));
+            p.setString(3, entry.key());
+            p.setString(4, entry.fingerprint());
+            if (p.executeUpdate() == 1)
+                return Result.ok(entry);
+        } catch (SQLException e) {
+            log.error("JdbcIdempotencyStore.complete - failed to store {}: {}", entry.key(), e.toString());
+            return Result.fail(new InfraError("Failed to store idempotency key: " + e.getMessage(), e));
+        }
+        // la reserva ya no estaba (caducada o purgada)
+        return putIfAbsent(entry);
+    }
+
+    @Override
+    public Result<Void, AppError> release(String key) {
+        try (Connection c = dataSource.getConnection();
+                PreparedStatement p = c.prepareStatement(
+                        "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND result IS NULL")) {
+            p.setString(1, key);
+            p.executeUpdate();
+            return Result.ok(null);
+        } catch (SQLException e) {
+            log.error("JdbcIdempotencyStore.release - failed to release {}: {}", key, e.toString());
+            return Result.fail(new InfraError("Failed to release idempotency key: " + e.getMessage(), e));
+        }
+    }
+
+    private static Entry select(Connection c, String key, Timestamp oldestLive) throws SQLException {
+        String sql = "SELECT idempotency_key, fingerprint, result, created_at FROM idempotency_keys WHERE idempotency_key = ? AND created_at > ?";
+        try (PreparedStatement p = c.prepareStatement(sql)) {
+            p.setString(1, key);
+            p.setTimestamp(2, oldestLive);
+            try (ResultSet rs = p.executeQuery()) {
+                if (!rs.next())
+                    return null;
+                return new Entry(rs.getString("idempotency_key"), rs.getString("fingerprint"), rs.getString("result"),
+                        rs.getTimestamp("created_at").toInstant());
+            }
+        }
+    }
+
+    private Timestamp oldestLive() {
+        Instant now = clock.now();
+        return Timestamp.from(now.minus(ttl));
+    }
+}
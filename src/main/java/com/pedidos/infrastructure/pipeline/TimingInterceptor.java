@@ -0,0 +1,88 @@
+package com.pedidos.infrastructure.pipeline;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.ConflictError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.pipeline.UseCaseInterceptor;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide cada caso de uso con Micrometer.
+ *
+ * - pedidos.usecase: timer por caso de uso y resultado (ok, validation,
+ * not_found, conflict, infra, error), con histograma de percentiles.
+ * - Las ejecuciones que alcanzan el umbral de caso de uso lento se registran
+ * en el log con su duración.
+ */
+public final class TimingInterceptor implements UseCaseInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(TimingInterceptor.class);
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimingInterceptor(MeterRegistry registry, Duration slowThreshold) {
+        this.registry = Objects.requireNonNull(registry);
+        this.slowThresholdNanos = Objects.requireNonNull(slowThreshold).toNanos();
+    }
+
+    @Override
+    public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Result<R, AppError> res = next.proceed();
+            outcome = outcome(res);
+            return res;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String name = useCase.name();
+            String tag = outcome;
+            timers.computeIfAbsent(name + '|' + tag,
+                    k -> Timer.builder("pedidos.usecase")
+                            .description("Use case execution time")
+                            .tag("usecase", name)
+                            .tag("outcome", tag)
+                            .publishPercentileHistogram()
+                            .register(registry))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowThresholdNanos) {
+                log.warn("Slow use case {}: {} ms (threshold {} ms, outcome {})", name,
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos),
+                        tag);
+            }
+        }
+    }
+
+    private static String outcome(Result<?, AppError> res) {
+        if (res == null)
+            return "error";
+        if (res.isOk())
+            return "ok";
+        AppError err = res.getError();
+        if (err instanceof ValidationError)
+            return "validation";
+        if (err instanceof NotFoundError)
+            return "not_found";
+        if (err instanceof ConflictError)
+            return "conflict";
+        if (err instanceof InfraError)
+            return "infra";
+        return "error";
+    }
+}
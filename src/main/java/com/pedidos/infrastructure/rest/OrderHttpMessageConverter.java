@@ -0,0 +1,65 @@
+package com.pedidos.infrastructure.rest;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.pedidos.application.dto.OrderView;
+
+/**
+ * Converter de solo escritura para OrderView: escribe la respuesta en streaming
+ * con OrderJsonWriter en lugar de pasar por Jackson databind.
+ *
+ * Una instancia por formato: JSON (por defecto) o CBOR (application/cbor),
+ * según la JsonFactory.
+ */
+public class OrderHttpMessageConverter extends AbstractHttpMessageConverter<OrderView> {
+
+    private final JsonFactory factory;
+
+    public OrderHttpMessageConverter() {
+        this(JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build(), MediaType.APPLICATION_JSON);
+    }
+
+    public OrderHttpMessageConverter(JsonFactory factory, MediaType mediaType) {
+        super(mediaType);
+        this.factory = factory;
+    }
+
+    public static OrderHttpMessageConverter cbor() {
+        return new OrderHttpMessageConverter(CBORFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build(),
+                MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return OrderView.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected OrderView readInternal(Class<? extends OrderView> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("OrderView cannot be read directly from the request body",
+                inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(OrderView order, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator g = factory.createGenerator(outputMessage.getBody(), JsonEncoding.UTF8)) {
+            OrderJsonWriter.write(order, g);
+        }
+    }
+}
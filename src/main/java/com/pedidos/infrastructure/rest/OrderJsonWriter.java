@@ -0,0 +1,50 @@
+package com.pedidos.infrastructure.rest;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderItem;
+
+/**
+ * Serializa un OrderView directamente sobre un JsonGenerator, sin DTOs
+ * intermedios ni reflexión.
+ *
+ * Formato (el mismo que producía OrderResponse):
+ * {"orderId":"...","items":[{"productId":"...","quantity":1,"unitPrice":9.99,"currency":"EUR"}],"totals":{"EUR":9.99}}
+ *
+ * Con un CBORGenerator produce la misma estructura en CBOR; los importes se
+ * escriben como decimal fraction (tag 4), sin pasar por texto.
+ */
+public final class OrderJsonWriter {
+
+    private OrderJsonWriter() {
+    }
+
+    public static void write(OrderView order, JsonGenerator g) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("orderId", order.id().toString());
+
+        g.writeArrayFieldStart("items");
+        for (OrderItem it : order.items()) {
+            g.writeStartObject();
+            g.writeStringField("productId", it.getProductId().getId());
+            g.writeNumberField("quantity", it.getQuantity().getValue());
+            g.writeNumberField("unitPrice", it.getUnitPrice().getAmount());
+            g.writeStringField("currency", it.getUnitPrice().getCurrency().getCode());
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+
+        g.writeObjectFieldStart("totals");
+        for (Map.Entry<Currency, Money> e : order.totals().entrySet()) {
+            g.writeNumberField(e.getKey().getCode(), e.getValue().getAmount());
+        }
+        g.writeEndObject();
+
+        g.writeEndObject();
+    }
+}
@@ -1,53 +1,85 @@
 package com.pedidos.infrastructure.rest;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.pedidos.application.dto.ItemDto;
 import com.pedidos.application.dto.ItemToOrderDto;
 import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.dto.OrderView;
 import com.pedidos.application.errors.AppError;
 import com.pedidos.application.errors.ConflictError;
 import com.pedidos.application.errors.InfraError;
 import com.pedidos.application.errors.NotFoundError;
 import com.pedidos.application.errors.ValidationError;
-import com.pedidos.application.port.out.EventBus;
-import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.application.idempotency.IdempotentExecutor;
+import com.pedidos.application.pipeline.UseCasePipeline;
 import com.pedidos.application.usecase.AddItemToOrderUseCase;
 import com.pedidos.application.usecase.CreateOrderUseCase;
+import com.pedidos.application.usecase.CreateOrdersBatchUseCase;
 import com.pedidos.application.usecase.DeleteOrderUseCase;
 import com.pedidos.application.usecase.GetOrderUseCase;
-import com.pedidos.domain.entities.Order;
+import com.pedidos.application.usecase.GetOrderVersionUseCase;
+import com.pedidos.domain.valueobjects.OrderId;
 import com.pedidos.shared.result.Result;
 
 /**
- * REST controller que expone endpoints para pedidos.
+ * REST controller que expone endpoints para pedidos (Spring MVC, bloqueante).
+ * Con el perfil reactive lo sustituye ReactiveOrdersController.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/orders")
 public class OrdersController {
     private static final Logger log = LoggerFactory.getLogger(OrdersController.class);
-    private final OrderRepository repository;
-    private final EventBus eventBus;
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private final UseCasePipeline pipeline;
+    private final IdempotentExecutor idempotent;
+    private final CreateOrderUseCase createOrder;
+    private final CreateOrdersBatchUseCase createOrders;
+    private final AddItemToOrderUseCase addItem;
+    private final GetOrderUseCase getOrder;
+    private final GetOrderVersionUseCase getOrderVersion;
+    private final DeleteOrderUseCase deleteOrder;
 
-    public OrdersController(OrderRepository repository, EventBus eventBus) {
-        this.repository = repository;
-        this.eventBus = eventBus;
+    public OrdersController(UseCasePipeline pipeline, IdempotentExecutor idempotent, CreateOrderUseCase createOrder,
+            CreateOrdersBatchUseCase createOrders, AddItemToOrderUseCase addItem, GetOrderUseCase getOrder,
+            GetOrderVersionUseCase getOrderVersion, DeleteOrderUseCase deleteOrder) {
+        this.pipeline = pipeline;
+        this.idempotent = idempotent;
+        this.createOrder = createOrder;
+        this.createOrders = createOrders;
+        this.addItem = addItem;
+        this.getOrder = getOrder;
+        this.getOrderVersion = getOrderVersion;
+        this.deleteOrder = deleteOrder;
     }
 
     // Responses
@@ -69,48 +101,108 @@ public class OrdersController {
         }
     }
 
-    // Order GET response
-    public static final class OrderItemResp {
-        public String productId;
-        public int quantity;
-        public BigDecimal unitPrice;
-        public String currency;
-
-        public OrderItemResp(String productId, int quantity, BigDecimal unitPrice, String currency) {
-            this.productId = productId;
-            this.quantity = quantity;
-            this.unitPrice = unitPrice;
-            this.currency = currency;
-        }
-    }
-
-    public static final class OrderResponse {
+    // Batch create response: one entry per submitted order, same order
+    public static final class BatchEntryResponse {
+        public int index;
         public String orderId;
-        public List<OrderItemResp> items;
-        public Map<String, BigDecimal> totals;
+        public String error;
+        public String message;
 
-        public OrderResponse(String orderId, List<OrderItemResp> items, Map<String, BigDecimal> totals) {
+        public BatchEntryResponse(int index, String orderId, String error, String message) {
+            this.index = index;
             this.orderId = orderId;
-            this.items = items;
-            this.totals = totals;
+            this.error = error;
+            this.message = message;
         }
     }
 
+    /**
+     * Con Idempotency-Key los reintentos de la misma petición devuelven el
+     * pedido ya creado (cabecera Idempotent-Replayed) y los duplicados
+     * concurrentes esperan a una única ejecución de CreateOrderUseCase. Las
+     * peticiones inválidas se rechazan con 400 antes de tocar el almacén de
+     * idempotencia, así que no ocupan la clave.
+     */
     @PostMapping
-    public ResponseEntity<?> createOrder(@RequestBody OrderDto body) {
+    public ResponseEntity<?> createOrder(@RequestBody OrderDto body,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         log.info("POST /api/orders - createOrder request received: items={} ",
                 body == null ? 0 : body.getItems() == null ? 0 : body.getItems().size());
-        CreateOrderUseCase uc = new CreateOrderUseCase(repository, eventBus);
-        Result<?, AppError> res = uc.execute(body);
-        if (res.isOk()) {
-            Object value = res.getValue();
-            log.info("Order created successfully: {}", value);
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new CreatedResponse(Objects.toString(value, null)));
+        if (idempotencyKey == null) {
+            Result<OrderId, AppError> res = pipeline.execute(createOrder, body);
+            if (!res.isOk()) {
+                return mapError(res.getError());
+            }
+            log.info("Order created successfully: {}", res.getValue());
+            return ResponseEntity.status(HttpStatus.CREATED).body(new CreatedResponse(res.getValue().toString()));
+        }
+
+        Result<Void, AppError> valid = createOrder.validate(body);
+        if (valid.isFail()) {
+            return mapError(valid.getError());
+        }
+        Result<IdempotentExecutor.Outcome<OrderId>, AppError> res = idempotent.execute(idempotencyKey,
+                fingerprint(body), () -> pipeline.execute(createOrder, body), OrderId::toString,
+                id -> new OrderId(UUID.fromString(id)));
+        if (!res.isOk()) {
+            return mapError(res.getError());
+        }
+        IdempotentExecutor.Outcome<OrderId> outcome = res.getValue();
+        if (outcome.replayed()) {
+            log.info("Order creation replayed for Idempotency-Key {}: {}", idempotencyKey, outcome.value());
         } else {
-            log.warn("Create order failed: {}", res.getError());
+            log.info("Order created successfully: {}", outcome.value());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, Boolean.toString(outcome.replayed()))
+                .body(new CreatedResponse(outcome.value().toString()));
+    }
+
+    // SHA-256 de las líneas en forma canónica (importes sin ceros finales)
+    static String fingerprint(OrderDto body) {
+        StringBuilder sb = new StringBuilder();
+        if (body != null && body.getItems() != null) {
+            for (ItemDto item : body.getItems()) {
+                if (item == null) {
+                    sb.append("null\n");
+                    continue;
+                }
+                BigDecimal price = item.unitPrice == null ? null : item.unitPrice.stripTrailingZeros();
+                sb.append(item.productId).append('|').append(item.quantity).append('|')
+                        .append(price == null ? null : price.toPlainString()).append('|').append(item.currency)
+                        .append('\n');
+            }
+        }
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrders(@RequestBody List<OrderDto> body) {
+        log.info("POST /api/orders/batch - createOrders request received: orders={}", body == null ? 0 : body.size());
+        Result<List<Result<OrderId, AppError>>, AppError> res = pipeline.execute(createOrders, body);
+        if (!res.isOk()) {
             return mapError(res.getError());
         }
+
+        List<Result<OrderId, AppError>> results = res.getValue();
+        List<BatchEntryResponse> entries = new ArrayList<>(results.size());
+        int created = 0;
+        for (int i = 0; i < results.size(); i++) {
+            Result<OrderId, AppError> r = results.get(i);
+            if (r.isOk()) {
+                created++;
+                entries.add(new BatchEntryResponse(i, r.getValue().toString(), null, null));
+            } else {
+                entries.add(new BatchEntryResponse(i, null, errorCode(r.getError()), errorMessage(r.getError())));
+            }
+        }
+        log.info("Orders batch processed: {} created, {} failed", created, results.size() - created);
+        return ResponseEntity.ok(entries);
     }
 
     @PostMapping("/{orderId}/items")
@@ -120,14 +212,12 @@ public class OrdersController {
             return ResponseEntity.badRequest().body(new ErrorResponse("validation_error", "Invalid body"));
 
         ItemToOrderDto req = new ItemToOrderDto(orderId, body);
-        AddItemToOrderUseCase uc = new AddItemToOrderUseCase(repository, eventBus);
-        Result<?, AppError> res = uc.execute(req);
+        Result<?, AppError> res = pipeline.execute(addItem, req);
         if (res.isOk()) {
             Object value = res.getValue();
             log.info("Item added to order {}: {}", orderId, value);
             return ResponseEntity.ok(new CreatedResponse(Objects.toString(value, null)));
         } else {
-            log.warn("Add item failed for order {}: {}", orderId, res.getError());
             return mapError(res.getError());
         }
     }
@@ -135,42 +225,126 @@ public class OrdersController {
     // Validate a CreateOrderItemDto. Return null if valid, otherwise an error
     // message.
 
+    /**
+     * GET con ETag. Solo con If-None-Match se consulta antes la versión (sin
+     * cargar las líneas) para poder responder 304; en otro caso se carga la
+     * vista, que ya trae la versión, y el ETag sale de ella: una sola lectura
+     * del repositorio por GET.
+     *
+     * JSON y CBOR se negocian con Accept: la respuesta lleva Vary: Accept y un
+     * ETag distinto por representación, para que ni una caché ni un 304
+     * mezclen formatos.
+     */
     @GetMapping("/{orderId}")
-    public ResponseEntity<?> getOrder(@PathVariable String orderId) {
+    public ResponseEntity<?> getOrder(@PathVariable String orderId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.debug("GET /api/orders/{} - fetching order", orderId);
-        GetOrderUseCase uc = new GetOrderUseCase(repository);
-        Result<Optional<Order>, AppError> res = uc.execute(orderId);
+        MediaType representation = representation(accept);
+        if (ifNoneMatch != null && !ifNoneMatch.isBlank()) {
+            Result<Optional<Long>, AppError> version = pipeline.execute(getOrderVersion, orderId);
+            if (!version.isOk()) {
+                return mapError(version.getError());
+            }
+            if (version.getValue().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("not_found", "Order not found"));
+            }
+            String etag = etag(version.getValue().get(), representation);
+            if (etagMatches(ifNoneMatch, etag)) {
+                log.debug("GET /api/orders/{} - not modified ({})", orderId, etag);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT)
+                        .cacheControl(CacheControl.noCache()).build();
+            }
+        }
+
+        Result<Optional<OrderView>, AppError> res = pipeline.execute(getOrder, orderId);
         if (!res.isOk()) {
-            log.warn("Get order failed for {}: {}", orderId, res.getError());
             return mapError(res.getError());
         }
 
-        Optional<Order> maybe = res.getValue();
+        Optional<OrderView> maybe = res.getValue();
         if (maybe.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new ErrorResponse("not_found", "Order not found"));
         }
 
-        Order order = maybe.get();
+        OrderView order = maybe.get();
 
-        List<OrderItemResp> items = order.getItems().stream().map(it -> new OrderItemResp(
-                it.getProductId().getId(), it.getQuantity().getValue(), it.getUnitPrice().getAmount(),
-                it.getUnitPrice().getCurrency().getCode())).toList();
+        // OrderHttpMessageConverter writes the order straight to the response
+        return ResponseEntity.ok().contentType(representation).eTag(etag(order.version(), representation))
+                .varyBy(HttpHeaders.ACCEPT).cacheControl(CacheControl.noCache()).body(order);
+    }
 
-        Map<String, BigDecimal> totals = order.totalsByCurrency().entrySet().stream()
-                .collect(java.util.stream.Collectors.toMap(e -> e.getKey().getCode(), e -> e.getValue().getAmount(),
-                        (a, b) -> a, java.util.LinkedHashMap::new));
+    static String etag(long version) {
+        return etag(version, MediaType.APPLICATION_JSON);
+    }
 
-        return ResponseEntity.ok(new OrderResponse(order.getId().toString(), items, totals));
+    // JSON conserva el ETag de siempre; CBOR lleva sufijo
+    static String etag(long version, MediaType representation) {
+        String suffix = MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(representation) ? "-cbor" : "";
+        return "\"" + Long.toHexString(version) + suffix + "\"";
+    }
+
+    /**
+     * Representación de GET /{orderId} según Accept: CBOR solo si lo pide con
+     * más calidad que JSON, o con la misma pero de forma más específica
+     * (application/cbor frente a un comodín); si no, o si Accept no se puede
+     * leer, JSON.
+     */
+    static MediaType representation(String accept) {
+        if (accept == null || accept.isBlank())
+            return MediaType.APPLICATION_JSON;
+        List<MediaType> ranges;
+        try {
+            ranges = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_JSON;
+        }
+        double[] cbor = preference(ranges, MediaType.APPLICATION_CBOR);
+        double[] json = preference(ranges, MediaType.APPLICATION_JSON);
+        boolean prefersCbor = cbor[0] > json[0] || (cbor[0] == json[0] && cbor[0] > 0 && cbor[1] > json[1]);
+        return prefersCbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+    }
+
+    // {calidad, especificidad} del rango más específico de Accept que incluye type
+    private static double[] preference(List<MediaType> ranges, MediaType type) {
+        double quality = 0;
+        int specificity = -1;
+        for (MediaType range : ranges) {
+            if (!range.includes(type))
+                continue;
+            int s = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+            if (s > specificity) {
+                specificity = s;
+                quality = range.getQualityValue();
+            }
+        }
+        return new double[] { quality, specificity };
+    }
+
+    // If-None-Match: lista de ETags separados por comas o "*"; comparación débil
+    // (se ignora el prefijo W/)
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank())
+            return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.equals("*"))
+                return true;
+            if (c.startsWith("W/"))
+                c = c.substring(2);
+            if (c.equals(etag))
+                return true;
+        }
+        return false;
     }
 
     @DeleteMapping("/{orderId}")
     public ResponseEntity<?> deleteOrder(@PathVariable String orderId) {
         log.info("DELETE /api/orders/{} - delete request", orderId);
-        DeleteOrderUseCase delUc = new DeleteOrderUseCase(repository, eventBus);
-        Result<Void, AppError> res = delUc.execute(orderId);
+        Result<Void, AppError> res = pipeline.execute(deleteOrder, orderId);
         if (!res.isOk()) {
-            log.warn("Delete order failed for {}: {}", orderId, res.getError());
             return mapError(res.getError());
         }
         // Successful delete — return 200 OK
@@ -178,7 +352,32 @@ public class OrdersController {
         return ResponseEntity.ok("Deleted successfully: " + orderId);
     }
 
-    private ResponseEntity<Object> mapError(AppError err) {
+    private static String errorCode(AppError err) {
+        if (err instanceof ValidationError)
+            return "validation_error";
+        if (err instanceof NotFoundError)
+            return "not_found";
+        if (err instanceof ConflictError)
+            return "conflict";
+        if (err instanceof InfraError)
+            return "infra_error";
+        return "error";
+    }
+
+    private static String errorMessage(AppError err) {
+        if (err instanceof ValidationError ve)
+            return ve.message();
+        if (err instanceof NotFoundError nf)
+            return nf.message();
+        if (err instanceof ConflictError cf)
+            return cf.message();
+        if (err instanceof InfraError ie)
+            return ie.message();
+        return Objects.toString(err, "Unknown error");
+    }
+
+    // Failures are already logged by the use case pipeline (LoggingInterceptor)
+    static ResponseEntity<Object> mapError(AppError err) {
         Objects.requireNonNull(err);
         if (err instanceof ValidationError ve) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
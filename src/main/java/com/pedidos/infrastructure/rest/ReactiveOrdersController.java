@@ -0,0 +1,136 @@
+package com.pedidos.infrastructure.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.pedidos.application.dto.ItemDto;
+import com.pedidos.application.dto.ItemToOrderDto;
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.usecase.ReactiveOrderUseCases;
+import com.pedidos.shared.result.Result;
+
+/**
+ * Endpoints de pedidos sobre WebFlux (perfil reactive).
+ *
+ * - Mismas rutas, códigos de estado y cuerpos que OrdersController; los
+ * métodos devuelven CompletionStage y WebFlux escribe la respuesta cuando
+ * completa, sin ocupar un hilo mientras la BD responde.
+ * - No incluye /batch ni Idempotency-Key, que siguen siendo del stack servlet.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/orders")
+public class ReactiveOrdersController {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrdersController.class);
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final ReactiveOrderUseCases orders;
+
+    public ReactiveOrdersController(ReactiveOrderUseCases orders) {
+        this.orders = orders;
+    }
+
+    @PostMapping
+    public CompletionStage<ResponseEntity<?>> createOrder(@RequestBody OrderDto body) {
+        log.info("POST /api/orders - createOrder request received (reactive)");
+        return orders.createOrder(body).thenApply(res -> res.isOk()
+                ? ResponseEntity.status(HttpStatus.CREATED)
+                        .body(new OrdersController.CreatedResponse(res.getValue().toString()))
+                : OrdersController.mapError(res.getError()));
+    }
+
+    @PostMapping("/{orderId}/items")
+    public CompletionStage<ResponseEntity<?>> addItem(@PathVariable String orderId, @RequestBody ItemDto body) {
+        log.info("POST /api/orders/{}/items - addItem request received (reactive)", orderId);
+        if (body == null)
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(new OrdersController.ErrorResponse("validation_error", "Invalid body")));
+        return orders.addItem(new ItemToOrderDto(orderId, body)).thenApply(res -> res.isOk()
+                ? ResponseEntity.ok(new OrdersController.CreatedResponse(res.getValue().toString()))
+                : OrdersController.mapError(res.getError()));
+    }
+
+    /**
+     * Mismo protocolo de ETag que OrdersController.getOrder: versión primero
+     * (304 sin cargar las líneas) solo con If-None-Match; si no, una única
+     * lectura de la vista y el ETag sale de su versión.
+     */
+    @GetMapping("/{orderId}")
+    public CompletionStage<ResponseEntity<?>> getOrder(@PathVariable String orderId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        log.debug("GET /api/orders/{} - fetching order (reactive)", orderId);
+        if (ifNoneMatch == null || ifNoneMatch.isBlank())
+            return orders.getOrder(orderId).thenApply(ReactiveOrdersController::toResponse);
+        return orders.getOrderVersion(orderId).thenCompose(version -> {
+            if (!version.isOk())
+                return CompletableFuture.completedFuture(OrdersController.mapError(version.getError()));
+            if (version.getValue().isEmpty())
+                return CompletableFuture.completedFuture(notFound());
+            String etag = OrdersController.etag(version.getValue().get());
+            if (OrdersController.etagMatches(ifNoneMatch, etag))
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                        .cacheControl(CacheControl.noCache()).build());
+            return orders.getOrder(orderId).thenApply(ReactiveOrdersController::toResponse);
+        });
+    }
+
+    @DeleteMapping("/{orderId}")
+    public CompletionStage<ResponseEntity<?>> deleteOrder(@PathVariable String orderId) {
+        log.info("DELETE /api/orders/{} - delete request (reactive)", orderId);
+        return orders.deleteOrder(orderId).thenApply(res -> res.isOk()
+                ? ResponseEntity.ok("Deleted successfully: " + orderId)
+                : OrdersController.mapError(res.getError()));
+    }
+
+    private static ResponseEntity<?> toResponse(Result<Optional<OrderView>, AppError> res) {
+        if (!res.isOk())
+            return OrdersController.mapError(res.getError());
+        if (res.getValue().isEmpty())
+            return notFound();
+        // mismo JSON que OrderHttpMessageConverter, escrito con OrderJsonWriter
+        OrderView order = res.getValue().get();
+        return ResponseEntity.ok().eTag(OrdersController.etag(order.version())).cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON).body(toJson(order));
+    }
+
+    private static ResponseEntity<?> notFound() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new OrdersController.ErrorResponse("not_found", "Order not found"));
+    }
+
+    private static byte[] toJson(OrderView order) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator g = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+            OrderJsonWriter.write(order, g);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
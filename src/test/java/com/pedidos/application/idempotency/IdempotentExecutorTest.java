@@ -0,0 +1,118 @@
+package com.pedidos.application.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.ConflictError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.pedidos.shared.result.Result;
+
+class IdempotentExecutorTest {
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    private final IdempotentExecutor executor = new IdempotentExecutor(
+            new InMemoryIdempotencyStore(100, Duration.ofHours(1), () -> now), () -> now);
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private Result<IdempotentExecutor.Outcome<String>, AppError> run(String key, String fingerprint) {
+        return executor.execute(key, fingerprint, () -> Result.ok("order-" + executions.incrementAndGet()),
+                Function.identity(), Function.identity());
+    }
+
+    @Test
+    void replaysStoredResultForRepeatedKey() {
+        var first = run("k1", "fp");
+        var second = run("k1", "fp");
+
+        assertEquals("order-1", first.getValue().value());
+        assertFalse(first.getValue().replayed());
+        assertEquals("order-1", second.getValue().value());
+        assertTrue(second.getValue().replayed());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentRequest() {
+        run("k1", "fp");
+        var res = run("k1", "other");
+
+        assertTrue(res.isFail());
+        assertTrue(res.getError() instanceof ConflictError);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failuresAreNotStoredAndExpiredKeysRunAgain() {
+        var failed = executor.<String>execute("k1", "fp", () -> Result.fail(new ValidationError("bad")),
+                Function.identity(), Function.identity());
+        assertTrue(failed.isFail());
+        assertEquals("order-1", run("k1", "fp").getValue().value());
+
+        now = now.plus(Duration.ofHours(2));
+        var afterTtl = run("k1", "fp");
+        assertEquals("order-2", afterTtl.getValue().value());
+        assertFalse(afterTtl.getValue().replayed());
+    }
+
+    @Test
+    void rejectsBlankKey() {
+        assertTrue(run(" ", "fp").getError() instanceof ValidationError);
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicatesCollapseOntoOneExecution() throws Exception {
+        int callers = 8;
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Result<IdempotentExecutor.Outcome<String>, AppError>>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(pool.submit(() -> executor.execute("k1", "fp", () -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Result.ok("order-" + executions.incrementAndGet());
+                }, Function.identity(), Function.identity())));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // deja que el resto de llamadas lleguen mientras la primera está en curso
+            Thread.sleep(100);
+            release.countDown();
+
+            int replayed = 0;
+            for (var f : futures) {
+                var res = f.get(5, TimeUnit.SECONDS);
+                assertEquals("order-1", res.getValue().value());
+                if (res.getValue().replayed())
+                    replayed++;
+            }
+            assertEquals(1, executions.get());
+            assertEquals(callers - 1, replayed);
+            assertEquals(0, executor.inFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.pedidos.application.pipeline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.in.UseCase;
+import com.pedidos.shared.result.Result;
+
+class UseCasePipelineTest {
+
+    // "read:<key>" is cached under <key>; "write:<key>" invalidates <key>
+    static class CountingUseCase implements UseCase<String, Integer> {
+        final AtomicInteger executions = new AtomicInteger();
+
+        @Override
+        public Result<Void, AppError> validate(String command) {
+            if (command == null || command.isBlank())
+                return Result.fail(new ValidationError("command is required"));
+            return Result.ok(null);
+        }
+
+        @Override
+        public Object cacheKey(String command) {
+            return command.startsWith("read:") ? command.substring(5) : null;
+        }
+
+        @Override
+        public Object invalidates(String command) {
+            return command.startsWith("write:") ? command.substring(6) : null;
+        }
+
+        @Override
+        public Result<Integer, AppError> execute(String command) {
+            if (command.equals("boom"))
+                throw new IllegalStateException("repository exploded");
+            return Result.ok(executions.incrementAndGet());
+        }
+    }
+
+    @Test
+    void interceptorsRunInListOrderAroundTheUseCase() {
+        List<String> calls = new ArrayList<>();
+        UseCaseInterceptor first = new UseCaseInterceptor() {
+            @Override
+            public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+                calls.add("first-in");
+                Result<R, AppError> res = next.proceed();
+                calls.add("first-out");
+                return res;
+            }
+        };
+        UseCaseInterceptor second = new UseCaseInterceptor() {
+            @Override
+            public <C, R> Result<R, AppError> intercept(UseCase<C, R> useCase, C command, Invocation<R> next) {
+                calls.add("second");
+                return next.proceed();
+            }
+        };
+        UseCasePipeline pipeline = new UseCasePipeline(List.of(first, second));
+
+        assertTrue(pipeline.execute(new CountingUseCase(), "x").isOk());
+        assertEquals(List.of("first-in", "second", "first-out"), calls);
+    }
+
+    @Test
+    void invalidCommandShortCircuitsBeforeTheUseCase() {
+        CountingUseCase uc = new CountingUseCase();
+        UseCasePipeline pipeline = new UseCasePipeline(List.of(new ValidationInterceptor()));
+
+        Result<Integer, AppError> res = pipeline.execute(uc, " ");
+
+        assertTrue(res.getError() instanceof ValidationError);
+        assertEquals(0, uc.executions.get());
+    }
+
+    @Test
+    void runtimeExceptionsBecomeInfraError() {
+        UseCasePipeline pipeline = new UseCasePipeline(List.of(new ExceptionMappingInterceptor()));
+
+        Result<Integer, AppError> res = pipeline.execute(new CountingUseCase(), "boom");
+
+        assertTrue(res.getError() instanceof InfraError);
+    }
+
+    @Test
+    void cachedResultsAreServedUntilAWriteInvalidatesThem() {
+        CountingUseCase uc = new CountingUseCase();
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMinutes(1), 100);
+        UseCasePipeline pipeline = new UseCasePipeline(List.of(cache));
+
+        assertEquals(1, pipeline.execute(uc, "read:a").getValue().intValue());
+        assertEquals(1, pipeline.execute(uc, "read:a").getValue().intValue());
+        assertEquals(2, pipeline.execute(uc, "read:b").getValue().intValue());
+        assertEquals(2, cache.size());
+
+        pipeline.execute(uc, "write:a");
+        assertEquals(1, cache.size());
+        assertEquals(4, pipeline.execute(uc, "read:a").getValue().intValue());
+        assertEquals(2, pipeline.execute(uc, "read:b").getValue().intValue());
+    }
+
+    @Test
+    void cacheStopsAcceptingEntriesWhenFull() {
+        CountingUseCase uc = new CountingUseCase();
+        CachingInterceptor cache = new CachingInterceptor(Duration.ofMinutes(1), 2);
+        UseCasePipeline pipeline = new UseCasePipeline(List.of(cache));
+
+        pipeline.execute(uc, "read:a");
+        pipeline.execute(uc, "read:b");
+        pipeline.execute(uc, "read:c");
+
+        assertEquals(2, cache.size());
+        assertEquals(4, pipeline.execute(uc, "read:c").getValue().intValue());
+    }
+}
@@ -1,9 +1,11 @@
 package com.pedidos.application.usecase;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
@@ -11,6 +13,8 @@ import com.pedidos.application.dto.ItemDto;
 import com.pedidos.application.dto.OrderDto;
 import com.pedidos.application.errors.AppError;
 import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.out.Clock;
 import com.pedidos.application.port.out.EventBus;
 import com.pedidos.application.port.out.OrderRepository;
 import com.pedidos.shared.result.Result;
@@ -76,6 +80,23 @@ class CreateOrderNegativeTest {
         assertTrue(res.getError() instanceof InfraError);
     }
 
+    @Test
+    void validateChecksLinesWithoutGeneratingAnId() {
+        AtomicInteger ids = new AtomicInteger();
+        CreateOrderUseCase uc = new CreateOrderUseCase(new InMemoryOkRepository(), new RecordingEventBus(), () -> {
+            ids.incrementAndGet();
+            return com.pedidos.domain.valueobjects.OrderId.newId();
+        }, Clock.system());
+
+        assertTrue(uc.validate(new OrderDto(List.of(new ItemDto("P-1", 1, BigDecimal.ONE, "EUR")))).isOk());
+        Result<Void, AppError> invalid = uc.validate(new OrderDto(List.of(new ItemDto("P-1", 0, BigDecimal.ONE, "EUR"))));
+        assertTrue(invalid.getError() instanceof ValidationError);
+        assertEquals(0, ids.get());
+
+        assertTrue(uc.execute(new OrderDto(List.of(new ItemDto("P-1", 1, BigDecimal.ONE, "EUR")))).isOk());
+        assertEquals(1, ids.get());
+    }
+
     // small helpers reused from previous tests
     static class InMemoryOkRepository implements OrderRepository {
         @Override
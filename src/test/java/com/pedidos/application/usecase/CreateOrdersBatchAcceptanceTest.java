@@ -0,0 +1,103 @@
+package com.pedidos.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.dto.ItemDto;
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.events.OrderCreatedEvent;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+class CreateOrdersBatchAcceptanceTest {
+
+    static class CountingRepository extends CreateOrderAcceptanceTest.InMemoryOrderRepository {
+        final List<Integer> saveAllSizes = new ArrayList<>();
+
+        @Override
+        public Result<Void, AppError> saveAll(List<Order> orders) {
+            saveAllSizes.add(orders.size());
+            return super.saveAll(orders);
+        }
+    }
+
+    private static OrderDto validOrder(String sku) {
+        return new OrderDto(List.of(new ItemDto(sku, 1, BigDecimal.valueOf(5), "EUR")));
+    }
+
+    @Test
+    void batchReturnsOneResultPerEntryAndSkipsInvalidOnes() {
+        CountingRepository repo = new CountingRepository();
+        CreateOrderAcceptanceTest.RecordingEventBus bus = new CreateOrderAcceptanceTest.RecordingEventBus();
+        CreateOrdersBatchUseCase uc = new CreateOrdersBatchUseCase(repo, bus);
+
+        List<OrderDto> batch = List.of(
+                validOrder("P-1"),
+                new OrderDto(List.of()),
+                new OrderDto(List.of(new ItemDto("P-2", null, BigDecimal.ONE, "EUR"))),
+                validOrder("P-3"));
+
+        Result<List<Result<OrderId, AppError>>, AppError> res = uc.execute(batch);
+        assertTrue(res.isOk());
+        List<Result<OrderId, AppError>> results = res.getValue();
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isOk());
+        assertTrue(results.get(1).getError() instanceof ValidationError);
+        assertTrue(results.get(2).getError() instanceof ValidationError);
+        assertTrue(results.get(3).isOk());
+
+        assertEquals(List.of(2), repo.saveAllSizes);
+        assertNotNull(repo.getStored(results.get(0).getValue()));
+        assertNotNull(repo.getStored(results.get(3).getValue()));
+        assertEquals(2, bus.published.stream().filter(e -> e instanceof OrderCreatedEvent).count());
+    }
+
+    @Test
+    void largeBatchIsSavedInChunks() {
+        CountingRepository repo = new CountingRepository();
+        CreateOrdersBatchUseCase uc = new CreateOrdersBatchUseCase(repo,
+                new CreateOrderAcceptanceTest.RecordingEventBus());
+        List<OrderDto> batch = new ArrayList<>();
+        for (int i = 0; i < CreateOrdersBatchUseCase.CHUNK_SIZE + 1; i++) {
+            batch.add(validOrder("P-" + i));
+        }
+
+        Result<List<Result<OrderId, AppError>>, AppError> res = uc.execute(batch);
+
+        assertTrue(res.isOk());
+        assertEquals(List.of(CreateOrdersBatchUseCase.CHUNK_SIZE, 1), repo.saveAllSizes);
+        assertTrue(res.getValue().stream().allMatch(Result::isOk));
+    }
+
+    @Test
+    void failedChunkMarksItsEntriesWithTheRepositoryError() {
+        CreateOrdersBatchUseCase uc = new CreateOrdersBatchUseCase(new CreateOrderNegativeTest.FailingSaveRepository(),
+                new CreateOrderAcceptanceTest.RecordingEventBus());
+
+        Result<List<Result<OrderId, AppError>>, AppError> res = uc
+                .execute(List.of(validOrder("P-1"), new OrderDto(List.of())));
+
+        assertTrue(res.isOk());
+        assertTrue(res.getValue().get(0).getError() instanceof InfraError);
+        assertTrue(res.getValue().get(1).getError() instanceof ValidationError);
+    }
+
+    @Test
+    void emptyBatchIsRejected() {
+        CreateOrdersBatchUseCase uc = new CreateOrdersBatchUseCase(new CountingRepository(),
+                new CreateOrderAcceptanceTest.RecordingEventBus());
+
+        assertTrue(uc.execute(List.of()).getError() instanceof ValidationError);
+    }
+}
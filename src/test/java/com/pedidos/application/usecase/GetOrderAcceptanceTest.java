@@ -1,6 +1,8 @@
 package com.pedidos.application.usecase;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashMap;
@@ -11,7 +13,12 @@ import org.junit.jupiter.api.Test;
 
 import com.pedidos.application.errors.AppError;
 import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
 import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
 import com.pedidos.shared.result.Result;
 
 class GetOrderAcceptanceTest {
@@ -51,11 +58,51 @@ class GetOrderAcceptanceTest {
         repo.save(order);
 
         GetOrderUseCase uc = new GetOrderUseCase(repo);
-        Result<java.util.Optional<com.pedidos.domain.entities.Order>, com.pedidos.application.errors.AppError> res = uc
+        Result<java.util.Optional<com.pedidos.application.dto.OrderView>, com.pedidos.application.errors.AppError> res = uc
                 .execute(order.getId().toString());
 
         assertTrue(res.isOk());
         assertTrue(res.getValue().isPresent());
-        assertEquals(order.getId(), res.getValue().get().getId());
+        assertEquals(order.getId(), res.getValue().get().id());
+    }
+
+    @Test
+    void getOrderReturnsAViewWithTotalsAndRecordsNoEvents() {
+        InMemoryOrderRepository repo = new InMemoryOrderRepository();
+        com.pedidos.domain.entities.Order order = com.pedidos.domain.entities.Order.create(OrderId.newId());
+        order.addItem(new OrderItem(new ProductId("P-1"), new Quantity(2), Money.of(3, Currency.EUR())));
+        order.addItem(new OrderItem(new ProductId("P-2"), new Quantity(1), Money.of(5, Currency.USD())));
+        repo.save(order);
+        order.pullDomainEvents();
+
+        com.pedidos.application.dto.OrderView view = new GetOrderUseCase(repo).execute(order.getId().toString())
+                .getValue().get();
+
+        assertEquals(2, view.items().size());
+        assertEquals(Money.of(6, Currency.EUR()), view.totals().get(Currency.EUR()));
+        assertEquals(Money.of(5, Currency.USD()), view.totals().get(Currency.USD()));
+        assertTrue(order.pullDomainEvents().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> view.items().clear());
+    }
+
+    @Test
+    void versionChangesOnlyWhenOrderContentChanges() {
+        InMemoryOrderRepository repo = new InMemoryOrderRepository();
+        com.pedidos.domain.entities.Order order = com.pedidos.domain.entities.Order.create(OrderId.newId());
+        order.addItem(new OrderItem(new ProductId("P-1"), new Quantity(1), Money.of(2, Currency.EUR())));
+        repo.save(order);
+        GetOrderVersionUseCase uc = new GetOrderVersionUseCase(repo);
+
+        Result<Optional<Long>, AppError> first = uc.execute(order.getId().toString());
+        Result<Optional<Long>, AppError> again = uc.execute(order.getId().toString());
+        assertTrue(first.getValue().isPresent());
+        assertEquals(first.getValue(), again.getValue());
+
+        order.addItem(new OrderItem(new ProductId("P-1"), new Quantity(1), Money.of(2, Currency.EUR())));
+        repo.update(order);
+        assertNotEquals(first.getValue(), uc.execute(order.getId().toString()).getValue());
+
+        assertTrue(uc.execute(OrderId.newId().toString()).getValue().isEmpty());
+        assertTrue(uc.execute("not-a-uuid").isFail());
     }
 }
@@ -39,7 +39,7 @@ class GetOrderNegativeTest {
             }
         });
 
-        Result<java.util.Optional<com.pedidos.domain.entities.Order>, com.pedidos.application.errors.AppError> res = uc
+        Result<java.util.Optional<com.pedidos.application.dto.OrderView>, com.pedidos.application.errors.AppError> res = uc
                 .execute("not-a-uuid");
         assertTrue(res.isFail());
         assertTrue(res.getError() instanceof ValidationError);
@@ -70,7 +70,7 @@ class GetOrderNegativeTest {
         };
 
         GetOrderUseCase uc = new GetOrderUseCase(repo);
-        Result<java.util.Optional<com.pedidos.domain.entities.Order>, com.pedidos.application.errors.AppError> res = uc
+        Result<java.util.Optional<com.pedidos.application.dto.OrderView>, com.pedidos.application.errors.AppError> res = uc
                 .execute(OrderId.newId().toString());
         assertTrue(res.isFail());
         assertTrue(res.getError() instanceof InfraError);
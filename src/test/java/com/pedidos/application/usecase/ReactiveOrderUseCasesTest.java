@@ -0,0 +1,153 @@
+package com.pedidos.application.usecase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.dto.ItemDto;
+import com.pedidos.application.dto.ItemToOrderDto;
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.errors.NotFoundError;
+import com.pedidos.application.errors.ValidationError;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.application.port.out.ReactiveOrderRepository;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.events.OrderCreatedEvent;
+import com.pedidos.domain.events.OrderDeletedEvent;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+class ReactiveOrderUseCasesTest {
+
+    static class InMemoryReactiveOrderRepository implements ReactiveOrderRepository {
+        final Map<OrderId, Order> store = new ConcurrentHashMap<>();
+        int calls;
+
+        private <T> CompletionStage<Result<T, AppError>> done(Result<T, AppError> r) {
+            calls++;
+            return CompletableFuture.completedFuture(r);
+        }
+
+        @Override
+        public CompletionStage<Result<Void, AppError>> save(Order order) {
+            store.put(order.getId(), order.copy());
+            return done(Result.ok(null));
+        }
+
+        @Override
+        public CompletionStage<Result<Void, AppError>> update(Order order) {
+            if (!store.containsKey(order.getId()))
+                return done(Result.fail(new NotFoundError("Order not found: " + order.getId())));
+            store.put(order.getId(), order.copy());
+            return done(Result.ok(null));
+        }
+
+        @Override
+        public CompletionStage<Result<Optional<Order>, AppError>> findById(OrderId id) {
+            return done(Result.ok(Optional.ofNullable(store.get(id)).map(Order::copy)));
+        }
+
+        @Override
+        public CompletionStage<Result<Optional<Long>, AppError>> findVersion(OrderId id) {
+            return done(Result.ok(store.containsKey(id) ? Optional.of(1L) : Optional.empty()));
+        }
+
+        @Override
+        public CompletionStage<Result<Void, AppError>> delete(OrderId id) {
+            store.remove(id);
+            return done(Result.ok(null));
+        }
+    }
+
+    private final InMemoryReactiveOrderRepository repo = new InMemoryReactiveOrderRepository();
+    private final List<Object> published = new ArrayList<>();
+    private final ReactiveOrderUseCases orders = new ReactiveOrderUseCases(repo, event -> {
+        published.add(event);
+        return Result.ok(null);
+    });
+
+    private static <T> T await(CompletionStage<T> stage) {
+        return stage.toCompletableFuture().join();
+    }
+
+    @Test
+    void createAddGetAndDeleteGoThroughTheReactiveRepository() {
+        OrderDto dto = new OrderDto(List.of(new ItemDto("p1", 2, new BigDecimal("5.00"), "EUR")));
+        Result<OrderId, AppError> created = await(orders.createOrder(dto));
+        assertTrue(created.isOk());
+        assertTrue(published.get(0) instanceof OrderCreatedEvent);
+        String id = created.getValue().toString();
+
+        Result<OrderId, AppError> added = await(
+                orders.addItem(new ItemToOrderDto(id, new ItemDto("p2", 1, new BigDecimal("1.00"), "EUR"))));
+        assertTrue(added.isOk());
+
+        Optional<OrderView> loaded = await(orders.getOrder(id)).getValue();
+        assertEquals(2, loaded.get().items().size());
+        assertEquals(Optional.of(1L), await(orders.getOrderVersion(id)).getValue());
+
+        assertTrue(await(orders.deleteOrder(id)).isOk());
+        assertTrue(published.get(published.size() - 1) instanceof OrderDeletedEvent);
+        assertTrue(await(orders.getOrder(id)).getValue().isEmpty());
+    }
+
+    @Test
+    void invalidRequestsFailWithoutTouchingTheRepository() {
+        assertTrue(await(orders.createOrder(new OrderDto(List.of()))).getError() instanceof ValidationError);
+        assertTrue(await(orders.getOrder("not-a-uuid")).getError() instanceof ValidationError);
+        assertEquals(0, repo.calls);
+    }
+
+    @Test
+    void addItemToMissingOrderIsNotFound() {
+        Result<OrderId, AppError> res = await(orders.addItem(new ItemToOrderDto(OrderId.newId().toString(),
+                new ItemDto("p1", 1, BigDecimal.ONE, "EUR"))));
+        assertTrue(res.getError() instanceof NotFoundError);
+    }
+
+    @Test
+    void exceptionalStagesBecomeInfraErrors() {
+        ReactiveOrderUseCases failing = new ReactiveOrderUseCases(new InMemoryReactiveOrderRepository() {
+            @Override
+            public CompletionStage<Result<Optional<Order>, AppError>> findById(OrderId id) {
+                return CompletableFuture.failedFuture(new IllegalStateException("connection reset"));
+            }
+        }, event -> Result.ok(null));
+
+        Result<Optional<OrderView>, AppError> res = await(failing.getOrder(OrderId.newId().toString()));
+        assertTrue(res.getError() instanceof InfraError);
+    }
+
+    @Test
+    void eventsArePublishedOnTheEventExecutorNotTheCallingThread() {
+        ExecutorService events = Executors.newSingleThreadExecutor(r -> new Thread(r, "events"));
+        List<String> threads = new ArrayList<>();
+        ReactiveOrderUseCases onExecutor = new ReactiveOrderUseCases(repo, event -> {
+            threads.add(Thread.currentThread().getName());
+            return Result.ok(null);
+        }, OrderIdGenerator.random(), Clock.system(), events);
+        try {
+            OrderDto dto = new OrderDto(List.of(new ItemDto("p1", 1, BigDecimal.ONE, "EUR")));
+            assertTrue(await(onExecutor.createOrder(dto)).isOk());
+            assertTrue(!threads.isEmpty() && threads.stream().allMatch("events"::equals), threads.toString());
+        } finally {
+            events.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.pedidos.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pedidos.domain.entities.LineTotals;
+
+/**
+ * JMH: a partir de cuántas líneas compensa repartir LineTotals.sum en el
+ * ForkJoinPool común (LineTotals.PARALLEL_THRESHOLD).
+ *
+ * - serial: el kernel en el hilo que llama (vectorial si está disponible).
+ * - parallel: el mismo rango en bloques del ForkJoinPool común.
+ * - serialLoaded / parallelLoaded: lo mismo con un hilo de benchmark por
+ * núcleo, como un servidor con todas sus peticiones sumando a la vez; ahí el
+ * reparto compite por los mismos núcleos.
+ *
+ * El cruce depende de los núcleos: ejecutar en una máquina como las de
+ * producción con:
+ * mvn -Pbench test-compile exec:exec -Djmh.args="LineTotalsParallelBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class LineTotalsParallelBenchmark {
+
+    @Param({ "16384", "32768", "65536", "131072", "262144", "1048576" })
+    public int lines;
+
+    private long[] prices;
+    private int[] quantities;
+    private byte[] currencyRefs;
+    private boolean vector;
+
+    @Setup
+    public void setUp() {
+        prices = new long[lines];
+        quantities = new int[lines];
+        currencyRefs = new byte[lines];
+        for (int i = 0; i < lines; i++) {
+            prices[i] = 100 + i % 10_000;
+            quantities[i] = 1 + i % 7;
+        }
+        vector = LineTotals.vectorAvailable();
+    }
+
+    private long[] serialSum() {
+        return vector ? LineTotals.sumVector(prices, quantities, currencyRefs, 0, lines, 1)
+                : LineTotals.sumScalar(prices, quantities, currencyRefs, 0, lines, 1);
+    }
+
+    @Benchmark
+    public long[] serial() {
+        return serialSum();
+    }
+
+    @Benchmark
+    public long[] parallel() {
+        return LineTotals.sumParallel(prices, quantities, currencyRefs, 0, lines, 1);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long[] serialLoaded() {
+        return serialSum();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long[] parallelLoaded() {
+        return LineTotals.sumParallel(prices, quantities, currencyRefs, 0, lines, 1);
+    }
+}
@@ -0,0 +1,118 @@
+package com.pedidos.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.pedidos.application.dto.ItemDto;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.infrastructure.rest.OrderJsonWriter;
+
+/**
+ * JMH: JSON frente a CBOR en los dos caminos calientes entre servicios.
+ *
+ * - write*: respuesta de GET /api/orders/{id} con OrderJsonWriter sobre cada
+ * generador (lo que hace OrderHttpMessageConverter).
+ * - read*: líneas de una petición de creación leídas con databind (lo que
+ * hace el converter Jackson de cada formato).
+ *
+ * El tamaño de cada payload se imprime en el setup. Ejecutar con:
+ * mvn -Pbench test-compile exec:exec -Djmh.args="OrderCborBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCborBenchmark {
+
+    @Param({ "1", "50", "1000" })
+    public int lines;
+
+    private OrderView view;
+    private JsonFactory jsonFactory;
+    private CBORFactory cborFactory;
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private byte[] jsonRequest;
+    private byte[] cborRequest;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException {
+        Order order = Order.create(OrderId.newId());
+        ItemDto[] request = new ItemDto[lines];
+        for (int i = 0; i < lines; i++) {
+            Currency currency = i % 3 == 0 ? Currency.of("USD") : Currency.EUR();
+            BigDecimal price = BigDecimal.valueOf(100 + i, 2);
+            order.addItem(new OrderItem(new ProductId("SKU-" + i), new Quantity(1 + i % 5),
+                    new Money(price, currency)));
+            request[i] = new ItemDto("SKU-" + i, 1 + i % 5, price, currency.getCode());
+        }
+        view = OrderView.of(order);
+        jsonFactory = new JsonFactory();
+        cborFactory = new CBORFactory();
+        jsonMapper = new ObjectMapper(jsonFactory);
+        cborMapper = new ObjectMapper(cborFactory);
+        jsonRequest = jsonMapper.writeValueAsBytes(request);
+        cborRequest = cborMapper.writeValueAsBytes(request);
+        out = new ByteArrayOutputStream(64 * 1024);
+
+        System.out.printf("%n[lines=%d] response: json=%d B cbor=%d B; request: json=%d B cbor=%d B%n", lines,
+                writeJson(), writeCbor(), jsonRequest.length, cborRequest.length);
+    }
+
+    @Benchmark
+    public int writeJson() throws IOException {
+        return write(jsonFactory);
+    }
+
+    @Benchmark
+    public int writeCbor() throws IOException {
+        return write(cborFactory);
+    }
+
+    @Benchmark
+    public ItemDto[] readJson() throws IOException {
+        return jsonMapper.readValue(jsonRequest, ItemDto[].class);
+    }
+
+    @Benchmark
+    public ItemDto[] readCbor() throws IOException {
+        return cborMapper.readValue(cborRequest, ItemDto[].class);
+    }
+
+    private int write(JsonFactory factory) throws IOException {
+        out.reset();
+        try (JsonGenerator g = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            OrderJsonWriter.write(view, g);
+        }
+        return out.size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.pedidos.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.infrastructure.clock.SystemClock;
+import com.pedidos.infrastructure.id.UuidV7OrderIdGenerator;
+
+/**
+ * JMH: coste de generar el id de un pedido, UUID.randomUUID() (SecureRandom
+ * compartido) frente a UuidV7OrderIdGenerator.
+ *
+ * La diferencia crece con los hilos; ejecutar con varios:
+ * mvn -Pbench test-compile exec:exec -Djmh.args="OrderIdGeneratorBenchmark -t 8"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderIdGeneratorBenchmark {
+
+    private final OrderIdGenerator random = OrderIdGenerator.random();
+    private final OrderIdGenerator uuidV7 = new UuidV7OrderIdGenerator(new SystemClock());
+
+    @Benchmark
+    public OrderId random() {
+        return random.next();
+    }
+
+    @Benchmark
+    public OrderId uuidV7() {
+        return uuidV7.next();
+    }
+}
@@ -0,0 +1,119 @@
+package com.pedidos.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.out.OrderIdGenerator;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.infrastructure.adapter.persistence.h2.H2OrderRepository;
+import com.pedidos.infrastructure.clock.SystemClock;
+import com.pedidos.infrastructure.id.UuidV7OrderIdGenerator;
+import com.pedidos.shared.result.Result;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * JMH: inserciones de pedidos (H2OrderRepository.save, una línea por pedido)
+ * con ids aleatorios frente a UUIDv7, sobre una tabla ya cargada con
+ * preloadedOrders filas para que el índice de la clave primaria no quepa en
+ * unas pocas páginas.
+ *
+ * Por defecto H2 en memoria. Contra Postgres (15+, el repositorio usa MERGE):
+ * mvn -Pbench test-compile exec:exec -Djmh.args="OrderInsertBenchmark
+ * -p url=jdbc:postgresql://localhost:5432/pedidos -p user=pedidos -p pass=..."
+ * La tabla orders se vacía al empezar cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    @Param({ "RANDOM", "UUIDV7" })
+    public String ids;
+
+    @Param({ "jdbc:h2:mem:insert-bench;DB_CLOSE_DELAY=-1;MODE=PostgreSQL" })
+    public String url;
+
+    @Param({ "sa" })
+    public String user;
+
+    @Param({ "" })
+    public String pass;
+
+    @Param({ "200000" })
+    public int preloadedOrders;
+
+    private HikariDataSource dataSource;
+    private H2OrderRepository repository;
+    private OrderIdGenerator generator;
+
+    @Setup
+    public void setUp() throws SQLException {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(user);
+        dataSource.setPassword(pass);
+        dataSource.setMaximumPoolSize(8);
+        repository = new H2OrderRepository(dataSource);
+        try (Connection c = dataSource.getConnection(); Statement st = c.createStatement()) {
+            st.executeUpdate("DELETE FROM orders");
+        }
+        generator = "UUIDV7".equals(ids) ? new UuidV7OrderIdGenerator(new SystemClock()) : OrderIdGenerator.random();
+
+        List<Order> chunk = new ArrayList<>(1_000);
+        for (int i = 0; i < preloadedOrders; i++) {
+            chunk.add(order());
+            if (chunk.size() == 1_000 || i == preloadedOrders - 1) {
+                Result<Void, AppError> saved = repository.saveAll(chunk);
+                if (saved.isFail())
+                    throw new IllegalStateException("Preload failed: " + saved.getError());
+                chunk.clear();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Result<Void, AppError> insert() {
+        return repository.save(order());
+    }
+
+    private Order order() {
+        Order order = Order.create(generator.next());
+        order.addItem(new OrderItem(ProductId.of("SKU-1"), new Quantity(1),
+                new Money(new BigDecimal("9.99"), Currency.EUR())));
+        return order;
+    }
+}
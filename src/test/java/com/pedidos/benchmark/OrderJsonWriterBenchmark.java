@@ -0,0 +1,128 @@
+package com.pedidos.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.infrastructure.rest.OrderJsonWriter;
+
+/**
+ * JMH: respuesta de GET /api/orders/{id} con el grafo de DTOs + Jackson
+ * databind (implementación anterior del controlador) frente a OrderJsonWriter
+ * en streaming, para pedidos de 1, 50 y 1000 líneas.
+ *
+ * Ejecutar con el perfil bench; -prof gc da la asignación por petición
+ * (gc.alloc.rate.norm, bytes/op):
+ * mvn -Pbench test-compile exec:exec -Djmh.args="OrderJsonWriterBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderJsonWriterBenchmark {
+
+    @Param({ "1", "50", "1000" })
+    public int lines;
+
+    private Order order;
+    private OrderView view;
+    private ObjectMapper mapper;
+    private JsonFactory factory;
+    private ByteArrayOutputStream out;
+
+    // Copia de los DTOs de respuesta que usaba OrdersController.getOrder
+    public static final class OrderItemResp {
+        public String productId;
+        public int quantity;
+        public BigDecimal unitPrice;
+        public String currency;
+
+        public OrderItemResp(String productId, int quantity, BigDecimal unitPrice, String currency) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+            this.currency = currency;
+        }
+    }
+
+    public static final class OrderResponse {
+        public String orderId;
+        public List<OrderItemResp> items;
+        public Map<String, BigDecimal> totals;
+
+        public OrderResponse(String orderId, List<OrderItemResp> items, Map<String, BigDecimal> totals) {
+            this.orderId = orderId;
+            this.items = items;
+            this.totals = totals;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        order = Order.create(OrderId.newId());
+        for (int i = 0; i < lines; i++) {
+            Currency currency = i % 3 == 0 ? Currency.of("USD") : Currency.EUR();
+            order.addItem(new OrderItem(new ProductId("SKU-" + i), new Quantity(1 + i % 5),
+                    new Money(BigDecimal.valueOf(100 + i, 2), currency)));
+        }
+        order.pullDomainEvents();
+        view = OrderView.of(order);
+        mapper = new ObjectMapper();
+        factory = JsonFactory.builder().build();
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    @Benchmark
+    public int dtoGraphWithDatabind() throws IOException {
+        List<OrderItemResp> items = order.getItems().stream().map(it -> new OrderItemResp(
+                it.getProductId().getId(), it.getQuantity().getValue(), it.getUnitPrice().getAmount(),
+                it.getUnitPrice().getCurrency().getCode())).toList();
+        Map<String, BigDecimal> totals = order.totalsByCurrency().entrySet().stream()
+                .collect(Collectors.toMap(e -> e.getKey().getCode(), e -> e.getValue().getAmount(),
+                        (a, b) -> a, LinkedHashMap::new));
+        out.reset();
+        mapper.writeValue(out, new OrderResponse(order.getId().toString(), items, totals));
+        order.pullDomainEvents();
+        return out.size();
+    }
+
+    @Benchmark
+    public int streamingWriter() throws IOException {
+        out.reset();
+        try (JsonGenerator g = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            OrderJsonWriter.write(view, g);
+        }
+        return out.size();
+    }
+}
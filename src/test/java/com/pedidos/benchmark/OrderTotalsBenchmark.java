@@ -0,0 +1,110 @@
+package com.pedidos.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.pedidos.domain.entities.LineTotals;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+
+/**
+ * JMH: totales por moneda de un pedido grande, para ver dónde compensa cada
+ * camino de LineTotals.
+ *
+ * - bigDecimal / money: suma línea a línea con BigDecimal y con Money::add
+ * (lo que hacía OrderView.of).
+ * - lineTotals: LineTotals.of, extracción de columnas incluida.
+ * - scalar / vector / parallel: solo el kernel, sobre columnas ya extraídas.
+ *
+ * Un solo hilo mide la latencia de un pedido; parallel usa el ForkJoinPool
+ * común. Ejecutar con:
+ * mvn -Pbench test-compile exec:exec -Djmh.args="OrderTotalsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+public class OrderTotalsBenchmark {
+
+    @Param({ "8", "64", "512", "4096", "65536", "1048576" })
+    public int lines;
+
+    private List<OrderItem> items;
+    private long[] prices;
+    private int[] quantities;
+    private byte[] currencyRefs;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(lines);
+        prices = new long[lines];
+        quantities = new int[lines];
+        currencyRefs = new byte[lines];
+        for (int i = 0; i < lines; i++) {
+            Money price = Money.ofMinorUnits(100 + i % 10_000, Currency.EUR());
+            int quantity = 1 + i % 7;
+            items.add(new OrderItem(new ProductId("SKU-" + i), new Quantity(quantity), price));
+            prices[i] = price.getMinorUnits();
+            quantities[i] = quantity;
+        }
+    }
+
+    @Benchmark
+    public Map<Currency, BigDecimal> bigDecimal() {
+        Map<Currency, BigDecimal> totals = new HashMap<>();
+        for (OrderItem item : items) {
+            BigDecimal line = item.getUnitPrice().getAmount().multiply(BigDecimal.valueOf(item.getQuantity().getValue()));
+            totals.merge(item.getUnitPrice().getCurrency(), line, BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<Currency, Money> money() {
+        Map<Currency, Money> totals = new HashMap<>();
+        for (OrderItem item : items)
+            totals.merge(item.getUnitPrice().getCurrency(), item.total(), Money::add);
+        return totals;
+    }
+
+    @Benchmark
+    public Map<Currency, Money> lineTotals() {
+        return LineTotals.of(items);
+    }
+
+    @Benchmark
+    public long[] scalar() {
+        return LineTotals.sumScalar(prices, quantities, currencyRefs, 0, lines, 1);
+    }
+
+    @Benchmark
+    public long[] vector() {
+        return LineTotals.sumVector(prices, quantities, currencyRefs, 0, lines, 1);
+    }
+
+    @Benchmark
+    public long[] parallel() {
+        return LineTotals.sumParallel(prices, quantities, currencyRefs, 0, lines, 1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.pedidos.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pedidos.application.dto.ItemDto;
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.usecase.CreateOrderUseCase;
+import com.pedidos.application.usecase.GetOrderUseCase;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.infrastructure.adapter.persistence.h2.H2OrderRepository;
+import com.pedidos.infrastructure.eventbus.InMemoryEventBus;
+import com.pedidos.shared.result.Result;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Benchmark de carga: hilos de plataforma (pool fijo, como los workers de
+ * Tomcat) frente a hilos virtuales, con alta concurrencia contra un pool de
+ * conexiones fijo.
+ *
+ * Cada petición crea un pedido y lo vuelve a leer (H2OrderRepository sobre
+ * Hikari) y publica sus eventos; un handler simula una llamada remota fuera de
+ * la BD con una latencia fija, que es donde los hilos de plataforma se quedan
+ * bloqueados.
+ *
+ * No es un test: se ejecuta a mano desde el IDE o con
+ * java -cp target/test-classes:target/classes:... com.pedidos.benchmark.VirtualThreadLoadBenchmark
+ * [requests] [concurrency] [poolSize] [remoteLatencyMs]
+ * Para comprobar pinning añadir -Djdk.tracePinnedThreads=short.
+ */
+public final class VirtualThreadLoadBenchmark {
+
+    private static final int PLATFORM_WORKERS = 200; // server.tomcat.threads.max por defecto
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        int poolSize = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        Duration remoteLatency = Duration.ofMillis(args.length > 3 ? Long.parseLong(args[3]) : 20);
+
+        System.out.printf("requests=%d concurrency=%d pool=%d remoteLatency=%dms%n", requests, concurrency, poolSize,
+                remoteLatency.toMillis());
+
+        // calentamiento
+        run("warmup", Executors.newVirtualThreadPerTaskExecutor(), 2_000, 200, poolSize, remoteLatency);
+
+        run("platform(" + PLATFORM_WORKERS + ")", Executors.newFixedThreadPool(PLATFORM_WORKERS), requests,
+                concurrency, poolSize, remoteLatency);
+        run("virtual", Executors.newVirtualThreadPerTaskExecutor(), requests, concurrency, poolSize, remoteLatency);
+    }
+
+    private static void run(String label, ExecutorService executor, int requests, int concurrency, int poolSize,
+            Duration remoteLatency) throws InterruptedException {
+        try (HikariDataSource ds = new HikariDataSource()) {
+            ds.setJdbcUrl("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+            ds.setUsername("sa");
+            ds.setMaximumPoolSize(poolSize);
+            ds.setConnectionTimeout(30_000);
+
+            H2OrderRepository repository = new H2OrderRepository(ds);
+            InMemoryEventBus bus = new InMemoryEventBus();
+            bus.register(Object.class, "remote-call", event -> {
+                try {
+                    Thread.sleep(remoteLatency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Result.ok(null);
+            });
+            CreateOrderUseCase create = new CreateOrderUseCase(repository, bus);
+            GetOrderUseCase get = new GetOrderUseCase(repository);
+            OrderDto body = new OrderDto(List.of(
+                    new ItemDto("SKU-1", 2, new BigDecimal("9.99"), "EUR"),
+                    new ItemDto("SKU-2", 1, new BigDecimal("25.00"), "EUR")));
+
+            long[] latencies = new long[requests];
+            AtomicInteger errors = new AtomicInteger();
+            Semaphore inFlight = new Semaphore(concurrency);
+            CountDownLatch done = new CountDownLatch(requests);
+
+            long start = System.nanoTime();
+            try (executor) {
+                for (int i = 0; i < requests; i++) {
+                    inFlight.acquire();
+                    int slot = i;
+                    long submitted = System.nanoTime();
+                    executor.execute(() -> {
+                        try {
+                            Result<OrderId, AppError> created = create.execute(body);
+                            if (created.isFail() || get.execute(created.getValue().toString()).isFail())
+                                errors.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        } finally {
+                            latencies[slot] = System.nanoTime() - submitted;
+                            inFlight.release();
+                            done.countDown();
+                        }
+                    });
+                }
+                done.await();
+            }
+            long elapsed = System.nanoTime() - start;
+            bus.close();
+
+            Arrays.sort(latencies);
+            System.out.printf("%-14s %8.0f req/s  p50=%6.1fms  p99=%7.1fms  max=%7.1fms  errors=%d%n", label,
+                    requests / (elapsed / 1e9), percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1e6, errors.get());
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int idx = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, idx)] / 1e6;
+    }
+}
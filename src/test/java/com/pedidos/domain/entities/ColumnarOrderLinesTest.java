@@ -0,0 +1,112 @@
+package com.pedidos.domain.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+
+class ColumnarOrderLinesTest {
+
+    private static final long[] SEEDS = { 3L, 99L, 31337L, 20240601L };
+
+    @Test
+    void behavesLikeALinkedHashMap() {
+        for (long seed : SEEDS) {
+            Random random = new Random(seed);
+            ColumnarOrderLines lines = new ColumnarOrderLines(0);
+            Map<ProductId, OrderItem> reference = new LinkedHashMap<>();
+
+            for (int op = 0; op < 20_000; op++) {
+                ProductId pid = new ProductId("SKU-" + random.nextInt(600));
+                int kind = random.nextInt(10);
+                if (kind < 3) {
+                    assertEquals(reference.remove(pid), lines.remove(pid), "seed " + seed + ", op " + op);
+                } else if (kind < 5) {
+                    assertEquals(reference.get(pid), lines.find(pid), "seed " + seed + ", op " + op);
+                } else {
+                    OrderItem item = new OrderItem(pid, new Quantity(1 + random.nextInt(50)), randomPrice(random));
+                    reference.put(pid, item);
+                    lines.put(item);
+                }
+                assertEquals(reference.size(), lines.size());
+            }
+            assertEquals(new ArrayList<>(reference.values()), toList(lines), "seed " + seed);
+        }
+    }
+
+    @Test
+    void removedProductGoesToTheEndWhenAddedAgain() {
+        ColumnarOrderLines lines = new ColumnarOrderLines(0);
+        for (String id : new String[] { "A", "B", "C" })
+            lines.put(new OrderItem(new ProductId(id), new Quantity(1), Money.of(1, Currency.EUR())));
+
+        lines.remove(new ProductId("A"));
+        assertNull(lines.find(new ProductId("A")));
+        lines.put(new OrderItem(new ProductId("A"), new Quantity(2), Money.of(1, Currency.EUR())));
+
+        List<String> order = new ArrayList<>();
+        lines.forEach(it -> order.add(it.getProductId().getId()));
+        assertEquals(List.of("B", "C", "A"), order);
+    }
+
+    @Test
+    void keepsPricesThatDoNotFitInMinorUnitsAndCopiesAreIndependent() {
+        ColumnarOrderLines lines = new ColumnarOrderLines(0);
+        Money huge = new Money(BigDecimal.valueOf(Long.MAX_VALUE).multiply(BigDecimal.TEN), Currency.USD());
+        OrderItem big = new OrderItem(new ProductId("BIG"), new Quantity(1), huge);
+        lines.put(big);
+        OrderLines copy = lines.copy();
+
+        lines.put(new OrderItem(new ProductId("BIG"), new Quantity(1), Money.of(5, Currency.USD())));
+
+        assertEquals(big, copy.find(new ProductId("BIG")));
+        assertEquals(Money.of(5, Currency.USD()), lines.find(new ProductId("BIG")).getUnitPrice());
+    }
+
+    @Test
+    void orderSwitchesRepresentationWithoutChangingItsBehaviour() {
+        Order order = Order.create(OrderId.newId());
+        Map<ProductId, OrderItem> reference = new LinkedHashMap<>();
+        int lines = OrderLines.COLUMNAR_THRESHOLD * 4;
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = new OrderItem(new ProductId("P" + i), new Quantity(1 + i % 7),
+                    new Money(BigDecimal.valueOf(100 + i, 2), i % 2 == 0 ? Currency.EUR() : Currency.of("JPY")));
+            order.addItem(item);
+            reference.put(item.getProductId(), item);
+        }
+        // fusionar una línea conserva su posición
+        order.addItem(new OrderItem(new ProductId("P0"), new Quantity(3), Money.of(1, Currency.EUR())));
+        reference.put(new ProductId("P0"), reference.get(new ProductId("P0")).increaseQuantity(new Quantity(3)));
+
+        assertEquals(new ArrayList<>(reference.values()), order.getItems());
+        Order copy = order.copy();
+        order.removeItem(new ProductId("P1"));
+        assertEquals(lines, copy.getItems().size());
+        assertEquals(lines - 1, order.getItems().size());
+    }
+
+    private static Money randomPrice(Random random) {
+        Currency currency = random.nextBoolean() ? Currency.EUR() : Currency.of("BHD");
+        return new Money(BigDecimal.valueOf(1 + random.nextInt(100_000), 2), currency);
+    }
+
+    private static List<OrderItem> toList(OrderLines lines) {
+        List<OrderItem> list = new ArrayList<>();
+        lines.forEach(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,114 @@
+package com.pedidos.domain.entities;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+
+class LineTotalsTest {
+
+    private static final Currency[] CURRENCIES = { Currency.EUR(), Currency.of("JPY"), Currency.of("BHD"),
+            Currency.USD() };
+
+    @Test
+    void matchesTheBigDecimalPathBitForBit() {
+        Random random = new Random(42);
+        for (int n : new int[] { 1, 100, LineTotals.BULK_THRESHOLD, 5_000, 70_000 }) {
+            for (int currencies : new int[] { 1, 3 }) {
+                List<OrderItem> items = new ArrayList<>(n);
+                for (int i = 0; i < n; i++) {
+                    Currency currency = CURRENCIES[random.nextInt(currencies)];
+                    BigDecimal price = BigDecimal.valueOf(1_000 + random.nextInt(1_000_000), random.nextInt(4)); // >= 1 en cualquier moneda
+                    items.add(line(i, 1 + random.nextInt(1_000), new Money(price, currency)));
+                }
+                assertSameTotals(reference(items), LineTotals.of(items));
+            }
+        }
+    }
+
+    @Test
+    void overflowingAndOversizedAmountsFallBackToExactArithmetic() {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++)
+            items.add(line(i, 1_000_000, Money.ofMinorUnits(Long.MAX_VALUE / 1_000_000_000L, Currency.EUR())));
+        items.add(line(-1, 2, new Money(new BigDecimal("1e30"), Currency.USD())));
+        assertSameTotals(reference(items), LineTotals.of(items));
+
+        // solo una línea enorme en su moneda, entre líneas normales
+        List<OrderItem> mixed = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++)
+            mixed.add(line(i, 3, Money.ofMinorUnits(199, i == 10 ? Currency.USD() : Currency.EUR())));
+        mixed.add(line(-1, 1, new Money(new BigDecimal("1e30"), Currency.of("JPY"))));
+        assertSameTotals(reference(mixed), LineTotals.of(mixed));
+    }
+
+    @Test
+    void kernelsAgreeAndReportOverflow() {
+        Random random = new Random(7);
+        int n = 100_003;
+        long[] prices = new long[n];
+        int[] quantities = new int[n];
+        byte[] single = new byte[n];
+        byte[] mixed = new byte[n];
+        for (int i = 0; i < n; i++) {
+            prices[i] = 1 + random.nextInt(10_000_000);
+            quantities[i] = i % 97 == 0 ? 0 : 1 + random.nextInt(50); // 0 = línea borrada
+            mixed[i] = (byte) (i < n / 2 ? 0 : random.nextInt(3));
+        }
+        for (byte[] refs : new byte[][] { single, mixed }) {
+            long[] expected = LineTotals.sumScalar(prices, quantities, refs, 0, n, 3);
+            assertArrayEquals(expected, LineTotals.sum(prices, quantities, refs, 0, n, 3));
+            assertArrayEquals(expected, LineTotals.sumParallel(prices, quantities, refs, 0, n, 3));
+            if (LineTotals.vectorAvailable())
+                assertArrayEquals(expected, LineTotals.sumVector(prices, quantities, refs, 0, n, 3));
+            // subrangos con cola que no llena un vector
+            assertArrayEquals(LineTotals.sumScalar(prices, quantities, refs, 3, 1_000, 3),
+                    LineTotals.sum(prices, quantities, refs, 3, 1_000, 3));
+        }
+
+        prices[5] = Long.MAX_VALUE / 2;
+        quantities[5] = 3;
+        assertNull(LineTotals.sumScalar(prices, quantities, single, 0, n, 1));
+        assertNull(LineTotals.sum(prices, quantities, single, 0, n, 1));
+        assertNull(LineTotals.sumParallel(prices, quantities, single, 0, n, 1));
+        if (LineTotals.vectorAvailable())
+            assertNull(LineTotals.sumVector(prices, quantities, single, 0, n, 1));
+    }
+
+    private static OrderItem line(int i, int quantity, Money price) {
+        return new OrderItem(new ProductId("SKU-" + i), new Quantity(quantity), price);
+    }
+
+    // Camino de referencia: BigDecimal puro, en el orden de aparición de las monedas
+    private static Map<Currency, BigDecimal> reference(List<OrderItem> items) {
+        Map<Currency, BigDecimal> totals = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            BigDecimal line = item.getUnitPrice().getAmount().multiply(BigDecimal.valueOf(item.getQuantity().getValue()));
+            totals.merge(item.getUnitPrice().getCurrency(), line, BigDecimal::add);
+        }
+        return totals;
+    }
+
+    private static void assertSameTotals(Map<Currency, BigDecimal> expected, Map<Currency, Money> actual) {
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        expected.forEach((currency, amount) -> {
+            // mismo valor y misma escala (BigDecimal.equals)
+            assertEquals(amount, actual.get(currency).getAmount());
+            assertEquals(new Money(amount, currency), actual.get(currency));
+        });
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -69,4 +70,24 @@ class OrderTest {
         List<Object> afterRemoveEvents = order.pullDomainEvents();
         assertTrue(afterRemoveEvents.stream().anyMatch(e -> e instanceof ItemRemovedEvent));
     }
+
+    @Test
+    void eventsAreTimestampedByTheGivenClock() {
+        Instant t0 = Instant.parse("2024-05-01T10:00:00Z");
+        Instant[] now = { t0 };
+        Order order = Order.create(OrderId.newId(), () -> now[0]);
+        ProductId pid = new ProductId("pA");
+        now[0] = t0.plusSeconds(5);
+        order.addItem(new OrderItem(pid, new Quantity(1), new Money(BigDecimal.ONE, Currency.EUR())));
+
+        List<Object> events = order.pullDomainEvents();
+        assertEquals(t0, ((OrderCreatedEvent) events.get(0)).getCreatedAt());
+        assertEquals(t0.plusSeconds(5), ((ItemAddedEvent) events.get(1)).getOccurredAt());
+
+        // las copias conservan el reloj
+        Order copy = order.copy();
+        now[0] = t0.plusSeconds(9);
+        copy.removeItem(pid);
+        assertEquals(t0.plusSeconds(9), ((ItemRemovedEvent) copy.pullDomainEvents().get(0)).getOccurredAt());
+    }
 }
@@ -0,0 +1,89 @@
+package com.pedidos.domain.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+
+/**
+ * Propiedad: tras cualquier secuencia de addItem/removeItem los totales
+ * incrementales coinciden con recalcularlos desde las líneas. Semillas fijas
+ * para que un fallo sea reproducible.
+ */
+class OrderTotalsPropertyTest {
+
+    private static final long[] SEEDS = { 1L, 7L, 42L, 1234L, 20240601L, 987654321L };
+    private static final int OPERATIONS = 2_000;
+    private static final Currency[] CURRENCIES = { Currency.EUR(), Currency.USD(), Currency.of("JPY"),
+            Currency.of("BHD") };
+
+    @Test
+    void incrementalTotalsMatchFullRecomputation() {
+        for (long seed : SEEDS) {
+            Random random = new Random(seed);
+            Order order = Order.create(OrderId.newId());
+            List<ProductId> products = new ArrayList<>();
+            for (int i = 0; i < 50; i++)
+                products.add(new ProductId("p" + i));
+
+            for (int op = 0; op < OPERATIONS; op++) {
+                ProductId pid = products.get(random.nextInt(products.size()));
+                if (random.nextInt(4) == 0) {
+                    order.removeItem(pid);
+                } else {
+                    order.addItem(new OrderItem(pid, new Quantity(1 + random.nextInt(20)), randomPrice(random)));
+                }
+                assertEquals(recompute(order), order.totalsByCurrency(), "seed " + seed + ", operation " + op);
+                order.pullDomainEvents();
+            }
+        }
+    }
+
+    @Test
+    void incrementalTotalsMatchAcrossTheBigDecimalFallback() {
+        for (long seed : SEEDS) {
+            Random random = new Random(seed);
+            Order order = Order.create(OrderId.newId());
+            for (int op = 0; op < 200; op++) {
+                ProductId pid = new ProductId("p" + random.nextInt(10));
+                if (random.nextInt(3) == 0) {
+                    order.removeItem(pid);
+                } else {
+                    // precios cercanos a Long.MAX_VALUE céntimos: las sumas desbordan el long
+                    BigDecimal price = BigDecimal.valueOf(Long.MAX_VALUE / 4 - random.nextInt(1000), 2);
+                    order.addItem(new OrderItem(pid, new Quantity(1 + random.nextInt(3)),
+                            new Money(price, Currency.EUR())));
+                }
+                assertEquals(recompute(order), order.totalsByCurrency(), "seed " + seed + ", operation " + op);
+                order.pullDomainEvents();
+            }
+        }
+    }
+
+    private static Money randomPrice(Random random) {
+        Currency currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+        // al menos 1 para que no redondee a cero en JPY
+        BigDecimal amount = BigDecimal.valueOf(1_000 + random.nextInt(1_000_000), 3);
+        return new Money(amount, currency);
+    }
+
+    private static Map<Currency, Money> recompute(Order order) {
+        Map<Currency, Money> totals = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems())
+            totals.merge(item.getUnitPrice().getCurrency(), item.total(), Money::add);
+        return totals;
+    }
+}
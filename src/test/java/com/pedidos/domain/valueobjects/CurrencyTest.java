@@ -0,0 +1,63 @@
+package com.pedidos.domain.valueobjects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.domain.errors.InvalidCurrencyException;
+
+class CurrencyTest {
+
+    @Test
+    void ofReturnsTheCanonicalInstance() {
+        assertSame(Currency.EUR(), Currency.of("EUR"));
+        assertSame(Currency.EUR(), Currency.of(" eur "));
+        assertSame(Currency.USD(), Currency.of(new StringBuilder("uSd")));
+        assertSame(Currency.of("JPY"), Currency.of("jpy"));
+    }
+
+    @Test
+    void knowsTheMinorDigitsOfEachCurrency() {
+        assertEquals(2, Currency.EUR().getMinorDigits());
+        assertEquals(0, Currency.of("JPY").getMinorDigits());
+        assertEquals(3, Currency.of("BHD").getMinorDigits());
+        assertTrue(Currency.values().size() > 100);
+    }
+
+    @Test
+    void rejectsUnknownOrMalformedCodes() {
+        assertThrows(InvalidCurrencyException.class, () -> Currency.of(null));
+        assertThrows(InvalidCurrencyException.class, () -> Currency.of("ABC"));
+        assertThrows(InvalidCurrencyException.class, () -> Currency.of("EURO"));
+        assertThrows(InvalidCurrencyException.class, () -> Currency.of("E1R"));
+        assertThrows(InvalidCurrencyException.class, () -> Currency.of(""));
+        // sin unidad menor: no es dinero
+        assertThrows(InvalidCurrencyException.class, () -> Currency.of("XAU"));
+    }
+
+    @Test
+    void deserializesToTheCanonicalInstance() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(Currency.of("BHD"));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(Currency.of("BHD"), in.readObject());
+        }
+    }
+
+    @Test
+    void tryOfReportsUnsupportedCodesWithoutThrowing() {
+        assertSame(Currency.of("JPY"), Currency.tryOf(" jpy ").getValue());
+        assertEquals("Unsupported currency: ABC", Currency.tryOf("abc").getError().getMessage());
+        assertTrue(Currency.tryOf(null).getError() instanceof InvalidCurrencyException);
+    }
+}
@@ -1,8 +1,14 @@
 package com.pedidos.domain.valueobjects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 
 import org.junit.jupiter.api.Test;
@@ -55,4 +61,70 @@ class MoneyTest {
         Money m = a.multiply(3);
         assertEquals(new BigDecimal("6.00"), m.getAmount());
     }
+
+    @Test
+    void roundsHalfEvenAndKeepsEqualitySemantics() {
+        Money a = new Money(new BigDecimal("1.005"), Currency.EUR());
+        Money b = new Money(new BigDecimal("1.0"), Currency.EUR());
+        assertEquals(new BigDecimal("1.00"), a.getAmount());
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertNotEquals(a, new Money(new BigDecimal("1.00"), Currency.USD()));
+    }
+
+    @Test
+    void subtractToZeroOrBelowThrows() {
+        Money a = new Money(BigDecimal.valueOf(5), Currency.EUR());
+        assertThrows(InvalidMoneyException.class, () -> a.subtract(a));
+        assertThrows(InvalidMoneyException.class, () -> a.multiply(0));
+    }
+
+    @Test
+    void arithmeticFallsBackToBigDecimalOnOverflow() {
+        // Long.MAX_VALUE cents: the largest amount that fits in minor units
+        Money max = new Money(BigDecimal.valueOf(Long.MAX_VALUE, 2), Currency.EUR());
+        Money cent = new Money(new BigDecimal("0.01"), Currency.EUR());
+
+        Money sum = max.add(cent);
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE, 2).add(new BigDecimal("0.01")), sum.getAmount());
+        assertEquals(max.getAmount().multiply(BigDecimal.valueOf(3)), max.multiply(3).getAmount());
+
+        // back into the long range: equal to the same amount built directly
+        assertEquals(max, sum.subtract(cent));
+        assertEquals(max.hashCode(), sum.subtract(cent).hashCode());
+    }
+
+    @Test
+    void roundsToTheMinorDigitsOfTheCurrency() {
+        Money yen = new Money(new BigDecimal("1000.5"), Currency.of("JPY"));
+        assertEquals(new BigDecimal("1000"), yen.getAmount());
+        assertEquals(new BigDecimal("3000"), yen.multiply(3).getAmount());
+
+        Money dinar = new Money(new BigDecimal("1.2345"), Currency.of("BHD"));
+        assertEquals(new BigDecimal("1.234"), dinar.getAmount());
+        assertEquals(new BigDecimal("2.468"), dinar.add(dinar).getAmount());
+    }
+
+    @Test
+    void serializedFormCarriesTheAmount() throws Exception {
+        Money m = new Money(new BigDecimal("12.34"), Currency.EUR());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(m);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(m, in.readObject());
+        }
+    }
+
+    @Test
+    void tryOfMatchesTheConstructor() {
+        assertEquals(new Money(new BigDecimal("1.005"), Currency.EUR()),
+                Money.tryOf(new BigDecimal("1.005"), Currency.EUR()).getValue());
+        assertTrue(Money.tryOf(null, Currency.EUR()).getError() instanceof InvalidMoneyException);
+        assertTrue(Money.tryOf(BigDecimal.ONE, null).isFail());
+        // se redondea a cero: inválido, como en el constructor
+        assertEquals("Amount must be be greater than zero",
+                Money.tryOf(new BigDecimal("0.004"), Currency.EUR()).getError().getMessage());
+    }
 }
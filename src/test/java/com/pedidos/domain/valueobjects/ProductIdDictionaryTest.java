@@ -0,0 +1,115 @@
+package com.pedidos.domain.valueobjects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.domain.errors.InvalidProductIdException;
+
+class ProductIdDictionaryTest {
+
+    @Test
+    void ofReturnsOneCanonicalInstancePerSku() {
+        ProductId a = ProductId.of(" SKU-DICT-1 ");
+        ProductId b = ProductId.of("SKU-DICT-1");
+        assertSame(a, b);
+        assertTrue(a.code() >= 0);
+        assertNotEquals(a.code(), ProductId.of("SKU-DICT-2").code());
+        // misma igualdad que con el constructor
+        assertEquals(new ProductId("SKU-DICT-1"), a);
+        assertEquals(a, new ProductId("SKU-DICT-1"));
+        assertThrows(InvalidProductIdException.class, () -> ProductId.of("  "));
+    }
+
+    @Test
+    void fullDictionaryHandsOutUninternedIdsThatStillCompareByValue() {
+        ProductIdDictionary dictionary = new ProductIdDictionary(2);
+        ProductId a = dictionary.intern("A");
+        ProductId b = dictionary.intern("B");
+        ProductId c1 = dictionary.intern("C");
+        ProductId c2 = dictionary.intern("C");
+
+        assertEquals(2, dictionary.size());
+        assertSame(a, dictionary.intern("A"));
+        assertEquals(-1, c1.code());
+        assertEquals(c1, c2);
+        assertNotEquals(a, b);
+    }
+
+    @Test
+    void concurrentInterningConvergesOnOneInstance() throws Exception {
+        ProductIdDictionary dictionary = new ProductIdDictionary(1_000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<ProductId>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++)
+                tasks.add(() -> dictionary.intern("SKU-RACE"));
+            List<Future<ProductId>> results = pool.invokeAll(tasks);
+            ProductId first = results.get(0).get();
+            for (Future<ProductId> f : results)
+                assertSame(first, f.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void deserializedIdsAreInterned() throws Exception {
+        ProductId id = ProductId.of("SKU-SER");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(id);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertSame(id, in.readObject());
+        }
+    }
+
+    @Test
+    void codesOfCollectedSkusAreReused() throws Exception {
+        ProductIdDictionary dictionary = new ProductIdDictionary(100_000);
+        int rounds = 50;
+        int perRound = 1_000;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < perRound; i++)
+                dictionary.intern("SKU-CHURN-" + round + "-" + i);
+            System.gc();
+            Thread.sleep(10);
+            dictionary.size(); // expunge
+        }
+        // sin reutilizar serían rounds * perRound códigos
+        assertTrue(dictionary.codesIssued() < rounds * perRound / 2, "codes issued: " + dictionary.codesIssued());
+
+        // y ningún par de ids vivos comparte código
+        List<ProductId> live = new ArrayList<>();
+        for (int i = 0; i < perRound; i++)
+            live.add(dictionary.intern("SKU-LIVE-" + i));
+        assertEquals(perRound, live.stream().mapToInt(ProductId::code).distinct().count());
+    }
+
+    @Test
+    void maxEntriesCanBeResized() {
+        ProductIdDictionary dictionary = new ProductIdDictionary(1);
+        ProductId a = dictionary.intern("A");
+        assertEquals(-1, dictionary.intern("B").code());
+        dictionary.setMaxEntries(2);
+        assertTrue(dictionary.intern("B").code() >= 0);
+        assertThrows(IllegalArgumentException.class, () -> dictionary.setMaxEntries(0));
+        assertSame(a, dictionary.intern("A"));
+    }
+}
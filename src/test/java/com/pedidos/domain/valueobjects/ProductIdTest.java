@@ -1,7 +1,9 @@
 package com.pedidos.domain.valueobjects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -28,4 +30,11 @@ class ProductIdTest {
         assertEquals(a, b);
         assertEquals(a.hashCode(), b.hashCode());
     }
+
+    @Test
+    void tryOfInternsValidIdsAndReportsInvalidOnes() {
+        assertSame(ProductId.of("SKU-7"), ProductId.tryOf(" SKU-7 ").getValue());
+        assertEquals("product id must not be null", ProductId.tryOf(null).getError().getMessage());
+        assertTrue(ProductId.tryOf("  ").getError() instanceof InvalidProductIdException);
+    }
 }
@@ -2,10 +2,13 @@ package com.pedidos.domain.valueobjects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import com.pedidos.domain.errors.DomainException;
 import com.pedidos.domain.errors.InvalidQuantityException;
+import com.pedidos.shared.result.Result;
 
 class QuantityTest {
 
@@ -36,4 +39,17 @@ class QuantityTest {
         assertEquals(a, b);
         assertEquals(a.hashCode(), b.hashCode());
     }
+
+    @Test
+    void tryOfReturnsFailureWithoutStackTrace() {
+        assertEquals(2, Quantity.tryOf(2).getValue().getValue());
+
+        Result<Quantity, DomainException> invalid = Quantity.tryOf(0);
+        assertTrue(invalid.isFail());
+        assertTrue(invalid.getError() instanceof InvalidQuantityException);
+        assertEquals("Quantity must be > 0", invalid.getError().getMessage());
+        // las excepciones de dominio no capturan traza, tampoco al lanzarse
+        assertEquals(0, invalid.getError().getStackTrace().length);
+        assertEquals(0, assertThrows(InvalidQuantityException.class, () -> new Quantity(-1)).getStackTrace().length);
+    }
 }
@@ -0,0 +1,170 @@
+package com.pedidos.infrastructure.adapter.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoalescingOrderRepositoryTest {
+
+    private final OrderId id = OrderId.newId();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    // repositorio cuya carga se bloquea hasta release
+    private final OrderRepository slow = new OrderRepository() {
+        @Override
+        public Result<Void, AppError> save(Order order) {
+            return Result.ok(null);
+        }
+
+        @Override
+        public Result<Void, AppError> update(Order order) {
+            return Result.ok(null);
+        }
+
+        @Override
+        public Result<Optional<Order>, AppError> findById(OrderId orderId) {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Order order = Order.create(orderId);
+            order.addItem(new OrderItem(new ProductId("pA"), new Quantity(1),
+                    new Money(BigDecimal.ONE, Currency.EUR())));
+            return Result.ok(Optional.of(order));
+        }
+
+        @Override
+        public Result<Void, AppError> delete(OrderId orderId) {
+            return Result.ok(null);
+        }
+    };
+
+    @Test
+    void concurrentReadsShareOneLoadAndGetIsolatedCopies() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CoalescingOrderRepository repo = new CoalescingOrderRepository(slow, registry);
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Result<Optional<Order>, AppError>>> futures = new ArrayList<>();
+            futures.add(pool.submit(() -> repo.findById(id)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < callers; i++)
+                futures.add(pool.submit(() -> repo.findById(id)));
+            // los demás llegan mientras la primera carga está en curso
+            Thread.sleep(100);
+            release.countDown();
+
+            List<Order> results = new ArrayList<>();
+            for (var f : futures)
+                results.add(f.get(5, TimeUnit.SECONDS).getValue().get());
+
+            assertEquals(1, loads.get());
+            assertEquals(callers - 1, (long) registry.get("pedidos.repository.reads")
+                    .tag("operation", "findById").tag("outcome", "coalesced").counter().count());
+            assertNotSame(results.get(0), results.get(1));
+            results.get(0).removeItem(new ProductId("pA"));
+            assertEquals(0, results.get(0).getItems().size());
+            assertEquals(1, results.get(1).getItems().size());
+            assertEquals(0, repo.inFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void sequentialReadsAreNotCached() {
+        release.countDown();
+        CoalescingOrderRepository repo = new CoalescingOrderRepository(slow, new SimpleMeterRegistry());
+        repo.findById(id);
+        repo.findById(id);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void readsAfterAWriteDoNotJoinALoadThatStartedDuringIt() throws Exception {
+        CountDownLatch updating = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // update que tarda en confirmar; las lecturas van al repositorio lento
+        OrderRepository committing = new OrderRepository() {
+            @Override
+            public Result<Void, AppError> save(Order order) {
+                return slow.save(order);
+            }
+
+            @Override
+            public Result<Void, AppError> update(Order order) {
+                updating.countDown();
+                try {
+                    commit.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Result.ok(null);
+            }
+
+            @Override
+            public Result<Optional<Order>, AppError> findById(OrderId orderId) {
+                return slow.findById(orderId);
+            }
+
+            @Override
+            public Result<Void, AppError> delete(OrderId orderId) {
+                return slow.delete(orderId);
+            }
+        };
+        CoalescingOrderRepository repo = new CoalescingOrderRepository(committing, new SimpleMeterRegistry());
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try {
+            Future<Result<Void, AppError>> write = pool.submit(() -> repo.update(Order.create(id)));
+            assertTrue(updating.await(5, TimeUnit.SECONDS));
+            // lectura que empieza entre el forget inicial y el commit
+            Future<Result<Optional<Order>, AppError>> during = pool.submit(() -> repo.findById(id));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            commit.countDown();
+            assertTrue(write.get(5, TimeUnit.SECONDS).isOk());
+
+            Future<Result<Optional<Order>, AppError>> after = pool.submit(() -> repo.findById(id));
+            Thread.sleep(100);
+            release.countDown();
+            during.get(5, TimeUnit.SECONDS);
+            after.get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, loads.get());
+            assertEquals(0, repo.inFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
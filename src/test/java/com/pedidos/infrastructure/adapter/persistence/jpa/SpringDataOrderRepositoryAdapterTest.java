@@ -0,0 +1,75 @@
+package com.pedidos.infrastructure.adapter.persistence.jpa;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.infrastructure.adapter.persistence.entity.OrderEntity;
+import com.pedidos.infrastructure.adapter.persistence.entity.OrderItemEntity;
+
+import jakarta.persistence.EntityManager;
+
+class SpringDataOrderRepositoryAdapterTest {
+
+    @Test
+    void saveAllInsertsNewOrdersInJdbcBatchesWithoutSelects() {
+        try (SessionFactory sf = new Configuration()
+                .addAnnotatedClass(OrderEntity.class)
+                .addAnnotatedClass(OrderItemEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        "jdbc:h2:mem:jpa-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory()) {
+            EntityManager em = sf.createEntityManager();
+            SpringDataOrderRepositoryAdapter adapter = new SpringDataOrderRepositoryAdapter(
+                    new JpaRepositoryFactory(em).getRepository(JpaOrderRepository.class));
+
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                Order order = Order.create(OrderId.newId());
+                for (String sku : List.of("A", "B", "C")) {
+                    order.addItem(new OrderItem(new ProductId(sku), new Quantity(1), Money.of(2, Currency.EUR())));
+                }
+                orders.add(order);
+            }
+
+            Statistics stats = sf.getStatistics();
+            stats.clear();
+            em.getTransaction().begin();
+            assertTrue(adapter.saveAll(orders).isOk());
+            em.getTransaction().commit();
+
+            // 10 pedidos + 30 líneas: un INSERT en batch por tabla y, como mucho,
+            // una lectura de secuencia por bloque de 50 ids. Antes: un SELECT
+            // por pedido (merge) y un INSERT por línea (IDENTITY).
+            assertEquals(0, stats.getEntityLoadCount());
+            assertEquals(40, stats.getEntityInsertCount());
+            assertTrue(stats.getPrepareStatementCount() <= 4,
+                    "prepared statements: " + stats.getPrepareStatementCount());
+
+            em.clear();
+            assertEquals(3, adapter.findById(orders.get(0).getId()).getValue().get().getItems().size());
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pedidos.infrastructure.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControlFilterTest {
+
+    // un token por cliente y sin recarga apreciable durante el test
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(
+            new ClientRateLimiter(0.001, 1, 100, System.nanoTime()),
+            new ClientRateLimiter(0.001, 1, 100, System.nanoTime()),
+            new ClientRateLimiter(0.001, 1, 100, System.nanoTime()),
+            "X-API-Key", Set.of("partner-a"), new SimpleMeterRegistry());
+
+    private int get(String remoteAddr, String apiKey) throws Exception {
+        return send("GET", "/api/orders/1", remoteAddr, apiKey);
+    }
+
+    private int send(String method, String uri, String remoteAddr, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null)
+            request.addHeader("X-API-Key", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    @Test
+    void rotatingUnknownApiKeysSharesTheIpBucket() throws Exception {
+        assertEquals(200, get("10.0.0.1", "random-1"));
+        assertEquals(429, get("10.0.0.1", "random-2"));
+        assertEquals(429, get("10.0.0.1", null));
+        assertEquals(200, get("10.0.0.2", "random-3"));
+    }
+
+    @Test
+    void knownApiKeyHasItsOwnBucket() throws Exception {
+        assertEquals(200, get("10.0.0.1", null));
+        assertEquals(200, get("10.0.0.1", "partner-a"));
+        assertEquals(429, get("10.0.0.3", "partner-a"));
+    }
+
+    @Test
+    void batchesHaveTheirOwnBucketSeparateFromSingleWrites() throws Exception {
+        assertEquals(200, send("POST", "/api/orders/batch", "10.0.0.4", null));
+        assertEquals(429, send("POST", "/api/orders/batch", "10.0.0.4", null));
+        assertEquals(200, send("POST", "/api/orders", "10.0.0.4", null));
+        assertEquals(429, send("POST", "/api/orders", "10.0.0.4", null));
+    }
+}
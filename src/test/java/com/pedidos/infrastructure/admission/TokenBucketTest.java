@@ -0,0 +1,68 @@
+package com.pedidos.infrastructure.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void admitsBurstThenRejectsWithTimeUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0L);
+        for (int i = 0; i < 5; i++)
+            assertEquals(0L, bucket.tryAcquire(0L));
+
+        long wait = bucket.tryAcquire(0L);
+        assertEquals(SECOND / 10, wait);
+        // el rechazo no consume tokens
+        assertEquals(wait, bucket.tryAcquire(0L));
+    }
+
+    @Test
+    void refillsAtConfiguredRateAndCapsAtBurst() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0L);
+        for (int i = 0; i < 5; i++)
+            bucket.tryAcquire(0L);
+
+        assertEquals(0L, bucket.tryAcquire(SECOND / 10));
+        assertTrue(bucket.tryAcquire(SECOND / 10) > 0);
+
+        // tras mucho tiempo inactivo solo hay burst tokens, no más
+        long later = 60 * SECOND;
+        assertTrue(bucket.isFull(later));
+        for (int i = 0; i < 5; i++)
+            assertEquals(0L, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void clientsHaveIndependentBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 2, 100, 0L);
+        assertEquals(0L, limiter.tryAcquire("a", 0L));
+        assertEquals(0L, limiter.tryAcquire("a", 0L));
+        assertTrue(limiter.tryAcquire("a", 0L) > 0);
+
+        assertEquals(0L, limiter.tryAcquire("b", 0L));
+        assertEquals(2, limiter.clients());
+    }
+
+    @Test
+    void boundsClientsByEvictingIdleBucketsAndSharingOverflow() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, 0L);
+        limiter.tryAcquire("a", 0L);
+        limiter.tryAcquire("b", 0L);
+
+        // lleno y sin buckets inactivos: los nuevos comparten el de desbordamiento
+        assertEquals(0L, limiter.tryAcquire("c", 0L));
+        assertTrue(limiter.tryAcquire("d", 0L) > 0);
+        assertEquals(2, limiter.clients());
+
+        // pasado el intervalo de barrido, a y b están llenos y se descartan
+        assertEquals(0L, limiter.tryAcquire("e", 5 * SECOND));
+        assertTrue(limiter.clients() <= 2);
+        assertEquals(0L, limiter.tryAcquire("a", 5 * SECOND));
+    }
+}
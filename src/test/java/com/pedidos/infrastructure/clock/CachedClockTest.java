@@ -0,0 +1,48 @@
+package com.pedidos.infrastructure.clock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class CachedClockTest {
+
+    private static final Instant T0 = Instant.parse("2024-05-01T10:00:00Z");
+
+    @Test
+    void returnsTheLastTickUntilTheNextOne() {
+        AtomicReference<Instant> source = new AtomicReference<>(T0);
+        // periodo largo: solo cuentan los tick() del test
+        try (CachedClock clock = new CachedClock(source::get, Duration.ofHours(1))) {
+            assertSame(clock.now(), clock.now());
+            assertEquals(T0, clock.instant());
+
+            source.set(T0.plusMillis(3));
+            assertEquals(T0, clock.now());
+            clock.tick();
+            assertEquals(T0.plusMillis(3), clock.now());
+        }
+    }
+
+    @Test
+    void tickerRefreshesInTheBackground() throws InterruptedException {
+        try (CachedClock clock = new CachedClock(new SystemClock(), Duration.ofMillis(1))) {
+            Instant first = clock.now();
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (clock.now().equals(first) && System.nanoTime() < deadline)
+                Thread.sleep(1);
+            assertTrue(clock.now().isAfter(first));
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveResolution() {
+        assertThrows(IllegalArgumentException.class, () -> new CachedClock(new SystemClock(), Duration.ZERO));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pedidos.infrastructure.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.infrastructure.adapter.persistence.r2dbc.R2dbcOrderRepository;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.scheduler.Schedulers;
+
+class ReactiveConfigurationTest {
+
+    @Test
+    void migrationsCreateTheSchemaTheR2dbcRepositoryUses() throws Exception {
+        ConnectionFactory cf = ConnectionFactories.get(
+                "r2dbc:h2:mem:///r2dbc-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        ReactiveConfiguration.migrations().populate(cf).block();
+
+        R2dbcOrderRepository repo = new R2dbcOrderRepository(DatabaseClient.create(cf),
+                TransactionalOperator.create(new R2dbcTransactionManager(cf)));
+        Order order = Order.create(OrderId.newId());
+        order.addItem(new OrderItem(new ProductId("SKU-1"), new Quantity(2), Money.of(3, Currency.EUR())));
+
+        assertTrue(repo.save(order).toCompletableFuture().join().isOk());
+        Order loaded = repo.findById(order.getId()).toCompletableFuture().join().getValue().get();
+        assertEquals(1, loaded.getItems().size());
+    }
+
+    @Test
+    void embeddedH2QueriesAreSubscribedOnTheGivenScheduler() throws Exception {
+        ConnectionFactory cf = ConnectionFactories.get(
+                "r2dbc:h2:mem:///r2dbc-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        ReactiveConfiguration.migrations().populate(cf).block();
+        AtomicInteger scheduled = new AtomicInteger();
+
+        R2dbcOrderRepository repo = new R2dbcOrderRepository(DatabaseClient.create(cf),
+                TransactionalOperator.create(new R2dbcTransactionManager(cf)),
+                Clock.system(),
+                Schedulers.fromExecutor(task -> {
+                    scheduled.incrementAndGet();
+                    task.run();
+                }));
+        Order order = Order.create(OrderId.newId());
+        order.addItem(new OrderItem(new ProductId("SKU-1"), new Quantity(1), Money.of(3, Currency.EUR())));
+
+        assertTrue(repo.save(order).toCompletableFuture().join().isOk());
+        assertTrue(repo.findById(order.getId()).toCompletableFuture().join().getValue().isPresent());
+        assertTrue(scheduled.get() >= 2);
+    }
+}
@@ -0,0 +1,39 @@
+package com.pedidos.infrastructure.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WebConfigurationTest {
+
+    private final WebConfiguration config = new WebConfiguration(new Jackson2ObjectMapperBuilder());
+
+    @Test
+    void admissionIsOffByDefault() {
+        assertFalse(config.admissionControlFilter(new AdmissionProperties(), new MockEnvironment(),
+                new SimpleMeterRegistry()).isEnabled());
+    }
+
+    @Test
+    void admissionRefusesToStartWhenEveryClientWouldShareTheProxyIp() {
+        AdmissionProperties props = new AdmissionProperties();
+        props.setEnabled(true);
+        assertThrows(IllegalStateException.class,
+                () -> config.admissionControlFilter(props, new MockEnvironment(), new SimpleMeterRegistry()));
+
+        MockEnvironment forwarded = new MockEnvironment().withProperty("server.forward-headers-strategy", "native");
+        assertTrue(config.admissionControlFilter(props, forwarded, new SimpleMeterRegistry()).isEnabled());
+
+        props.setApiKeys(Set.of("partner-a"));
+        assertTrue(config.admissionControlFilter(props, new MockEnvironment(), new SimpleMeterRegistry())
+                .isEnabled());
+    }
+}
@@ -0,0 +1,142 @@
+package com.pedidos.infrastructure.eventbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.errors.GenericAppError;
+import com.pedidos.domain.events.OrderCreatedEvent;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EventRetryQueueTest {
+
+    private static JdbcDeadLetterStore newStore() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:dlq-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return new JdbcDeadLetterStore(ds);
+    }
+
+    private static EventRetryQueue.Policy fastPolicy(int maxAttempts) {
+        return new EventRetryQueue.Policy(maxAttempts, Duration.ofMillis(1), 1.0, Duration.ofMillis(5), 100);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedOnlyAgainstFailingHandlerUntilItSucceeds() throws Exception {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        AtomicInteger healthyCalls = new AtomicInteger();
+        AtomicInteger flakyCalls = new AtomicInteger();
+        CountDownLatch recovered = new CountDownLatch(1);
+        bus.register(OrderCreatedEvent.class, "healthy", e -> {
+            healthyCalls.incrementAndGet();
+            return Result.ok(null);
+        });
+        bus.register(OrderCreatedEvent.class, "flaky", e -> {
+            if (flakyCalls.incrementAndGet() < 3)
+                return Result.fail(new GenericAppError("downstream unavailable"));
+            recovered.countDown();
+            return Result.ok(null);
+        });
+        JdbcDeadLetterStore store = newStore();
+        try (EventRetryQueue queue = new EventRetryQueue(bus::redeliver, store, fastPolicy(5),
+                new SimpleMeterRegistry())) {
+            bus.setFailedDeliveryHandler(queue);
+
+            assertTrue(bus.publish(new OrderCreatedEvent(OrderId.newId(), Instant.now())).isOk());
+
+            assertTrue(recovered.await(5, TimeUnit.SECONDS));
+            assertEquals(1, healthyCalls.get());
+            assertEquals(3, flakyCalls.get());
+            assertEquals(0L, store.count().getValue().longValue());
+        }
+    }
+
+    @Test
+    void retriesRunOnThePartitionOfTheirOrder() throws Exception {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        AtomicInteger calls = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch recovered = new CountDownLatch(1);
+        bus.register(OrderCreatedEvent.class, "flaky", e -> {
+            threads.add(Thread.currentThread().getName());
+            if (calls.incrementAndGet() < 3)
+                return Result.fail(new GenericAppError("downstream unavailable"));
+            recovered.countDown();
+            return Result.ok(null);
+        });
+        OrderCreatedEvent event = new OrderCreatedEvent(OrderId.newId(), Instant.now());
+        try (EventRetryQueue queue = new EventRetryQueue(bus::redeliver, newStore(), fastPolicy(5),
+                new SimpleMeterRegistry());
+                PartitionedEventBus partitioned = new PartitionedEventBus(bus, 4, 100, new SimpleMeterRegistry())) {
+            bus.setFailedDeliveryHandler(queue);
+            queue.setRetryExecutor(partitioned::execute);
+
+            assertTrue(partitioned.publish(event).isOk());
+
+            assertTrue(recovered.await(5, TimeUnit.SECONDS));
+            assertEquals(Set.of("eventbus-partition-" + partitioned.partitionOf(event)), threads);
+        }
+    }
+
+    @Test
+    void exhaustedDeliveryIsDeadLetteredAndCanBeRedriven() throws Exception {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch exhausted = new CountDownLatch(2);
+        bus.register(OrderCreatedEvent.class, "projection", e -> {
+            if (calls.incrementAndGet() <= 2) {
+                exhausted.countDown();
+                return Result.fail(new GenericAppError("projection store down"));
+            }
+            return Result.ok(null);
+        });
+        JdbcDeadLetterStore store = newStore();
+        Instant failedAt = Instant.parse("2024-01-01T00:00:00Z");
+        try (EventRetryQueue queue = new EventRetryQueue(bus::redeliver, store, fastPolicy(2),
+                new SimpleMeterRegistry(), () -> failedAt)) {
+            bus.setFailedDeliveryHandler(queue);
+            OrderCreatedEvent event = new OrderCreatedEvent(OrderId.newId(), Instant.now());
+
+            assertTrue(bus.publish(event).isOk());
+            assertTrue(exhausted.await(5, TimeUnit.SECONDS));
+            List<DeadLetter> letters = awaitDeadLetters(store);
+
+            assertEquals(1, letters.size());
+            DeadLetter dl = letters.get(0);
+            assertEquals("projection", dl.handler());
+            assertEquals("OrderCreatedEvent", dl.eventType());
+            assertEquals(2, dl.attempts());
+            assertEquals(failedAt, dl.failedAt());
+            assertEquals(event.getOrderId(), ((OrderCreatedEvent) dl.payload()).getOrderId());
+
+            assertTrue(queue.redrive(dl.id()).isOk());
+            assertEquals(3, calls.get());
+            assertEquals(0L, store.count().getValue().longValue());
+            assertTrue(queue.redrive(dl.id()).isFail());
+        }
+    }
+
+    private static List<DeadLetter> awaitDeadLetters(DeadLetterStore store) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<DeadLetter> letters = store.list(10).getValue();
+        while (letters.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            letters = store.list(10).getValue();
+        }
+        return letters;
+    }
+}
@@ -0,0 +1,216 @@
+package com.pedidos.infrastructure.eventbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.events.ItemAddedEvent;
+import com.pedidos.domain.events.OrderCreatedEvent;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InMemoryEventBusTest {
+
+    private static List<Object> threeLineOrderEvents() {
+        Order order = Order.create(OrderId.newId());
+        for (String sku : List.of("A", "B", "C")) {
+            order.addItem(new OrderItem(new ProductId(sku), new Quantity(1), Money.of(2, Currency.EUR())));
+        }
+        return order.pullDomainEvents();
+    }
+
+    @Test
+    void publishAllDeliversOneBatchPerHandlerAndEachEventToSingleHandlers() {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        List<List<ItemAddedEvent>> batches = new ArrayList<>();
+        List<Object> single = new ArrayList<>();
+        bus.registerBatch(ItemAddedEvent.class, events -> {
+            batches.add(events);
+            return Result.ok(null);
+        });
+        bus.register(Object.class, event -> {
+            single.add(event);
+            return Result.ok(null);
+        });
+
+        List<Object> events = threeLineOrderEvents();
+        assertTrue(bus.publishAll(events).isOk());
+
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(events, single);
+    }
+
+    @Test
+    void publishDeliversSingletonBatch() {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        List<List<OrderCreatedEvent>> batches = new ArrayList<>();
+        bus.registerBatch(OrderCreatedEvent.class, events -> {
+            batches.add(events);
+            return Result.ok(null);
+        });
+
+        assertTrue(bus.publish(threeLineOrderEvents().get(0)).isOk());
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+    }
+
+    @Test
+    void batchHandlerExceptionIsMappedToInfraError() {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        bus.registerBatch(ItemAddedEvent.class, events -> {
+            throw new IllegalStateException("boom");
+        });
+
+        Result<Void, AppError> res = bus.publishAll(threeLineOrderEvents());
+        assertTrue(res.isFail());
+        assertTrue(res.getError() instanceof InfraError);
+    }
+
+    @Test
+    void unnamedLambdasGetDistinctNamesSoRedeliveryTargetsTheRightOne() {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        List<String> calls = new ArrayList<>();
+        bus.register(OrderCreatedEvent.class, event -> {
+            calls.add("first");
+            return Result.ok(null);
+        });
+        bus.register(OrderCreatedEvent.class, event -> {
+            calls.add("second");
+            return Result.ok(null);
+        });
+
+        Object created = threeLineOrderEvents().get(0);
+        assertTrue(bus.redeliver(created, "InMemoryEventBusTest.lambda#2", false).isOk());
+        assertEquals(List.of("second"), calls);
+    }
+
+    @Test
+    void duplicateExplicitHandlerNamesAreRejected() {
+        InMemoryEventBus bus = new InMemoryEventBus();
+        bus.register(OrderCreatedEvent.class, "projection", event -> Result.ok(null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bus.register(ItemAddedEvent.class, "projection", event -> Result.ok(null)));
+    }
+
+    @Test
+    void handlerExecutionsAreTimedPerEventAndHandler() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryEventBus bus = new InMemoryEventBus(new EventBusMetrics(registry, Duration.ZERO));
+        bus.register(ItemAddedEvent.class, "projector", event -> Result.ok(null));
+        bus.register(OrderCreatedEvent.class, "failing", event -> Result.fail(new InfraError("down", null)));
+
+        List<Object> events = threeLineOrderEvents();
+        bus.publishAll(events.subList(1, events.size()));
+        bus.publish(events.get(0));
+
+        Timer ok = registry.find("pedidos.eventbus.handler").tags("event", "ItemAddedEvent", "handler", "projector",
+                "outcome", "success").timer();
+        Timer failed = registry.find("pedidos.eventbus.handler").tags("event", "OrderCreatedEvent", "handler",
+                "failing", "outcome", "failure").timer();
+        assertEquals(3, ok.count());
+        assertEquals(1, failed.count());
+        // threshold zero: every execution counts as slow
+        assertEquals(4.0, registry.find("pedidos.eventbus.handler.slow").counters().stream()
+                .mapToDouble(c -> c.count()).sum());
+    }
+
+    @Test
+    void parallelFanOutRunsHandlersConcurrentlyAndAggregatesFailures() {
+        InMemoryEventBus bus = new InMemoryEventBus(EventBusMetrics.global(), Duration.ofSeconds(5));
+        CountDownLatch allStarted = new CountDownLatch(3);
+        EventHandler<OrderCreatedEvent> waitsForOthers = event -> {
+            allStarted.countDown();
+            try {
+                // only completes if the three handlers run at the same time
+                return allStarted.await(2, TimeUnit.SECONDS) ? Result.ok(null)
+                        : Result.fail(new InfraError("handlers ran sequentially", null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Result.fail(new InfraError("interrupted", e));
+            }
+        };
+        bus.register(OrderCreatedEvent.class, "a", waitsForOthers);
+        bus.register(OrderCreatedEvent.class, "b", waitsForOthers);
+        bus.register(OrderCreatedEvent.class, "c", event -> {
+            allStarted.countDown();
+            throw new IllegalStateException("c down");
+        });
+        bus.register(OrderCreatedEvent.class, "d", event -> Result.fail(new InfraError("d down", null)));
+
+        Result<Void, AppError> res = bus.publish(threeLineOrderEvents().get(0));
+        bus.close();
+
+        assertTrue(res.isFail());
+        String message = ((InfraError) res.getError()).message();
+        assertTrue(message.startsWith("2 event handlers failed"), message);
+        assertTrue(message.contains("c down") && message.contains("d down"), message);
+    }
+
+    @Test
+    void parallelFanOutFailsHandlersThatMissTheDeadline() {
+        InMemoryEventBus bus = new InMemoryEventBus(EventBusMetrics.global(), Duration.ofMillis(50));
+        bus.register(OrderCreatedEvent.class, "fast", event -> Result.ok(null));
+        bus.register(OrderCreatedEvent.class, "stuck", event -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Result.ok(null);
+        });
+
+        long start = System.nanoTime();
+        Result<Void, AppError> res = bus.publish(threeLineOrderEvents().get(0));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        bus.close();
+
+        assertTrue(res.isFail());
+        assertTrue(((InfraError) res.getError()).message().contains("stuck"));
+        assertTrue(elapsedMs < 2_000, "publish waited " + elapsedMs + " ms");
+    }
+
+    @Test
+    void handlerCancelledAtTheDeadlineIsOnlyRecordedAsTimeout() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryEventBus bus = new InMemoryEventBus(new EventBusMetrics(registry, Duration.ofSeconds(1)),
+                Duration.ofMillis(50));
+        bus.register(OrderCreatedEvent.class, "fast", event -> Result.ok(null));
+        bus.register(OrderCreatedEvent.class, "stuck", event -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                // ignora la cancelación y termina "bien"
+            }
+            return Result.ok(null);
+        });
+
+        assertTrue(bus.publish(threeLineOrderEvents().get(0)).isFail());
+        bus.close(); // espera a que el handler cancelado termine
+
+        List<String> outcomes = registry.find("pedidos.eventbus.handler").tags("handler", "stuck").timers().stream()
+                .filter(t -> t.count() > 0).map(t -> t.getId().getTag("outcome")).toList();
+        assertEquals(List.of(EventBusMetrics.OUTCOME_TIMEOUT), outcomes);
+    }
+}
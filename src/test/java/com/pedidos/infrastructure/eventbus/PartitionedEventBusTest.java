@@ -0,0 +1,71 @@
+package com.pedidos.infrastructure.eventbus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.events.OrderEvent;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+import com.pedidos.shared.result.Result;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PartitionedEventBusTest {
+
+    @Test
+    void eventsOfOneOrderAreHandledInOrderOnOnePartitionThread() {
+        InMemoryEventBus delegate = new InMemoryEventBus();
+        Map<OrderId, List<Object>> received = new ConcurrentHashMap<>();
+        Map<OrderId, Set<String>> threads = new ConcurrentHashMap<>();
+        delegate.register(OrderEvent.class, event -> {
+            received.computeIfAbsent(event.getOrderId(), k -> new ArrayList<>()).add(event);
+            threads.computeIfAbsent(event.getOrderId(), k -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            return Result.ok(null);
+        });
+
+        PartitionedEventBus bus = new PartitionedEventBus(delegate, 4, 1_000, new SimpleMeterRegistry());
+        Map<OrderId, List<Object>> published = new ConcurrentHashMap<>();
+        for (int i = 0; i < 50; i++) {
+            Order order = Order.create(OrderId.newId());
+            for (int line = 0; line < 5; line++) {
+                order.addItem(new OrderItem(new ProductId("P-" + line), new Quantity(1),
+                        Money.of(1, Currency.EUR())));
+            }
+            List<Object> events = order.pullDomainEvents();
+            published.put(order.getId(), events);
+            assertTrue(bus.publishAll(events).isOk());
+        }
+        bus.close();
+
+        assertEquals(published.keySet(), received.keySet());
+        for (Map.Entry<OrderId, List<Object>> e : published.entrySet()) {
+            assertEquals(e.getValue(), received.get(e.getKey()));
+            assertEquals(1, threads.get(e.getKey()).size());
+        }
+    }
+
+    @Test
+    void partitionIsStableForAnOrder() {
+        PartitionedEventBus bus = new PartitionedEventBus(new InMemoryEventBus(), 8, 10,
+                new SimpleMeterRegistry());
+        OrderId id = OrderId.newId();
+        int p = bus.partitionOf(id);
+        assertTrue(p >= 0 && p < 8);
+        assertEquals(p, bus.partitionOf(new OrderId(id.getId())));
+        bus.close();
+    }
+}
@@ -0,0 +1,84 @@
+package com.pedidos.infrastructure.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7OrderIdGeneratorTest {
+
+    private final AtomicLong millis = new AtomicLong(1_700_000_000_000L);
+    private final UuidV7OrderIdGenerator generator = new UuidV7OrderIdGenerator(
+            () -> Instant.ofEpochMilli(millis.get()));
+
+    @Test
+    void encodesVersionVariantAndTimestamp() {
+        UUID id = generator.next().getId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(millis.get(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void increasesWithinTheSameMillisecondAndWhenTheClockGoesBack() {
+        UUID previous = generator.next().getId();
+        // más ids en el mismo ms de los que caben en el contador: el timestamp avanza
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000)
+                millis.addAndGet(-60_000);
+            UUID next = generator.next().getId();
+            assertTrue(Long.compareUnsigned(previous.getMostSignificantBits(), next.getMostSignificantBits()) < 0);
+            previous = next;
+        }
+
+        // con el reloj por delante de los ids emitidos se vuelve a su timestamp
+        millis.addAndGet(3_600_000);
+        assertEquals(millis.get(), generator.next().getId().getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void textFormSortsInGenerationOrder() {
+        String previous = generator.next().toString();
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 100 == 0)
+                millis.incrementAndGet();
+            String next = generator.next().toString();
+            assertTrue(previous.compareTo(next) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        if (i % 1_000 == 0)
+                            millis.incrementAndGet();
+                        seen.add(generator.next().getId());
+                    }
+                }));
+            }
+            for (Future<?> task : tasks)
+                task.get();
+        }
+        assertEquals(threads * perThread, seen.size());
+    }
+}
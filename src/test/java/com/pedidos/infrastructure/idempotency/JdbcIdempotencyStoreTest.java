@@ -0,0 +1,135 @@
+package com.pedidos.infrastructure.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.errors.ConflictError;
+import com.pedidos.application.errors.InfraError;
+import com.pedidos.application.idempotency.IdempotentExecutor;
+import com.pedidos.application.port.out.IdempotencyStore.Entry;
+import com.pedidos.shared.result.Result;
+
+class JdbcIdempotencyStoreTest {
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    private final JdbcDataSource ds = new JdbcDataSource();
+
+    JdbcIdempotencyStoreTest() {
+        ds.setURL("jdbc:h2:mem:idem-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    private int rows() throws Exception {
+        try (Connection c = ds.getConnection();
+                ResultSet rs = c.createStatement().executeQuery("SELECT COUNT(*) FROM idempotency_keys")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void firstWriterWinsAndExpiredEntriesAreReplaced() {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(ds, Duration.ofHours(1), () -> now);
+
+        Entry first = new Entry("k1", "fp", "a", now);
+        assertEquals("a", store.putIfAbsent(first).getValue().value());
+        assertEquals("a", store.putIfAbsent(new Entry("k1", "fp", "b", now)).getValue().value());
+        assertEquals("a", store.find("k1").getValue().get().value());
+
+        now = now.plus(Duration.ofHours(2));
+        assertTrue(store.find("k1").getValue().isEmpty());
+        assertEquals("c", store.putIfAbsent(new Entry("k1", "fp", "c", now)).getValue().value());
+        assertEquals("c", store.find("k1").getValue().get().value());
+    }
+
+    @Test
+    void purgeDeletesExpiredKeys() throws Exception {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(ds, Duration.ofHours(1), () -> now);
+        store.putIfAbsent(new Entry("old", "fp", "a", now));
+        now = now.plus(Duration.ofMinutes(45));
+        store.putIfAbsent(new Entry("new", "fp", "b", now));
+        now = now.plus(Duration.ofMinutes(30));
+
+        assertEquals(1, (int) store.purgeExpired().getValue());
+        assertEquals(1, rows());
+        assertEquals("b", store.find("new").getValue().get().value());
+    }
+
+    @Test
+    void instancesSharingTheDatabaseRunEachKeyOnce() throws Exception {
+        // dos instancias: cada una con su executor y su store sobre la misma BD
+        IdempotentExecutor a = new IdempotentExecutor(new JdbcIdempotencyStore(ds, Duration.ofHours(1), () -> now),
+                () -> now);
+        IdempotentExecutor b = new IdempotentExecutor(new JdbcIdempotencyStore(ds, Duration.ofHours(1), () -> now),
+                () -> now);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Result<IdempotentExecutor.Outcome<String>, AppError>> first = pool.submit(() -> a.execute("k",
+                    "fp", () -> {
+                        running.countDown();
+                        try {
+                            finish.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return Result.ok("order-" + executions.incrementAndGet());
+                    }, Function.identity(), Function.identity()));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+
+            var concurrent = b.execute("k", "fp", () -> Result.ok("order-" + executions.incrementAndGet()),
+                    Function.identity(), Function.identity());
+            assertTrue(concurrent.getError() instanceof ConflictError);
+
+            finish.countDown();
+            assertEquals("order-1", first.get(5, TimeUnit.SECONDS).getValue().value());
+            var replayed = b.execute("k", "fp", () -> Result.ok("order-" + executions.incrementAndGet()),
+                    Function.identity(), Function.identity());
+            assertEquals("order-1", replayed.getValue().value());
+            assertTrue(replayed.getValue().replayed());
+            assertEquals(1, executions.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedRequestsReleaseTheirClaimAndStaleClaimsCanBeTakenOver() throws Exception {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(ds, Duration.ofHours(1), Duration.ofMinutes(1),
+                () -> now);
+        IdempotentExecutor executor = new IdempotentExecutor(store, () -> now);
+
+        var failed = executor.execute("k", "fp", () -> Result.fail(new InfraError("db down", null)),
+                Function.identity(), Function.identity());
+        assertTrue(failed.isFail());
+        assertEquals(0, rows());
+
+        // reserva de una instancia que se cayó a mitad
+        assertTrue(store.claim("stale", "fp").getValue().isEmpty());
+        assertTrue(store.claim("stale", "fp").getValue().isPresent());
+        now = now.plus(Duration.ofMinutes(2));
+        var retried = executor.execute("stale", "fp", () -> Result.ok("order"), Function.identity(),
+                Function.identity());
+        assertFalse(retried.getValue().replayed());
+        assertEquals("order", store.find("stale").getValue().get().value());
+    }
+}
@@ -0,0 +1,77 @@
+package com.pedidos.infrastructure.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.domain.entities.Order;
+import com.pedidos.domain.valueobjects.Currency;
+import com.pedidos.domain.valueobjects.Money;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.domain.valueobjects.OrderItem;
+import com.pedidos.domain.valueobjects.ProductId;
+import com.pedidos.domain.valueobjects.Quantity;
+
+class OrderJsonWriterTest {
+
+    private static String toJson(Order order) throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator g = new JsonFactory().createGenerator(out)) {
+            OrderJsonWriter.write(OrderView.of(order), g);
+        }
+        return out.toString();
+    }
+
+    @Test
+    void writesItemsInInsertionOrderAndTotalsPerCurrency() throws Exception {
+        Order order = Order.create(OrderId.newId());
+        order.addItem(new OrderItem(new ProductId("B"), new Quantity(2), new Money(new BigDecimal("1.50"), Currency.EUR())));
+        order.addItem(new OrderItem(new ProductId("A"), new Quantity(1), new Money(new BigDecimal("3.00"), Currency.of("USD"))));
+        order.addItem(new OrderItem(new ProductId("C"), new Quantity(1), new Money(new BigDecimal("0.25"), Currency.EUR())));
+
+        String expected = "{\"orderId\":\"" + order.getId() + "\",\"items\":["
+                + "{\"productId\":\"B\",\"quantity\":2,\"unitPrice\":1.50,\"currency\":\"EUR\"},"
+                + "{\"productId\":\"A\",\"quantity\":1,\"unitPrice\":3.00,\"currency\":\"USD\"},"
+                + "{\"productId\":\"C\",\"quantity\":1,\"unitPrice\":0.25,\"currency\":\"EUR\"}],"
+                + "\"totals\":{\"EUR\":3.25,\"USD\":3.00}}";
+        assertEquals(expected, toJson(order));
+    }
+
+    @Test
+    void emptyOrderHasEmptyItemsAndTotals() throws Exception {
+        Order order = Order.create(OrderId.newId());
+
+        assertEquals("{\"orderId\":\"" + order.getId() + "\",\"items\":[],\"totals\":{}}", toJson(order));
+    }
+
+    @Test
+    void cborHasTheSameStructureAndExactAmounts() throws Exception {
+        Order order = Order.create(OrderId.newId());
+        order.addItem(new OrderItem(new ProductId("B"), new Quantity(2), new Money(new BigDecimal("1.50"), Currency.EUR())));
+
+        CBORFactory cbor = new CBORFactory();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator g = cbor.createGenerator(out)) {
+            OrderJsonWriter.write(OrderView.of(order), g);
+        }
+        JsonNode tree = new ObjectMapper(cbor).readTree(out.toByteArray());
+
+        assertEquals(order.getId().toString(), tree.get("orderId").asText());
+        JsonNode item = tree.get("items").get(0);
+        assertEquals("B", item.get("productId").asText());
+        assertEquals(2, item.get("quantity").asInt());
+        assertEquals("EUR", item.get("currency").asText());
+        assertEquals(0, new BigDecimal("1.50").compareTo(item.get("unitPrice").decimalValue()));
+        assertEquals(0, new BigDecimal("3.00").compareTo(tree.get("totals").get("EUR").decimalValue()));
+    }
+}
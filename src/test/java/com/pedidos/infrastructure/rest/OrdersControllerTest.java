@@ -0,0 +1,258 @@
+package com.pedidos.infrastructure.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.pedidos.application.dto.ItemDto;
+import com.pedidos.application.dto.OrderDto;
+import com.pedidos.application.dto.OrderView;
+import com.pedidos.application.errors.AppError;
+import com.pedidos.application.idempotency.IdempotentExecutor;
+import com.pedidos.application.pipeline.UseCasePipeline;
+import com.pedidos.application.pipeline.ValidationInterceptor;
+import com.pedidos.application.port.out.Clock;
+import com.pedidos.application.port.out.EventBus;
+import com.pedidos.application.port.out.OrderRepository;
+import com.pedidos.application.usecase.AddItemToOrderUseCase;
+import com.pedidos.application.usecase.CreateOrderUseCase;
+import com.pedidos.application.usecase.CreateOrdersBatchUseCase;
+import com.pedidos.application.usecase.DeleteOrderUseCase;
+import com.pedidos.application.usecase.GetOrderUseCase;
+import com.pedidos.application.usecase.GetOrderVersionUseCase;
+import com.pedidos.domain.entities.Order;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.pedidos.domain.valueobjects.OrderId;
+import com.pedidos.infrastructure.configuration.WebConfiguration;
+import com.pedidos.infrastructure.idempotency.InMemoryIdempotencyStore;
+import com.pedidos.shared.result.Result;
+
+class OrdersControllerTest {
+
+    static class InMemoryOrderRepository implements OrderRepository {
+        final Map<OrderId, Order> store = new HashMap<>();
+        int versionReads;
+        int viewReads;
+
+        @Override
+        public Result<Void, AppError> save(Order order) {
+            store.put(order.getId(), order);
+            return Result.ok(null);
+        }
+
+        @Override
+        public Result<Void, AppError> update(Order order) {
+            store.put(order.getId(), order);
+            return Result.ok(null);
+        }
+
+        @Override
+        public Result<Optional<Order>, AppError> findById(OrderId id) {
+            return Result.ok(Optional.ofNullable(store.get(id)));
+        }
+
+        @Override
+        public Result<Optional<OrderView>, AppError> findViewById(OrderId id) {
+            viewReads++;
+            return OrderRepository.super.findViewById(id);
+        }
+
+        @Override
+        public Result<Optional<Long>, AppError> findVersion(OrderId id) {
+            versionReads++;
+            return OrderRepository.super.findVersion(id);
+        }
+
+        @Override
+        public Result<Void, AppError> delete(OrderId id) {
+            store.remove(id);
+            return Result.ok(null);
+        }
+    }
+
+    private final InMemoryOrderRepository repo = new InMemoryOrderRepository();
+    private final InMemoryIdempotencyStore idempotencyStore = new InMemoryIdempotencyStore(100, Duration.ofHours(1),
+            Clock.system());
+    private final OrdersController controller = controller(repo);
+
+    private OrdersController controller(OrderRepository repository) {
+        EventBus bus = event -> Result.ok(null);
+        UseCasePipeline pipeline = new UseCasePipeline(List.of(new ValidationInterceptor()));
+        return new OrdersController(pipeline,
+                new IdempotentExecutor(idempotencyStore, Clock.system()),
+                new CreateOrderUseCase(repository, bus), new CreateOrdersBatchUseCase(repository, bus),
+                new AddItemToOrderUseCase(repository, bus), new GetOrderUseCase(repository),
+                new GetOrderVersionUseCase(repository), new DeleteOrderUseCase(repository, bus));
+    }
+
+    private static OrderDto oneLineOrder() {
+        return new OrderDto(List.of(new ItemDto("SKU-1", 2, new BigDecimal("9.99"), "EUR")));
+    }
+
+    @Test
+    void idempotencyKeyReplaysTheCreatedOrder() {
+        ResponseEntity<?> first = controller.createOrder(oneLineOrder(), "key-1");
+        ResponseEntity<?> second = controller.createOrder(oneLineOrder(), "key-1");
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals("false", first.getHeaders().getFirst(OrdersController.IDEMPOTENT_REPLAYED));
+        assertEquals("true", second.getHeaders().getFirst(OrdersController.IDEMPOTENT_REPLAYED));
+        assertEquals(((OrdersController.CreatedResponse) first.getBody()).orderId,
+                ((OrdersController.CreatedResponse) second.getBody()).orderId);
+        assertEquals(1, repo.store.size());
+    }
+
+    @Test
+    void idempotencyKeyWithoutItemsIsBadRequestAndDoesNotTakeTheKey() {
+        ResponseEntity<?> empty = controller.createOrder(new OrderDto(null), "key-2");
+        ResponseEntity<?> missing = controller.createOrder(null, "key-2");
+
+        assertEquals(HttpStatus.BAD_REQUEST, empty.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, missing.getStatusCode());
+        assertEquals(0, idempotencyStore.size());
+        assertEquals(HttpStatus.CREATED, controller.createOrder(oneLineOrder(), "key-2").getStatusCode());
+    }
+
+    @Test
+    void getWithoutIfNoneMatchReadsTheOrderOnceAndDerivesTheEtagFromIt() {
+        String id = ((OrdersController.CreatedResponse) controller.createOrder(oneLineOrder(), null).getBody()).orderId;
+
+        ResponseEntity<?> res = controller.getOrder(id, null, null);
+
+        assertEquals(HttpStatus.OK, res.getStatusCode());
+        assertEquals(OrdersController.etag(((OrderView) res.getBody()).version()), res.getHeaders().getETag());
+        assertEquals(0, repo.versionReads);
+        assertEquals(1, repo.viewReads);
+    }
+
+    @Test
+    void getWithMatchingIfNoneMatchIsNotModifiedWithoutLoadingTheOrder() {
+        String id = ((OrdersController.CreatedResponse) controller.createOrder(oneLineOrder(), null).getBody()).orderId;
+        String etag = controller.getOrder(id, null, null).getHeaders().getETag();
+        repo.viewReads = 0;
+
+        ResponseEntity<?> notModified = controller.getOrder(id, "W/" + etag, null);
+        ResponseEntity<?> stale = controller.getOrder(id, "\"0\"", null);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(etag, notModified.getHeaders().getETag());
+        assertEquals(HttpStatus.OK, stale.getStatusCode());
+        assertEquals(etag, stale.getHeaders().getETag());
+        assertEquals(2, repo.versionReads);
+        assertEquals(1, repo.viewReads);
+    }
+
+    @Test
+    void fingerprintToleratesMissingItems() {
+        assertEquals(OrdersController.fingerprint(null), OrdersController.fingerprint(new OrderDto(null)));
+        assertEquals(64, OrdersController.fingerprint(oneLineOrder()).length());
+    }
+
+    // --- CBOR de extremo a extremo con los converters de WebConfiguration ---
+
+    private static final ObjectMapper CBOR = new Jackson2ObjectMapperBuilder().factory(new CBORFactory()).build();
+
+    private MockMvc mvc() {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(List.of(new StringHttpMessageConverter(),
+                new MappingJackson2HttpMessageConverter(new Jackson2ObjectMapperBuilder().build())));
+        new WebConfiguration(new Jackson2ObjectMapperBuilder()).extendMessageConverters(converters);
+        return MockMvcBuilders.standaloneSetup(controller).setMessageConverters(converters.toArray(
+                HttpMessageConverter[]::new)).build();
+    }
+
+    private static MockHttpServletResponse cborPost(MockMvc mvc, String uri, Object body) throws Exception {
+        return mvc.perform(post(uri).contentType(MediaType.APPLICATION_CBOR).accept(MediaType.APPLICATION_CBOR)
+                .content(CBOR.writeValueAsBytes(body))).andReturn().getResponse();
+    }
+
+    private static JsonNode cborBody(MockHttpServletResponse res) throws Exception {
+        assertTrue(MediaType.APPLICATION_CBOR.isCompatibleWith(MediaType.parseMediaType(res.getContentType())),
+                res.getContentType());
+        return CBOR.readTree(res.getContentAsByteArray());
+    }
+
+    @Test
+    void createBatchAndAddItemAcceptAndReturnCbor() throws Exception {
+        MockMvc mvc = mvc();
+
+        MockHttpServletResponse created = cborPost(mvc, "/api/orders", oneLineOrder());
+        assertEquals(201, created.getStatus());
+        String id = cborBody(created).get("orderId").asText();
+
+        MockHttpServletResponse batch = cborPost(mvc, "/api/orders/batch", List.of(oneLineOrder(), oneLineOrder()));
+        assertEquals(200, batch.getStatus());
+        JsonNode entries = cborBody(batch);
+        assertEquals(2, entries.size());
+        assertTrue(entries.get(1).hasNonNull("orderId"));
+
+        MockHttpServletResponse added = cborPost(mvc, "/api/orders/" + id + "/items",
+                new ItemDto("SKU-2", 1, new BigDecimal("1.50"), "EUR"));
+        assertEquals(200, added.getStatus());
+        assertEquals(id, cborBody(added).get("orderId").asText());
+        assertEquals(2, repo.store.get(new OrderId(UUID.fromString(id))).getItems().size());
+        assertEquals(3, repo.store.size());
+    }
+
+    @Test
+    void getNegotiatesCborWithItsOwnEtagAndVariesByAccept() throws Exception {
+        MockMvc mvc = mvc();
+        String id = cborBody(cborPost(mvc, "/api/orders", oneLineOrder())).get("orderId").asText();
+
+        MockHttpServletResponse cbor = mvc.perform(get("/api/orders/" + id).accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        MockHttpServletResponse json = mvc.perform(get("/api/orders/" + id).accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        assertEquals(200, cbor.getStatus());
+        assertEquals(1, cborBody(cbor).get("items").size());
+        assertEquals(HttpHeaders.ACCEPT, cbor.getHeader(HttpHeaders.VARY));
+        assertEquals(HttpHeaders.ACCEPT, json.getHeader(HttpHeaders.VARY));
+        assertTrue(json.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE), json.getContentType());
+        String cborEtag = cbor.getHeader(HttpHeaders.ETAG);
+        String jsonEtag = json.getHeader(HttpHeaders.ETAG);
+        assertNotEquals(cborEtag, jsonEtag);
+
+        // el ETag de una representación no vale como 304 para la otra
+        assertEquals(304, mvc.perform(get("/api/orders/" + id).accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, cborEtag)).andReturn().getResponse().getStatus());
+        assertEquals(200, mvc.perform(get("/api/orders/" + id).accept(MediaType.APPLICATION_CBOR)
+                .header(HttpHeaders.IF_NONE_MATCH, jsonEtag)).andReturn().getResponse().getStatus());
+    }
+
+    @Test
+    void representationPrefersTheMoreSpecificOrHigherQualityFormat() {
+        assertEquals(MediaType.APPLICATION_JSON, OrdersController.representation(null));
+        assertEquals(MediaType.APPLICATION_JSON, OrdersController.representation("*/*"));
+        assertEquals(MediaType.APPLICATION_CBOR, OrdersController.representation("application/cbor, */*;q=0.8"));
+        assertEquals(MediaType.APPLICATION_CBOR, OrdersController.representation("application/cbor, */*"));
+        assertEquals(MediaType.APPLICATION_JSON,
+                OrdersController.representation("application/cbor;q=0.5, application/json"));
+        assertEquals(MediaType.APPLICATION_JSON, OrdersController.representation("not a media type"));
+    }
+}